@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows.benchmarks;
+
+import io.github.theangrydev.businessflows.BusinessFlow;
+import io.github.theangrydev.businessflows.HappyPath;
+import io.github.theangrydev.businessflows.SadPath;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of querying a {@link BusinessFlow}, which is expected to not allocate at all.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BusinessFlowQueryBenchmark {
+
+    private BusinessFlow<String, String> happyCase;
+    private BusinessFlow<String, String> sadCase;
+    private BusinessFlow<String, String> technicalFailureCase;
+    private HappyPath<String, String> happyPath;
+    private SadPath<String, String> sadPath;
+
+    @Setup
+    public void setUp() {
+        happyCase = HappyPath.happyPath("happy");
+        sadCase = HappyPath.sadPath("sad");
+        technicalFailureCase = HappyPath.technicalFailure(new Exception("technical failure"));
+        happyPath = HappyPath.happyPath("happy");
+        sadPath = SadPath.happyPath("happy");
+    }
+
+    @Benchmark
+    public void isHappy(Blackhole blackhole) {
+        blackhole.consume(happyCase.isHappy());
+        blackhole.consume(sadCase.isHappy());
+        blackhole.consume(technicalFailureCase.isHappy());
+    }
+
+    @Benchmark
+    public void isSad(Blackhole blackhole) {
+        blackhole.consume(happyCase.isSad());
+        blackhole.consume(sadCase.isSad());
+        blackhole.consume(technicalFailureCase.isSad());
+    }
+
+    @Benchmark
+    public void isTechnicalFailure(Blackhole blackhole) {
+        blackhole.consume(happyCase.isTechnicalFailure());
+        blackhole.consume(sadCase.isTechnicalFailure());
+        blackhole.consume(technicalFailureCase.isTechnicalFailure());
+    }
+
+    @Benchmark
+    public String getHappy() {
+        return happyCase.getHappy();
+    }
+
+    @Benchmark
+    public String getWhenPresent() {
+        return happyPath.get();
+    }
+
+    @Benchmark
+    public String orElseWhenPresent() {
+        return happyPath.orElse("alternative");
+    }
+
+    @Benchmark
+    public String orElseWhenNotPresent() {
+        return sadPath.orElse("alternative");
+    }
+
+    @Benchmark
+    public boolean isPresentWhenNotPresent() {
+        return sadPath.isPresent();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows.benchmarks;
+
+import io.github.theangrydev.businessflows.ActionThatMightFail;
+import io.github.theangrydev.businessflows.BusinessFlow;
+import io.github.theangrydev.businessflows.HappyPath;
+import io.github.theangrydev.businessflows.Mapping;
+import io.github.theangrydev.businessflows.Peek;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.theangrydev.businessflows.HappyPath.actions;
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static io.github.theangrydev.businessflows.PotentialFailure.success;
+
+/**
+ * Measures the cost of the {@link HappyPath} operations when the underlying business case is happy.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HappyPathBenchmark {
+
+    private HappyPath<String, String> happyPath;
+    private Mapping<String, BusinessFlow<String, String>> then;
+    private Mapping<String, String> map;
+    private Peek<String> peek;
+    private ActionThatMightFail<String, String> attemptThatSucceeds;
+    private ActionThatMightFail<String, String> attemptThatFails;
+    private List<ActionThatMightFail<String, String>> attemptAllThatSucceed;
+
+    @Setup
+    public void setUp() {
+        happyPath = HappyPath.happyPath("happy");
+        then = HappyPath::happyPath;
+        map = happy -> happy;
+        peek = happy -> {};
+        attemptThatSucceeds = happy -> success();
+        attemptThatFails = happy -> failure("sad");
+        attemptAllThatSucceed = actions(attemptThatSucceeds, attemptThatSucceeds, attemptThatSucceeds, attemptThatSucceeds);
+    }
+
+    @Benchmark
+    public HappyPath<String, String> then() {
+        return happyPath.then(then);
+    }
+
+    @Benchmark
+    public HappyPath<String, String> map() {
+        return happyPath.map(map);
+    }
+
+    @Benchmark
+    public HappyPath<String, String> peek() {
+        return happyPath.peek(peek);
+    }
+
+    @Benchmark
+    public HappyPath<String, String> attemptThatSucceeds() {
+        return happyPath.attempt(attemptThatSucceeds);
+    }
+
+    @Benchmark
+    public HappyPath<String, String> attemptThatFails() {
+        return happyPath.attempt(attemptThatFails);
+    }
+
+    @Benchmark
+    public HappyPath<String, String> attemptAllThatSucceed() {
+        return happyPath.attemptAll(attemptAllThatSucceed);
+    }
+
+    @Benchmark
+    public String mapMapPeekMap() {
+        return happyPath.map(map).map(map).peek(peek).map(map).get();
+    }
+}
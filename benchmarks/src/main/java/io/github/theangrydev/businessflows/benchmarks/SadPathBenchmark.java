@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows.benchmarks;
+
+import io.github.theangrydev.businessflows.Attempt;
+import io.github.theangrydev.businessflows.HappyPath;
+import io.github.theangrydev.businessflows.Mapping;
+import io.github.theangrydev.businessflows.SadPath;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the {@link SadPath} operations when the underlying business case is sad.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SadPathBenchmark {
+
+    private SadPath<String, String> sadPath;
+    private Mapping<String, String> map;
+    private Mapping<String, String> recoverUsingMapping;
+    private Attempt<String> recoverUsingAttempt;
+
+    @Setup
+    public void setUp() {
+        sadPath = SadPath.sadPath("sad");
+        map = sad -> sad;
+        recoverUsingMapping = sad -> "happy";
+        recoverUsingAttempt = () -> "happy";
+    }
+
+    @Benchmark
+    public SadPath<String, String> map() {
+        return sadPath.map(map);
+    }
+
+    @Benchmark
+    public HappyPath<String, String> recoverUsingMapping() {
+        return sadPath.recover(recoverUsingMapping);
+    }
+
+    @Benchmark
+    public HappyPath<String, String> recoverUsingAttempt() {
+        return sadPath.recover(recoverUsingAttempt);
+    }
+}
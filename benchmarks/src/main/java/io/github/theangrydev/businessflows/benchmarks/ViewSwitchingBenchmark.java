@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows.benchmarks;
+
+import io.github.theangrydev.businessflows.HappyPath;
+import io.github.theangrydev.businessflows.SadPath;
+import io.github.theangrydev.businessflows.TechnicalFailure;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of switching between the {@link HappyPath}, {@link SadPath} and {@link TechnicalFailure} views
+ * of each kind of business case.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ViewSwitchingBenchmark {
+
+    private HappyPath<String, String> happyCase;
+    private HappyPath<String, String> sadCase;
+    private HappyPath<String, String> technicalFailureCase;
+
+    @Setup
+    public void setUp() {
+        happyCase = HappyPath.happyPath("happy");
+        sadCase = HappyPath.sadPath("sad");
+        technicalFailureCase = HappyPath.technicalFailure(new Exception("technical failure"));
+    }
+
+    @Benchmark
+    public SadPath<String, String> happyCaseIfSad() {
+        return happyCase.ifSad();
+    }
+
+    @Benchmark
+    public TechnicalFailure<String, String> happyCaseIfTechnicalFailure() {
+        return happyCase.ifTechnicalFailure();
+    }
+
+    @Benchmark
+    public HappyPath<String, String> happyCaseIfSadIfHappy() {
+        return happyCase.ifSad().ifHappy();
+    }
+
+    @Benchmark
+    public SadPath<String, String> sadCaseIfSad() {
+        return sadCase.ifSad();
+    }
+
+    @Benchmark
+    public HappyPath<String, String> sadCaseIfSadIfHappy() {
+        return sadCase.ifSad().ifHappy();
+    }
+
+    @Benchmark
+    public TechnicalFailure<String, String> technicalFailureCaseIfTechnicalFailure() {
+        return technicalFailureCase.ifTechnicalFailure();
+    }
+
+    @Benchmark
+    public HappyPath<String, String> technicalFailureCaseIfTechnicalFailureIfSadIfHappy() {
+        return technicalFailureCase.ifTechnicalFailure().ifSad().ifHappy();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows.benchmarks;
+
+import io.github.theangrydev.businessflows.FlowPipeline;
+import io.github.theangrydev.businessflows.HappyPath;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.github.theangrydev.businessflows.PotentialFailure.success;
+
+/**
+ * Compares running a {@link FlowPipeline} against building the equivalent {@link HappyPath} chain for each input.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlowPipelineBenchmark {
+
+    private String input;
+    private FlowPipeline<String, Integer, String> pipeline;
+
+    @Setup
+    public void setUp() {
+        input = " happy ";
+        pipeline = FlowPipeline.<String, String>flowPipeline()
+                .map(String::trim)
+                .map(String::toUpperCase)
+                .attempt(happy -> success())
+                .map(String::length);
+    }
+
+    @Benchmark
+    public HappyPath<Integer, String> happyPathChain() {
+        return HappyPath.<String, String>happyPath(input)
+                .map(String::trim)
+                .map(String::toUpperCase)
+                .attempt(happy -> success())
+                .map(String::length);
+    }
+
+    @Benchmark
+    public HappyPath<Integer, String> flowPipeline() {
+        return pipeline.run(input);
+    }
+}
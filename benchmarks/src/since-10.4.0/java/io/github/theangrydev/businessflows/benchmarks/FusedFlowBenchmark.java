@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows.benchmarks;
+
+import io.github.theangrydev.businessflows.FusedFlow;
+import io.github.theangrydev.businessflows.HappyPath;
+import io.github.theangrydev.businessflows.Mapping;
+import io.github.theangrydev.businessflows.Peek;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a chain of {@link FusedFlow} operations, to compare with
+ * {@link HappyPathBenchmark#mapMapPeekMap()}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FusedFlowBenchmark {
+
+    private HappyPath<String, String> happyPath;
+    private Mapping<String, String> map;
+    private Peek<String> peek;
+
+    @Setup
+    public void setUp() {
+        happyPath = HappyPath.happyPath("happy");
+        map = happy -> happy;
+        peek = happy -> {};
+    }
+
+    @Benchmark
+    public String fusedMapMapPeekMap() {
+        return happyPath.fused().map(map).map(map).peek(peek).map(map).get();
+    }
+}
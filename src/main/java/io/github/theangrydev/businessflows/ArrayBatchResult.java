@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.theangrydev.businessflows.StepBatchFlow.HAPPY;
+import static io.github.theangrydev.businessflows.StepBatchFlow.SAD;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * An {@link ArrayBatchResult} is a {@link BatchResult} that keeps each partition in an exactly sized array, alongside
+ * an array of the positions of the inputs that produced them.
+ * <p>
+ * Only the first {@code numberOfInputs} values and outcomes are partitioned, so the arrays may have spare capacity.
+ */
+class ArrayBatchResult<Happy, Sad> implements BatchResult<Happy, Sad> {
+
+    private final int numberOfInputs;
+    private final Object[] happyResults;
+    private final int[] happyInputIndexes;
+    private final Object[] sadResults;
+    private final int[] sadInputIndexes;
+    private final Exception[] technicalFailureResults;
+    private final int[] technicalFailureInputIndexes;
+
+    ArrayBatchResult(byte[] outcomes, Object... values) {
+        this(values.length, outcomes, values);
+    }
+
+    ArrayBatchResult(int numberOfInputs, byte[] outcomes, Object... values) {
+        this.numberOfInputs = numberOfInputs;
+        int numberOfHappies = 0;
+        int numberOfSads = 0;
+        for (int inputIndex = 0; inputIndex < numberOfInputs; inputIndex++) {
+            if (outcomes[inputIndex] == HAPPY) {
+                numberOfHappies++;
+            } else if (outcomes[inputIndex] == SAD) {
+                numberOfSads++;
+            }
+        }
+        happyResults = new Object[numberOfHappies];
+        happyInputIndexes = new int[numberOfHappies];
+        sadResults = new Object[numberOfSads];
+        sadInputIndexes = new int[numberOfSads];
+        technicalFailureResults = new Exception[numberOfInputs - numberOfHappies - numberOfSads];
+        technicalFailureInputIndexes = new int[technicalFailureResults.length];
+        partition(values, outcomes);
+    }
+
+    private void partition(Object[] values, byte[] outcomes) {
+        int happyIndex = 0;
+        int sadIndex = 0;
+        int technicalFailureIndex = 0;
+        for (int inputIndex = 0; inputIndex < numberOfInputs; inputIndex++) {
+            if (outcomes[inputIndex] == HAPPY) {
+                happyResults[happyIndex] = values[inputIndex];
+                happyInputIndexes[happyIndex++] = inputIndex;
+            } else if (outcomes[inputIndex] == SAD) {
+                sadResults[sadIndex] = values[inputIndex];
+                sadInputIndexes[sadIndex++] = inputIndex;
+            } else {
+                technicalFailureResults[technicalFailureIndex] = (Exception) values[inputIndex];
+                technicalFailureInputIndexes[technicalFailureIndex++] = inputIndex;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return numberOfInputs;
+    }
+
+    @Override
+    public List<Happy> happies() {
+        return unmodifiableArrayView(happyResults);
+    }
+
+    @Override
+    public List<Sad> sads() {
+        return unmodifiableArrayView(sadResults);
+    }
+
+    @Override
+    public List<Exception> technicalFailures() {
+        return unmodifiableList(Arrays.asList(technicalFailureResults));
+    }
+
+    @Override
+    public int happyInputIndex(int happyIndex) {
+        return happyInputIndexes[happyIndex];
+    }
+
+    @Override
+    public int sadInputIndex(int sadIndex) {
+        return sadInputIndexes[sadIndex];
+    }
+
+    @Override
+    public int technicalFailureInputIndex(int technicalFailureIndex) {
+        return technicalFailureInputIndexes[technicalFailureIndex];
+    }
+
+    @SuppressWarnings("unchecked") // The array only contains results of the partition's type
+    private static <Result> List<Result> unmodifiableArrayView(Object... results) {
+        return unmodifiableList((List<Result>) Arrays.asList(results));
+    }
+}
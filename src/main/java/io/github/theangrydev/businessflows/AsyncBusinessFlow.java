@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.concurrent.CompletableFuture;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * An {@link AsyncBusinessFlow} is a {@link BusinessFlow} that may not have completed yet.
+ * This is the base {@link AsyncBusinessFlow} that contains operations that are common to all the biased views.
+ * <p>
+ * The stages of an {@link AsyncBusinessFlow} are run on the {@link java.util.concurrent.Executor} that the flow was
+ * started with, so that no thread is blocked while waiting for the previous stage to complete. Stages that have nothing
+ * to do (e.g. mapping the happy case when the flow is sad) are not dispatched to the executor.
+ *
+ * @param <Happy> The type of happy object this {@link AsyncBusinessFlow} may represent
+ * @param <Sad>   The type of sad object this {@link AsyncBusinessFlow} may represent
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface AsyncBusinessFlow<Happy, Sad> {
+
+    /**
+     * An {@link AsyncTechnicalFailure} view of the {@link AsyncBusinessFlow}.
+     *
+     * @return A view of the underlying business case as an {@link AsyncTechnicalFailure}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncTechnicalFailure<Happy, Sad> ifTechnicalFailure();
+
+    /**
+     * An {@link AsyncSadPath} view of the {@link AsyncBusinessFlow}.
+     *
+     * @return A view of the underlying business case as an {@link AsyncSadPath}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncSadPath<Happy, Sad> ifSad();
+
+    /**
+     * An {@link AsyncHappyPath} view of the {@link AsyncBusinessFlow}.
+     *
+     * @return A view of the underlying business case as an {@link AsyncHappyPath}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncHappyPath<Happy, Sad> ifHappy();
+
+    /**
+     * The {@link BusinessFlow} that this {@link AsyncBusinessFlow} will complete with.
+     * <p>
+     * NOTE: The future only completes exceptionally if an {@link Error} was thrown, all the {@link Exception}s are
+     * turned into technical failures.
+     * </p>
+     *
+     * @return A {@link CompletableFuture} that will complete with the {@link BusinessFlow}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    CompletableFuture<BusinessFlow<Happy, Sad>> toCompletableFuture();
+
+    /**
+     * Wait for this {@link AsyncBusinessFlow} to complete.
+     * <p>
+     * NOTE: This blocks the calling thread, so it is intended to be used at the edge of an application.
+     * </p>
+     *
+     * @return The {@link BusinessFlow} that this {@link AsyncBusinessFlow} completed with
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default BusinessFlow<Happy, Sad> toBusinessFlow() {
+        return toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * An {@link AsyncHappyPath} is an {@link AsyncBusinessFlow} that is biased towards the result being {@link Happy}.
+ * It mirrors a {@link HappyPath}, but the actions are run on an {@link Executor}.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface AsyncHappyPath<Happy, Sad> extends AsyncBusinessFlow<Happy, Sad> {
+
+    /**
+     * Provides an {@link AsyncHappyPath} view over a {@link BusinessFlow} that has already completed.
+     *
+     * @param businessFlow The business flow to continue asynchronously
+     * @param executor     The {@link Executor} that the following actions will be run on
+     * @param <Happy>      The type of happy object the resulting {@link AsyncHappyPath} may represent
+     * @param <Sad>        The type of sad object the resulting {@link AsyncHappyPath} may represent
+     * @return An {@link AsyncHappyPath} that has the same business case on the inside as the given {@link BusinessFlow}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> AsyncHappyPath<Happy, Sad> async(BusinessFlow<Happy, Sad> businessFlow, Executor executor) {
+        return new FutureHappyPath<>(completedFuture(businessFlow), executor);
+    }
+
+    /**
+     * Provides an {@link AsyncHappyPath} view over a {@link CompletionStage} that will produce a {@link BusinessFlow}.
+     * If the {@link CompletionStage} completes exceptionally, the exception is a technical failure.
+     *
+     * @param businessFlow The business flow that is being produced asynchronously
+     * @param executor     The {@link Executor} that the following actions will be run on
+     * @param <Happy>      The type of happy object the resulting {@link AsyncHappyPath} may represent
+     * @param <Sad>        The type of sad object the resulting {@link AsyncHappyPath} may represent
+     * @return An {@link AsyncHappyPath} that will have the same business case on the inside as the produced {@link BusinessFlow}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> AsyncHappyPath<Happy, Sad> completionStage(CompletionStage<? extends BusinessFlow<Happy, Sad>> businessFlow, Executor executor) {
+        return new FutureHappyPath<>(FutureBusinessCase.businessFlow(businessFlow), executor);
+    }
+
+    /**
+     * Attempt an action that produces a {@link BusinessFlow}, on the given {@link Executor}.
+     *
+     * @param happyPathAttempt The {@link Attempt} to execute
+     * @param executor         The {@link Executor} that the attempt and the following actions will be run on
+     * @param <Happy>          The type of happy object the resulting {@link AsyncHappyPath} may represent
+     * @param <Sad>            The type of sad object the resulting {@link AsyncHappyPath} may represent
+     * @return An {@link AsyncHappyPath} that will be happy or sad or a technical failure on the inside
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> AsyncHappyPath<Happy, Sad> happyPathAttempt(Attempt<? extends BusinessFlow<Happy, Sad>> happyPathAttempt, Executor executor) {
+        return new FutureHappyPath<>(FutureBusinessCase.dispatch(() -> HappyPath.happyPathAttempt(happyPathAttempt), executor), executor);
+    }
+
+    /**
+     * Attempt an action that produces a {@link Happy}, on the given {@link Executor}.
+     *
+     * @param attempt  The {@link Attempt} to execute
+     * @param executor The {@link Executor} that the attempt and the following actions will be run on
+     * @param <Happy>  The type of happy object the resulting {@link AsyncHappyPath} may represent
+     * @param <Sad>    The type of sad object the resulting {@link AsyncHappyPath} may represent
+     * @return An {@link AsyncHappyPath} that will be either happy on the inside or a technical failure
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> AsyncHappyPath<Happy, Sad> happyAttempt(Attempt<Happy> attempt, Executor executor) {
+        return new FutureHappyPath<>(FutureBusinessCase.dispatch(() -> HappyPath.happyAttempt(attempt), executor), executor);
+    }
+
+    /**
+     * Attempt an action that produces a {@link BusinessFlow}, on the given {@link Executor}, attempting it again
+     * according to the given {@link RetryPolicy} if it results in a technical failure.
+     * <p>
+     * No thread is blocked between the attempts: the {@link ScheduledExecutorService} is only used to dispatch the
+     * next attempt to the {@link Executor} once the delay is over.
+     * </p>
+     *
+     * @param happyPathAttempt The {@link Attempt} to execute
+     * @param retryPolicy      When to attempt the action again and how long to wait first
+     * @param executor         The {@link Executor} that the attempts and the following actions will be run on
+     * @param scheduler        The {@link ScheduledExecutorService} that times the delays between the attempts
+     * @param <Happy>          The type of happy object the resulting {@link AsyncHappyPath} may represent
+     * @param <Sad>            The type of sad object the resulting {@link AsyncHappyPath} may represent
+     * @return An {@link AsyncHappyPath} that will be happy or sad or the last technical failure on the inside
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> AsyncHappyPath<Happy, Sad> happyPathAttempt(Attempt<? extends BusinessFlow<Happy, Sad>> happyPathAttempt, RetryPolicy retryPolicy, Executor executor, ScheduledExecutorService scheduler) {
+        return new FutureHappyPath<>(ScheduledRetry.retry(happyPathAttempt, retryPolicy, executor, scheduler), executor);
+    }
+
+    /**
+     * Attempt an action that produces a {@link Happy}, on the given {@link Executor}, attempting it again according to
+     * the given {@link RetryPolicy} if it throws an {@link Exception}.
+     * <p>
+     * No thread is blocked between the attempts: the {@link ScheduledExecutorService} is only used to dispatch the
+     * next attempt to the {@link Executor} once the delay is over.
+     * </p>
+     *
+     * @param attempt     The {@link Attempt} to execute
+     * @param retryPolicy When to attempt the action again and how long to wait first
+     * @param executor    The {@link Executor} that the attempts and the following actions will be run on
+     * @param scheduler   The {@link ScheduledExecutorService} that times the delays between the attempts
+     * @param <Happy>     The type of happy object the resulting {@link AsyncHappyPath} may represent
+     * @param <Sad>       The type of sad object the resulting {@link AsyncHappyPath} may represent
+     * @return An {@link AsyncHappyPath} that will be either happy on the inside or the last technical failure
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> AsyncHappyPath<Happy, Sad> happyAttempt(Attempt<Happy> attempt, RetryPolicy retryPolicy, Executor executor, ScheduledExecutorService scheduler) {
+        return happyPathAttempt(() -> HappyPath.happyPath(attempt.attempt()), retryPolicy, executor, scheduler);
+    }
+
+    /**
+     * If the underlying business case is happy, then apply the given action, otherwise do nothing to the underlying case.
+     *
+     * @param action     The action to apply to an existing happy case
+     * @param <NewHappy> The type of happy object that will be present after the action is applied to an existing happy object
+     * @return The result of applying the action to the existing happy path, if applicable
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> AsyncHappyPath<NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action);
+
+    /**
+     * If the underlying business case is happy, then apply the given asynchronous action, otherwise do nothing to the
+     * underlying case. The action is expected to return without waiting for the result, e.g. by calling a remote
+     * service with a non-blocking client. If the {@link CompletionStage} completes exceptionally, the exception is a
+     * technical failure.
+     *
+     * @param action     The action to apply to an existing happy case
+     * @param <NewHappy> The type of happy object that will be present after the action is applied to an existing happy object
+     * @return The result of applying the action to the existing happy path, if applicable
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> AsyncHappyPath<NewHappy, Sad> thenCompose(Mapping<Happy, ? extends CompletionStage<? extends BusinessFlow<NewHappy, Sad>>> action);
+
+    /**
+     * If the underlying business case is happy, then apply the given mapping, otherwise do nothing to the underlying case.
+     *
+     * @param mapping    The action to apply to an existing happy case
+     * @param <NewHappy> The type of happy object that will be present after the mapping is applied to an existing happy object
+     * @return The result of applying the mapping to the existing happy path, if applicable
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> AsyncHappyPath<NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping);
+
+    /**
+     * Attempt an action that might fail and be mapped to a {@link Sad} object.
+     *
+     * @param actionThatMightFail The {@link ActionThatMightFail} to apply if the underlying business case is happy
+     * @return An {@link AsyncHappyPath} with the same happy object if the action did not fail; if the action failed then one that is now sad inside
+     * @see HappyPath#attempt(ActionThatMightFail)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncHappyPath<Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail);
+
+    /**
+     * Attempt several actions that might fail and be mapped to a {@link Sad} object.
+     *
+     * @param actionsThatMightFail The actions to apply if the underlying business case is happy
+     * @return An {@link AsyncHappyPath} with the same happy object if all the actions did not fail; if an action failed then one that is now sad inside
+     * @see HappyPath#attemptAll(List)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncHappyPath<Happy, Sad> attemptAll(List<? extends ActionThatMightFail<Happy, Sad>> actionsThatMightFail);
+
+    /**
+     * Take a look at the happy case (if there really is one).
+     *
+     * @param peek What to do if the underlying business case is happy
+     * @return An {@link AsyncHappyPath} with the same business case on the inside
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncHappyPath<Happy, Sad> peek(Peek<Happy> peek);
+
+    /**
+     * {@inheritDoc}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    @Override
+    default AsyncHappyPath<Happy, Sad> ifHappy() {
+        return this;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * An {@link AsyncSadPath} is an {@link AsyncBusinessFlow} that is biased towards the result being {@link Sad}.
+ * It mirrors a {@link SadPath}, but the actions are run on an {@link java.util.concurrent.Executor}.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface AsyncSadPath<Happy, Sad> extends AsyncBusinessFlow<Happy, Sad> {
+
+    /**
+     * If the underlying business case is sad, then apply the given action, otherwise do nothing to the underlying case.
+     *
+     * @param action   The action to apply to an existing sad case
+     * @param <NewSad> The type of sad object that will be present after the action is applied to an existing sad object
+     * @return The result of applying the action to the existing sad path, if applicable
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewSad> AsyncSadPath<Happy, NewSad> then(Mapping<Sad, ? extends BusinessFlow<Happy, NewSad>> action);
+
+    /**
+     * If the underlying business case is sad, then apply the given mapping, otherwise do nothing to the underlying case.
+     *
+     * @param mapping  The mapping to apply to an existing sad case
+     * @param <NewSad> The type of sad object that will be present after the mapping is applied to an existing sad object
+     * @return The result of applying the mapping to the existing sad path, if applicable
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewSad> AsyncSadPath<Happy, NewSad> map(Mapping<Sad, NewSad> mapping);
+
+    /**
+     * If the underlying business case is sad, then attempt to recover using the given recovery mapping.
+     *
+     * @param recovery The recovery mapping to apply to an existing sad case
+     * @return An {@link AsyncHappyPath} that may be happy on the inside if the recovery succeeded
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncHappyPath<Happy, Sad> recover(Mapping<Sad, Happy> recovery);
+
+    /**
+     * If the underlying business case is sad, then attempt to recover using the given recovery attempt.
+     *
+     * @param recovery The recovery attempt to apply if the underlying business case is sad
+     * @return An {@link AsyncHappyPath} that may be happy on the inside if the recovery succeeded
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncHappyPath<Happy, Sad> recover(Attempt<Happy> recovery);
+
+    /**
+     * Take a look at the sad case (if there really is one).
+     *
+     * @param peek What to do if the underlying business case is sad
+     * @return An {@link AsyncSadPath} with the same business case on the inside
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncSadPath<Happy, Sad> peek(Peek<Sad> peek);
+
+    /**
+     * {@inheritDoc}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    @Override
+    default AsyncSadPath<Happy, Sad> ifSad() {
+        return this;
+    }
+}
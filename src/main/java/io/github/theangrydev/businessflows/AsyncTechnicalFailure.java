@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * An {@link AsyncTechnicalFailure} is an {@link AsyncBusinessFlow} that is biased towards the result being an {@link Exception}.
+ * It mirrors a {@link TechnicalFailure}, but the actions are run on an {@link java.util.concurrent.Executor}.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface AsyncTechnicalFailure<Happy, Sad> extends AsyncBusinessFlow<Happy, Sad> {
+
+    /**
+     * If the underlying business case is a technical failure, then apply the given action, otherwise do nothing to the underlying case.
+     *
+     * @param action The action to apply to an existing technical failure
+     * @return The result of applying the action to the existing technical failure, if applicable
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncTechnicalFailure<Happy, Sad> then(Mapping<Exception, TechnicalFailure<Happy, Sad>> action);
+
+    /**
+     * If the underlying business case is a technical failure, then apply the given mapping, otherwise do nothing to the underlying case.
+     *
+     * @param mapping The mapping to apply to an existing technical failure
+     * @return The result of applying the mapping to the existing technical failure, if applicable
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncTechnicalFailure<Happy, Sad> map(Mapping<Exception, Exception> mapping);
+
+    /**
+     * If the underlying business case is a technical failure, then attempt to recover using the given recovery mapping.
+     *
+     * @param recovery The recovery mapping to apply to an existing technical failure
+     * @return An {@link AsyncHappyPath} that may be happy on the inside if the recovery succeeded
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncHappyPath<Happy, Sad> recover(Mapping<Exception, Happy> recovery);
+
+    /**
+     * If the underlying business case is a technical failure, then attempt to recover using the given recovery attempt.
+     *
+     * @param recovery The recovery attempt to apply if the underlying business case is a technical failure
+     * @return An {@link AsyncHappyPath} that may be happy on the inside if the recovery succeeded
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncHappyPath<Happy, Sad> recover(Attempt<Happy> recovery);
+
+    /**
+     * If the underlying business case is a technical failure, then map it to a sad path using the given mapping.
+     *
+     * @param mapping The mapping to apply to an existing technical failure
+     * @return An {@link AsyncSadPath} that may be sad on the inside if the mapping succeeded
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncSadPath<Happy, Sad> mapToSadPath(Mapping<Exception, Sad> mapping);
+
+    /**
+     * If the underlying business case is a technical failure, then map it to a sad path using the given attempt.
+     *
+     * @param mapping The attempt to use if the underlying business case is a technical failure
+     * @return An {@link AsyncSadPath} that may be sad on the inside if the mapping succeeded
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncSadPath<Happy, Sad> mapToSadPath(Attempt<Sad> mapping);
+
+    /**
+     * Take a look at the technical failure (if there really is one).
+     *
+     * @param peek What to do if the underlying business case is a technical failure
+     * @return An {@link AsyncTechnicalFailure} with the same business case on the inside
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    AsyncTechnicalFailure<Happy, Sad> peek(Peek<Exception> peek);
+
+    /**
+     * {@inheritDoc}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    @Override
+    default AsyncTechnicalFailure<Happy, Sad> ifTechnicalFailure() {
+        return this;
+    }
+}
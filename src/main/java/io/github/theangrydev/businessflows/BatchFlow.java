@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * A {@link BatchFlow} is a pipeline of {@link HappyPath} steps that can be run over a whole batch of inputs at once.
+ * <p>
+ * Each step is applied to the whole batch before the next step is applied, and the results are partitioned into a
+ * {@link BatchResult}. This avoids allocating a {@link HappyPath} for every input and every step, which adds up when
+ * there are millions of inputs.
+ * <p>
+ * A {@link BatchFlow} is immutable, so the same pipeline can be defined once and then run over many batches.
+ *
+ * @param <Input> The type of input that the pipeline starts with
+ * @param <Happy> The type of happy object the pipeline produces
+ * @param <Sad>   The type of sad object the pipeline may produce
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface BatchFlow<Input, Happy, Sad> {
+
+    /**
+     * Start a pipeline in which each input is initially happy.
+     *
+     * @param <Input> The type of input that the pipeline starts with
+     * @param <Sad>   The type of sad object the pipeline may produce
+     * @return A pipeline with no steps
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Input, Sad> BatchFlow<Input, Input, Sad> batchFlow() {
+        return StepBatchFlow.noSteps();
+    }
+
+    /**
+     * Add a step that applies the given action to each input that is still happy.
+     *
+     * @param action     The action to apply to an existing happy object
+     * @param <NewHappy> The type of happy object that will be present after the action is applied to an existing happy object
+     * @return A pipeline with the step added to the end
+     * @see HappyPath#then(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> BatchFlow<Input, NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action);
+
+    /**
+     * Add a step that applies the given mapping to each input that is still happy.
+     *
+     * @param mapping    The mapping to apply to an existing happy object
+     * @param <NewHappy> The type of happy object that will be present after the mapping is applied to an existing happy object
+     * @return A pipeline with the step added to the end
+     * @see HappyPath#map(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> BatchFlow<Input, NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping);
+
+    /**
+     * Add a step that attempts an action that might fail on each input that is still happy.
+     *
+     * @param actionThatMightFail The {@link ActionThatMightFail} to apply to an existing happy object
+     * @return A pipeline with the step added to the end
+     * @see HappyPath#attempt(ActionThatMightFail)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    BatchFlow<Input, Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail);
+
+    /**
+     * Add a step that recovers each input that is sad to a happy object using the given recovery mapping.
+     *
+     * @param recovery The recovery to apply to an existing sad object
+     * @return A pipeline with the step added to the end
+     * @see SadPath#recover(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    BatchFlow<Input, Happy, Sad> recover(Mapping<Sad, Happy> recovery);
+
+    /**
+     * Run the pipeline over the given inputs.
+     *
+     * @param inputs The inputs to run the pipeline over
+     * @return The results, partitioned into happy, sad and technical failure results
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    BatchResult<Happy, Sad> run(List<? extends Input> inputs);
+
+    /**
+     * Run the pipeline over the given inputs lazily, one input at a time, as the happy results are pulled.
+     * <p>
+     * Each input is only taken from the given iterator when the next happy result is asked for, so an unbounded source
+     * can be processed without buffering it. Sad results and technical failures are routed to the given consumers as
+     * they are produced, in between.
+     * <p>
+     * The returned iterator is not thread safe, in the same way as the given iterator.
+     *
+     * @param inputs                   The inputs to run the pipeline over
+     * @param sadConsumer              Consumes each sad result as it is produced
+     * @param technicalFailureConsumer Consumes each technical failure as it is produced
+     * @return An iterator over the happy results
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    Iterator<Happy> route(Iterator<? extends Input> inputs, Consumer<? super Sad> sadConsumer, Consumer<? super Exception> technicalFailureConsumer);
+
+    /**
+     * Run the pipeline over the given inputs lazily, one input at a time, as the happy results are consumed.
+     * <p>
+     * The returned stream is sequential and closing it closes the given stream.
+     *
+     * @param inputs                   The inputs to run the pipeline over
+     * @param sadConsumer              Consumes each sad result as it is produced
+     * @param technicalFailureConsumer Consumes each technical failure as it is produced
+     * @return A stream of the happy results
+     * @see #route(Iterator, Consumer, Consumer)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    Stream<Happy> route(Stream<? extends Input> inputs, Consumer<? super Sad> sadConsumer, Consumer<? super Exception> technicalFailureConsumer);
+
+    /**
+     * Run the pipeline over the given inputs.
+     *
+     * @param inputs The inputs to run the pipeline over
+     * @return The results, partitioned into happy, sad and technical failure results
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    BatchResult<Happy, Sad> run(Stream<? extends Input> inputs);
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.List;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * The results of running a {@link BatchFlow}, partitioned into happy, sad and technical failure results.
+ * <p>
+ * Each partition is kept in the same order as the inputs. The position of the input that produced a result can be
+ * looked up by its position in its partition, e.g. {@link #sadInputIndex(int)}.
+ *
+ * @param <Happy> The type of happy object the {@link BatchFlow} produced
+ * @param <Sad>   The type of sad object the {@link BatchFlow} produced
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface BatchResult<Happy, Sad> {
+
+    /**
+     * @return The number of inputs in the batch
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    int size();
+
+    /**
+     * @return The happy results, in the same order as the inputs that produced them
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    List<Happy> happies();
+
+    /**
+     * @return The sad results, in the same order as the inputs that produced them
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    List<Sad> sads();
+
+    /**
+     * @return The technical failures, in the same order as the inputs that produced them
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    List<Exception> technicalFailures();
+
+    /**
+     * @param happyIndex The position of a result in {@link #happies()}
+     * @return The position of the input that produced the result
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    int happyInputIndex(int happyIndex);
+
+    /**
+     * @param sadIndex The position of a result in {@link #sads()}
+     * @return The position of the input that produced the result
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    int sadInputIndex(int sadIndex);
+
+    /**
+     * @param technicalFailureIndex The position of a result in {@link #technicalFailures()}
+     * @return The position of the input that produced the result
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    int technicalFailureInputIndex(int technicalFailureIndex);
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link BatchingMapping} collects the calls to {@link #map(Object)} from concurrent flows into batches and maps each
+ * batch with one call to a bulk {@link Mapping}, e.g. to turn a database query per {@link HappyPath#then(Mapping)}
+ * into one query per batch.
+ * <p>
+ * A batch is mapped as soon as it reaches the maximum batch size, on the thread of the call that filled it, or when
+ * the window has passed since its first call, on the {@link ScheduledExecutorService}. Each call waits for its batch
+ * and gets its own result from the bulk {@link Mapping}. If the bulk {@link Mapping} is a technical failure then so is
+ * every call in the batch, and a call with no result in the bulk result is a technical failure on its own. Calls that
+ * are still waiting when the bulk result turns out to be null, or cannot be read, are technical failures too.
+ * <p>
+ * The new type can itself be a {@link BusinessFlow}, e.g. a {@code BatchingMapping<CustomerId, HappyPath<Customer, Sad>>}
+ * with {@link HappyPath#then(Mapping)}, so that each call can be happy or sad on its own.
+ *
+ * @param <Old> The old type (before mapping)
+ * @param <New> The new type (after mapping)
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public final class BatchingMapping<Old, New> implements Mapping<Old, New> {
+
+    private final Mapping<List<Old>, Map<Old, New>> bulkMapping;
+    private final int maximumBatchSize;
+    private final long windowNanos;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final Object lock = new Object();
+    private List<PendingCall<Old, New>> batch = new ArrayList<>();
+
+    private BatchingMapping(Mapping<List<Old>, Map<Old, New>> bulkMapping, int maximumBatchSize, long windowNanos, ScheduledExecutorService scheduledExecutorService) {
+        this.bulkMapping = bulkMapping;
+        this.maximumBatchSize = maximumBatchSize;
+        this.windowNanos = windowNanos;
+        this.scheduledExecutorService = scheduledExecutorService;
+    }
+
+    /**
+     * Provides a {@link BatchingMapping} with no calls waiting.
+     *
+     * @param bulkMapping              Maps a batch of distinct old objects to the new object for each of them
+     * @param maximumBatchSize         The number of calls that are mapped as soon as they are collected
+     * @param window                   How long to wait for a batch to fill up after its first call
+     * @param scheduledExecutorService Maps the batches that do not fill up within the window
+     * @param <Old>                    The old type (before mapping)
+     * @param <New>                    The new type (after mapping)
+     * @return A {@link BatchingMapping} that can be shared by all the flows that call the step
+     * @throws IllegalArgumentException If the maximum batch size is not positive or the window is negative
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public static <Old, New> BatchingMapping<Old, New> batchingMapping(Mapping<List<Old>, Map<Old, New>> bulkMapping, int maximumBatchSize, Duration window, ScheduledExecutorService scheduledExecutorService) {
+        if (maximumBatchSize <= 0) {
+            throw new IllegalArgumentException(format("The maximum batch size must be positive but was: %d", maximumBatchSize));
+        }
+        if (window.isNegative()) {
+            throw new IllegalArgumentException(format("The window must not be negative but was: %s", window));
+        }
+        return new BatchingMapping<>(bulkMapping, maximumBatchSize, window.toNanos(), scheduledExecutorService);
+    }
+
+    /**
+     * Adds the old object to the current batch and waits for the batch to be mapped.
+     *
+     * @param old The old argument
+     * @return The new result for the old argument
+     * @throws Exception If the bulk mapping is a technical failure or it does not produce a result for the old argument
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    @Override
+    public New map(Old old) throws Exception {
+        PendingCall<Old, New> call = new PendingCall<>(old);
+        List<PendingCall<Old, New>> fullBatch = null;
+        synchronized (lock) {
+            boolean firstCall = batch.isEmpty();
+            batch.add(call);
+            if (batch.size() >= maximumBatchSize) {
+                fullBatch = takeBatch();
+            } else if (firstCall) {
+                scheduleFlush(call);
+            }
+        }
+        if (fullBatch != null) {
+            mapBatch(fullBatch);
+        }
+        return Futures.join(call.result);
+    }
+
+    // Must be called while holding the lock
+    private List<PendingCall<Old, New>> takeBatch() {
+        List<PendingCall<Old, New>> takenBatch = batch;
+        batch = new ArrayList<>();
+        return takenBatch;
+    }
+
+    private void scheduleFlush(PendingCall<Old, New> firstCall) {
+        try {
+            scheduledExecutorService.schedule(() -> flush(firstCall), windowNanos, NANOSECONDS);
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            takeBatch();
+            throw rejectedExecutionException;
+        }
+    }
+
+    private void flush(PendingCall<Old, New> firstCall) {
+        List<PendingCall<Old, New>> scheduledBatch;
+        synchronized (lock) {
+            // The batch has already been taken if it filled up or could not be scheduled
+            if (!batch.contains(firstCall)) {
+                return;
+            }
+            scheduledBatch = takeBatch();
+        }
+        mapBatch(scheduledBatch);
+    }
+
+    private void mapBatch(List<PendingCall<Old, New>> calls) {
+        LinkedHashSet<Old> distinctOlds = new LinkedHashSet<>();
+        for (PendingCall<Old, New> call : calls) {
+            distinctOlds.add(call.old);
+        }
+        Map<Old, New> results;
+        try {
+            results = bulkMapping.map(new ArrayList<>(distinctOlds));
+        } catch (Exception | Error technicalFailure) {
+            completeExceptionally(calls, technicalFailure);
+            return;
+        }
+        complete(calls, results);
+    }
+
+    private void complete(List<PendingCall<Old, New>> calls, Map<Old, New> results) {
+        if (results == null) {
+            completeExceptionally(calls, new IllegalStateException("The bulk mapping did not produce any results"));
+            return;
+        }
+        for (PendingCall<Old, New> call : calls) {
+            complete(call, results);
+        }
+    }
+
+    private static <Old, New> void complete(PendingCall<Old, New> call, Map<Old, New> results) {
+        try {
+            if (results.containsKey(call.old)) {
+                call.result.complete(results.get(call.old));
+            } else {
+                call.result.completeExceptionally(noResultFor(call.old));
+            }
+        } catch (Exception | Error technicalFailure) {
+            call.result.completeExceptionally(technicalFailure);
+        }
+    }
+
+    private static <Old, New> void completeExceptionally(List<PendingCall<Old, New>> calls, Throwable technicalFailure) {
+        for (PendingCall<Old, New> call : calls) {
+            call.result.completeExceptionally(technicalFailure);
+        }
+    }
+
+    private static IllegalStateException noResultFor(Object old) {
+        return new IllegalStateException(format("The bulk mapping did not produce a result for: %s", old));
+    }
+
+    private static final class PendingCall<Old, New> {
+        private final Old old;
+        private final CompletableFuture<New> result = new CompletableFuture<>();
+
+        PendingCall(Old old) {
+            this.old = old;
+        }
+    }
+}
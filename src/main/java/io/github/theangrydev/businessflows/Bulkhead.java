@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.concurrent.Semaphore;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+import static java.lang.String.format;
+
+/**
+ * A {@link Bulkhead} caps the number of calls to a named step of a flow that can run at the same time, to protect a
+ * shared resource that is called from many concurrent flows.
+ * <p>
+ * A call that would go over the cap does not wait for a place to become free. The step is not run and results in a
+ * {@link BulkheadFullException} technical failure, or in a sad result if one was given, so that the flows shed load
+ * instead of piling up behind a slow resource.
+ * <p>
+ * Several steps that call the same resource can share a {@link Bulkhead}.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public final class Bulkhead {
+
+    private final String name;
+    private final int maximumConcurrentCalls;
+    private final Semaphore permits;
+
+    private Bulkhead(String name, int maximumConcurrentCalls) {
+        this.name = name;
+        this.maximumConcurrentCalls = maximumConcurrentCalls;
+        this.permits = new Semaphore(maximumConcurrentCalls);
+    }
+
+    /**
+     * Provides a {@link Bulkhead} with no calls running.
+     *
+     * @param name                   The name of the step, which is used to describe the technical failure when it is full
+     * @param maximumConcurrentCalls The maximum number of calls that can run at the same time
+     * @return A {@link Bulkhead} that is empty
+     * @throws IllegalArgumentException If the maximum number of concurrent calls is not positive
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public static Bulkhead bulkhead(String name, int maximumConcurrentCalls) {
+        if (maximumConcurrentCalls <= 0) {
+            throw new IllegalArgumentException(format("The maximum number of concurrent calls must be positive but was: %d", maximumConcurrentCalls));
+        }
+        return new Bulkhead(name, maximumConcurrentCalls);
+    }
+
+    /**
+     * Provides an {@link Attempt} that is limited by this bulkhead.
+     *
+     * @param attempt  The {@link Attempt} to limit
+     * @param <Result> The type of object the {@link Attempt} produces
+     * @return An {@link Attempt} that throws a {@link BulkheadFullException} without attempting when this is full
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Result> Attempt<Result> protectingAttempt(Attempt<Result> attempt) {
+        return () -> {
+            if (!permits.tryAcquire()) {
+                throw new BulkheadFullException(name, maximumConcurrentCalls);
+            }
+            return released(attempt);
+        };
+    }
+
+    /**
+     * Provides a {@link Mapping} that is limited by this bulkhead, e.g. for {@link HappyPath#map(Mapping)} or
+     * {@link HappyPath#then(Mapping)}.
+     *
+     * @param mapping The {@link Mapping} to limit
+     * @param <Old>   The old type (before mapping)
+     * @param <New>   The new type (after mapping)
+     * @return A {@link Mapping} that throws a {@link BulkheadFullException} without mapping when this is full
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Old, New> Mapping<Old, New> protectingMapping(Mapping<Old, New> mapping) {
+        return old -> protectingAttempt(() -> mapping.map(old)).attempt();
+    }
+
+    /**
+     * Provides an action for {@link HappyPath#then(Mapping)} that is limited by this bulkhead and is sad rather than a
+     * technical failure when this is full.
+     *
+     * @param action      The action to limit
+     * @param sadWhenFull The sad object to produce without acting when this is full
+     * @param <Happy>     The type of happy object the action acts on
+     * @param <NewHappy>  The type of happy object the action may produce
+     * @param <Sad>       The type of sad object the action may produce
+     * @return An action that is sad without acting when this is full
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, NewHappy, Sad> Mapping<Happy, BusinessFlow<NewHappy, Sad>> protectingThen(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action, Sad sadWhenFull) {
+        return happy -> {
+            if (!permits.tryAcquire()) {
+                return HappyPath.sadPath(sadWhenFull);
+            }
+            return released(() -> action.map(happy));
+        };
+    }
+
+    /**
+     * Provides an {@link ActionThatMightFail} that is limited by this bulkhead.
+     *
+     * @param actionThatMightFail The action to limit
+     * @param <Happy>             The type of happy object the action acts on
+     * @param <Sad>               The type of sad object the action may produce
+     * @return An {@link ActionThatMightFail} that throws a {@link BulkheadFullException} without acting when this is
+     * full
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, Sad> ActionThatMightFail<Happy, Sad> protectingAction(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
+        return happy -> protectingAttempt(() -> actionThatMightFail.attempt(happy)).attempt();
+    }
+
+    /**
+     * Provides an {@link ActionThatMightFail} that is limited by this bulkhead and fails with a {@link Sad} rather than
+     * a technical failure when this is full.
+     *
+     * @param actionThatMightFail The action to limit
+     * @param sadWhenFull         The sad object to fail with without acting when this is full
+     * @param <Happy>             The type of happy object the action acts on
+     * @param <Sad>               The type of sad object the action may produce
+     * @return An {@link ActionThatMightFail} that fails without acting when this is full
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, Sad> ActionThatMightFail<Happy, Sad> protectingAction(ActionThatMightFail<Happy, Sad> actionThatMightFail, Sad sadWhenFull) {
+        return happy -> {
+            if (!permits.tryAcquire()) {
+                return PotentialFailure.failure(sadWhenFull);
+            }
+            return released(() -> actionThatMightFail.attempt(happy));
+        };
+    }
+
+    /**
+     * @return True if there are already as many calls running as this bulkhead allows
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public boolean isFull() {
+        return permits.availablePermits() == 0;
+    }
+
+    /**
+     * @return A description of this bulkhead, including its name and how many calls are running
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    @Override
+    public String toString() {
+        return format("Bulkhead{name='%s', running=%d, maximum=%d}", name, maximumConcurrentCalls - permits.availablePermits(), maximumConcurrentCalls);
+    }
+
+    private <Result> Result released(Attempt<Result> attempt) throws Exception {
+        try {
+            return attempt.attempt();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -22,7 +22,6 @@ import java.util.function.Function;
 
 import static io.github.theangrydev.businessflows.ApiFeatureStability.STABLE;
 import static io.github.theangrydev.businessflows.ApiVersionHistory.*;
-import static java.lang.String.format;
 
 /**
  * A {@link BusinessCase} is either a {@link HappyCase}, a {@link SadCase} or a {@link TechnicalFailure}.
@@ -104,7 +103,7 @@ interface BusinessCase<Happy, Sad> {
         try {
             return joinOrThrow(happyJoiner, sadJoiner);
         } catch (Exception technicalFailure) {
-            throw new IllegalStateException(format("Exception caught when joining. Business case is: '%s'.", this), technicalFailure);
+            throw LazyIllegalStateException.caughtWhenJoining(this, technicalFailure);
         }
     }
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+/**
+ * The views of one {@link BusinessCase}, which all of them share so that switching between them does not allocate and
+ * a view that is created from one of them is found by all the others.
+ * <p>
+ * The fields are racy on purpose: a view is immutable, so the worst that can happen is that a view is created twice.
+ */
+final class BusinessCaseViews<Happy, Sad> {
+    HappyPath<Happy, Sad> happyPath;
+    SadPath<Happy, Sad> sadPath;
+    TechnicalFailure<Happy, Sad> technicalFailure;
+}
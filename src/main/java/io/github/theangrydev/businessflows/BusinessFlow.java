@@ -17,10 +17,11 @@
  */
 package io.github.theangrydev.businessflows;
 
+import java.util.stream.Collector;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
 import static io.github.theangrydev.businessflows.ApiFeatureStability.STABLE;
-import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_3_0;
-import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_1_0_0;
-import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_8_2_0;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.*;
 
 /**
  * A {@link BusinessFlow} is a biased view of a {@link BusinessCase}.
@@ -61,6 +62,33 @@ public interface BusinessFlow<Happy, Sad> extends BusinessCase<Happy, Sad> {
     @ApiFeature(since = VERSION_1_0_0, stability = STABLE)
     HappyPath<Happy, Sad> ifHappy();
 
+    /**
+     * Start a {@link FusedFlow} from this flow, in which the following map and peek steps are recorded and then run as
+     * one fused function when the flow is evaluated, instead of creating a new flow for each step.
+     *
+     * @return A {@link FusedFlow} with no steps that will start from this flow
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default FusedFlow<Happy, Sad> fused() {
+        return new FusedBusinessFlow<>(this);
+    }
+
+    /**
+     * Collect a stream of {@link BusinessFlow} into a {@link BatchResult}, partitioned into happy, sad and technical
+     * failure results in encounter order. The position of each result in the stream is available from the
+     * {@link BatchResult}, e.g. {@link BatchResult#sadInputIndex(int)}.
+     * <p>
+     * The parts of a parallel stream are combined by copying arrays, so no intermediate lists are created.
+     *
+     * @param <Happy> The type of happy object the flows may contain
+     * @param <Sad>   The type of sad object the flows may contain
+     * @return A {@link Collector} that partitions the flows
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> Collector<BusinessFlow<Happy, Sad>, ?, BatchResult<Happy, Sad>> toBatchResult() {
+        return BusinessFlowPartition.toBatchResult();
+    }
+
     /**
      * @return true if the underlying business case is a {@link HappyCase}, false otherwise
      */
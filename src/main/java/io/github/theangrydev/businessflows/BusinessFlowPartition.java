@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collector;
+
+import static io.github.theangrydev.businessflows.StepBatchFlow.HAPPY;
+import static io.github.theangrydev.businessflows.StepBatchFlow.SAD;
+import static io.github.theangrydev.businessflows.StepBatchFlow.TECHNICAL_FAILURE;
+
+/**
+ * A {@link BusinessFlowPartition} is the mutable container used to {@link java.util.stream.Stream#collect} a stream of
+ * {@link BusinessFlow} into a {@link BatchResult}.
+ * <p>
+ * The results are kept in a growable array of values with a parallel array of outcomes, in the same layout as a
+ * {@link StepBatchFlow}, so that the parts of a parallel stream can be combined by copying arrays.
+ */
+class BusinessFlowPartition<Happy, Sad> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private byte[] outcomes = new byte[INITIAL_CAPACITY];
+    private int numberOfResults;
+
+    static <Happy, Sad> Collector<BusinessFlow<Happy, Sad>, ?, BatchResult<Happy, Sad>> toBatchResult() {
+        return Collector.of(BusinessFlowPartition<Happy, Sad>::new, BusinessFlowPartition::add, BusinessFlowPartition::combine, BusinessFlowPartition::batchResult);
+    }
+
+    static <Happy, Sad, SadAggregate> Collector<BusinessFlow<Happy, Sad>, ?, ValidationPath<List<Happy>, Sad, SadAggregate>> toValidationPath(Mapping<List<Sad>, SadAggregate> sadAggregateMapping) {
+        return Collector.of(BusinessFlowPartition<Happy, Sad>::new, BusinessFlowPartition::add, BusinessFlowPartition::combine, partition -> partition.validationPath(sadAggregateMapping));
+    }
+
+    void add(BusinessFlow<Happy, Sad> businessFlow) {
+        if (businessFlow.isHappy()) {
+            add(HAPPY, businessFlow.getHappy());
+        } else if (businessFlow.isSad()) {
+            add(SAD, businessFlow.getSad());
+        } else {
+            add(TECHNICAL_FAILURE, businessFlow.getTechnicalFailure());
+        }
+    }
+
+    // Combining is the last thing that is done to the parts of a parallel stream, so the arrays are copied into arrays that are exactly big enough
+    BusinessFlowPartition<Happy, Sad> combine(BusinessFlowPartition<Happy, Sad> other) {
+        int numberOfCombinedResults = numberOfResults + other.numberOfResults;
+        values = Arrays.copyOf(values, numberOfCombinedResults);
+        outcomes = Arrays.copyOf(outcomes, numberOfCombinedResults);
+        System.arraycopy(other.values, 0, values, numberOfResults, other.numberOfResults);
+        System.arraycopy(other.outcomes, 0, outcomes, numberOfResults, other.numberOfResults);
+        numberOfResults += other.numberOfResults;
+        return this;
+    }
+
+    BatchResult<Happy, Sad> batchResult() {
+        return new ArrayBatchResult<>(numberOfResults, outcomes, values);
+    }
+
+    private <SadAggregate> ValidationPath<List<Happy>, Sad, SadAggregate> validationPath(Mapping<List<Sad>, SadAggregate> sadAggregateMapping) {
+        BatchResult<Happy, Sad> batchResult = batchResult();
+        if (!batchResult.technicalFailures().isEmpty()) {
+            return ValidationPath.technicalFailure(batchResult.technicalFailures().get(0));
+        }
+        if (batchResult.sads().isEmpty()) {
+            return ValidationPath.validationPathInto(batchResult.happies(), sadAggregateMapping);
+        }
+        try {
+            return ValidationPath.validationFailure(sadAggregateMapping.map(batchResult.sads()));
+        } catch (Exception technicalFailure) {
+            return ValidationPath.technicalFailure(technicalFailure);
+        }
+    }
+
+    // The arrays double in size once they are full, so that adding the results one at a time takes amortized constant time
+    private void add(byte outcome, Object value) {
+        if (numberOfResults == values.length) {
+            int newCapacity = Math.max(INITIAL_CAPACITY, numberOfResults * 2);
+            values = Arrays.copyOf(values, newCapacity);
+            outcomes = Arrays.copyOf(outcomes, newCapacity);
+        }
+        values[numberOfResults] = value;
+        outcomes[numberOfResults++] = outcome;
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+import static java.lang.String.format;
+
+/**
+ * A {@link CircuitBreaker} protects a named step of a flow that calls a flaky dependency, so that once the dependency
+ * is failing most of the time the flows stop calling it and fail fast instead.
+ * <p>
+ * The outcomes of the most recent calls are kept in a sliding window. Only technical failures count as failures; a sad
+ * result is a business outcome, so it counts as a success. When the window is full and the proportion of failures in
+ * it reaches the threshold, the circuit breaker opens. While it is open, the step is not run and results in a
+ * {@link CircuitBreakerOpenException} technical failure, or in a sad result if one was given. Once the open duration
+ * has passed, the next call is let through as a trial: if it succeeds the circuit breaker closes again with an empty
+ * window, otherwise it opens for another open duration.
+ * <p>
+ * The window and the state are only updated with atomic operations, so the step can be called from many threads
+ * without them waiting for each other. The counts are approximate when calls finish at the same time, which is fine
+ * for deciding when to shed load.
+ * <p>
+ * Several steps that call the same dependency can share a {@link CircuitBreaker}.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public final class CircuitBreaker {
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    private static final int REJECTED = 0;
+    private static final int PERMITTED = 1;
+    private static final int TRIAL = 2;
+
+    private static final Phase CLOSED_PHASE = new Phase(CLOSED, 0);
+    private static final Phase HALF_OPEN_PHASE = new Phase(HALF_OPEN, 0);
+
+    private final String name;
+    private final int failuresToOpen;
+    private final long openDurationNanos;
+    private final LongSupplier nanoTime;
+
+    private final AtomicReference<Phase> phase = new AtomicReference<>(CLOSED_PHASE);
+    private final AtomicIntegerArray window;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private CircuitBreaker(String name, int failuresToOpen, int windowSize, long openDurationNanos, LongSupplier nanoTime) {
+        this.name = name;
+        this.failuresToOpen = failuresToOpen;
+        this.openDurationNanos = openDurationNanos;
+        this.nanoTime = nanoTime;
+        this.window = new AtomicIntegerArray(windowSize);
+    }
+
+    /**
+     * Provides a closed {@link CircuitBreaker}.
+     *
+     * @param name                 The name of the step, which is used to describe the technical failure when it is open
+     * @param failureRateThreshold The proportion of failures in the window, from 0 to 1, at which to open
+     * @param windowSize           The number of most recent calls to work out the failure rate from
+     * @param openDuration         How long to stay open before letting a trial call through
+     * @return A {@link CircuitBreaker} that is closed
+     * @throws IllegalArgumentException If the threshold is not between 0 and 1, the window size is not positive or the
+     *                                  open duration is negative
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public static CircuitBreaker circuitBreaker(String name, double failureRateThreshold, int windowSize, Duration openDuration) {
+        return circuitBreaker(name, failureRateThreshold, windowSize, openDuration, System::nanoTime);
+    }
+
+    static CircuitBreaker circuitBreaker(String name, double failureRateThreshold, int windowSize, Duration openDuration, LongSupplier nanoTime) {
+        if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+            throw new IllegalArgumentException(format("The failure rate threshold must be more than 0 and at most 1 but was: %s", failureRateThreshold));
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException(format("The window size must be positive but was: %d", windowSize));
+        }
+        if (openDuration.isNegative()) {
+            throw new IllegalArgumentException(format("The open duration must not be negative but was: %s", openDuration));
+        }
+        int failuresToOpen = Math.max(1, (int) Math.ceil(failureRateThreshold * windowSize));
+        return new CircuitBreaker(name, failuresToOpen, windowSize, openDuration.toNanos(), nanoTime);
+    }
+
+    /**
+     * Provides an {@link Attempt} that is protected by this circuit breaker.
+     *
+     * @param attempt  The {@link Attempt} to protect
+     * @param <Result> The type of object the {@link Attempt} produces
+     * @return An {@link Attempt} that throws a {@link CircuitBreakerOpenException} without attempting when this is open
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Result> Attempt<Result> protectingAttempt(Attempt<Result> attempt) {
+        return () -> {
+            int permit = permit();
+            if (permit == REJECTED) {
+                throw new CircuitBreakerOpenException(name);
+            }
+            return recorded(permit, attempt);
+        };
+    }
+
+    /**
+     * Provides a {@link Mapping} that is protected by this circuit breaker, e.g. for {@link HappyPath#map(Mapping)}.
+     *
+     * @param mapping The {@link Mapping} to protect
+     * @param <Old>   The old type (before mapping)
+     * @param <New>   The new type (after mapping)
+     * @return A {@link Mapping} that throws a {@link CircuitBreakerOpenException} without mapping when this is open
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Old, New> Mapping<Old, New> protectingMapping(Mapping<Old, New> mapping) {
+        return old -> protectingAttempt(() -> mapping.map(old)).attempt();
+    }
+
+    /**
+     * Provides an action for {@link HappyPath#then(Mapping)} that is protected by this circuit breaker. An action that
+     * produces a technical failure counts as a failure, just like an action that throws an {@link Exception}.
+     *
+     * @param action     The action to protect
+     * @param <Happy>    The type of happy object the action acts on
+     * @param <NewHappy> The type of happy object the action may produce
+     * @param <Sad>      The type of sad object the action may produce
+     * @return An action that throws a {@link CircuitBreakerOpenException} without acting when this is open
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, NewHappy, Sad> Mapping<Happy, BusinessFlow<NewHappy, Sad>> protectingThen(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action) {
+        return happy -> {
+            int permit = permit();
+            if (permit == REJECTED) {
+                throw new CircuitBreakerOpenException(name);
+            }
+            return recordedFlow(permit, action, happy);
+        };
+    }
+
+    /**
+     * Provides an action for {@link HappyPath#then(Mapping)} that is protected by this circuit breaker and is sad
+     * rather than a technical failure when this is open.
+     *
+     * @param action      The action to protect
+     * @param sadWhenOpen The sad object to produce without acting when this is open
+     * @param <Happy>     The type of happy object the action acts on
+     * @param <NewHappy>  The type of happy object the action may produce
+     * @param <Sad>       The type of sad object the action may produce
+     * @return An action that is sad without acting when this is open
+     * @see #protectingThen(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, NewHappy, Sad> Mapping<Happy, BusinessFlow<NewHappy, Sad>> protectingThen(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action, Sad sadWhenOpen) {
+        return happy -> {
+            int permit = permit();
+            if (permit == REJECTED) {
+                return HappyPath.sadPath(sadWhenOpen);
+            }
+            return recordedFlow(permit, action, happy);
+        };
+    }
+
+    /**
+     * Provides an {@link ActionThatMightFail} that is protected by this circuit breaker.
+     *
+     * @param actionThatMightFail The action to protect
+     * @param <Happy>             The type of happy object the action acts on
+     * @param <Sad>               The type of sad object the action may produce
+     * @return An {@link ActionThatMightFail} that throws a {@link CircuitBreakerOpenException} without acting when
+     * this is open
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, Sad> ActionThatMightFail<Happy, Sad> protectingAction(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
+        return happy -> protectingAttempt(() -> actionThatMightFail.attempt(happy)).attempt();
+    }
+
+    /**
+     * Provides an {@link ActionThatMightFail} that is protected by this circuit breaker and fails with a {@link Sad}
+     * rather than a technical failure when this is open.
+     *
+     * @param actionThatMightFail The action to protect
+     * @param sadWhenOpen         The sad object to fail with without acting when this is open
+     * @param <Happy>             The type of happy object the action acts on
+     * @param <Sad>               The type of sad object the action may produce
+     * @return An {@link ActionThatMightFail} that fails without acting when this is open
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, Sad> ActionThatMightFail<Happy, Sad> protectingAction(ActionThatMightFail<Happy, Sad> actionThatMightFail, Sad sadWhenOpen) {
+        return happy -> {
+            int permit = permit();
+            if (permit == REJECTED) {
+                return PotentialFailure.failure(sadWhenOpen);
+            }
+            return recorded(permit, () -> actionThatMightFail.attempt(happy));
+        };
+    }
+
+    /**
+     * @return True if the step is currently not being run, because it failed too often recently
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public boolean isOpen() {
+        return phase.get().state != CLOSED;
+    }
+
+    /**
+     * @return A description of this circuit breaker, including its name and whether it is open
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    @Override
+    public String toString() {
+        return format("CircuitBreaker{name='%s', open=%s}", name, isOpen());
+    }
+
+    private <Result> Result recorded(int permit, Attempt<Result> attempt) throws Exception {
+        Result result;
+        try {
+            result = attempt.attempt();
+        } catch (Exception | Error failure) {
+            record(permit, true);
+            throw failure;
+        }
+        record(permit, false);
+        return result;
+    }
+
+    private <Happy, NewHappy, Sad> BusinessFlow<NewHappy, Sad> recordedFlow(int permit, Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action, Happy happy) throws Exception {
+        BusinessFlow<NewHappy, Sad> businessFlow;
+        try {
+            businessFlow = action.map(happy);
+        } catch (Exception | Error failure) {
+            record(permit, true);
+            throw failure;
+        }
+        record(permit, businessFlow == null || businessFlow.isTechnicalFailure());
+        return businessFlow;
+    }
+
+    private int permit() {
+        Phase currentPhase = phase.get();
+        if (currentPhase.state == CLOSED) {
+            return PERMITTED;
+        }
+        if (currentPhase.state == OPEN && nanoTime.getAsLong() - currentPhase.openedAtNanos >= openDurationNanos && phase.compareAndSet(currentPhase, HALF_OPEN_PHASE)) {
+            return TRIAL;
+        }
+        return REJECTED;
+    }
+
+    private void record(int permit, boolean failure) {
+        if (permit == TRIAL) {
+            if (failure) {
+                trip(HALF_OPEN);
+            } else {
+                close();
+            }
+            return;
+        }
+        int outcome = failure ? 1 : 0;
+        long call = calls.getAndIncrement();
+        int previousOutcome = window.getAndSet((int) (call % window.length()), outcome);
+        int failuresInWindow = failures.addAndGet(outcome - previousOutcome);
+        if (failure && call + 1 >= window.length() && failuresInWindow >= failuresToOpen) {
+            trip(CLOSED);
+        }
+    }
+
+    private void trip(int fromState) {
+        Phase currentPhase = phase.get();
+        if (currentPhase.state == fromState) {
+            phase.compareAndSet(currentPhase, new Phase(OPEN, nanoTime.getAsLong()));
+        }
+    }
+
+    private void close() {
+        for (int slot = 0; slot < window.length(); slot++) {
+            window.set(slot, 0);
+        }
+        failures.set(0);
+        calls.set(0);
+        phase.set(CLOSED_PHASE);
+    }
+
+    /**
+     * The state of a {@link CircuitBreaker} together with when it was opened, so that both change in one atomic step.
+     */
+    private static final class Phase {
+        final int state;
+        final long openedAtNanos;
+
+        Phase(int state, long openedAtNanos) {
+            this.state = state;
+            this.openedAtNanos = openedAtNanos;
+        }
+    }
+}
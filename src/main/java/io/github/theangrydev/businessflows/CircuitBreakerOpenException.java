@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+import static java.lang.String.format;
+
+/**
+ * The technical failure of a step that was not run because its {@link CircuitBreaker} is open.
+ * <p>
+ * An open {@link CircuitBreaker} is meant to fail fast, so this is a {@link StacklessException}.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public class CircuitBreakerOpenException extends StacklessException {
+
+    private static final long serialVersionUID = 1L;
+
+    CircuitBreakerOpenException(String circuitBreakerName) {
+        super(format("The circuit breaker '%s' is open", circuitBreakerName), null);
+    }
+}
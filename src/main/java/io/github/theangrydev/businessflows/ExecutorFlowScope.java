@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An {@link ExecutorFlowScope} is a {@link FlowScope} that keeps track of the work it has forked onto an {@link Executor},
+ * so that the work can be cancelled when the flow completes.
+ */
+class ExecutorFlowScope implements FlowScope {
+
+    private final Set<ForkedTask> forkedTasks = ConcurrentHashMap.newKeySet();
+    private final Executor executor;
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    ExecutorFlowScope(Executor executor) {
+        this.executor = executor;
+    }
+
+    static <Happy, Sad> BusinessFlow<Happy, Sad> runInScope(Executor executor, Mapping<FlowScope, ? extends BusinessFlow<Happy, Sad>> flow) {
+        ExecutorFlowScope flowScope = new ExecutorFlowScope(executor);
+        try {
+            return HappyPath.happyPathAttempt(() -> flow.map(flowScope));
+        } finally {
+            flowScope.complete();
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        ForkedTask forkedTask = new ForkedTask(command);
+        forkedTasks.add(forkedTask);
+        // The task is tracked before checking, so a flow that completes after the check will still cancel it
+        if (completed.get()) {
+            throw new RejectedExecutionException("The flow has already completed");
+        }
+        executor.execute(forkedTask);
+    }
+
+    private void complete() {
+        completed.set(true);
+        for (ForkedTask forkedTask : forkedTasks) {
+            forkedTask.cancel(true);
+        }
+    }
+
+    private class ForkedTask extends FutureTask<Void> {
+
+        ForkedTask(Runnable command) {
+            super(command, null);
+        }
+
+        @Override
+        protected void done() {
+            forkedTasks.remove(this);
+        }
+    }
+}
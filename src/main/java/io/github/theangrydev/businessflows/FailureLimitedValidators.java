@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * A {@link FailureLimitedValidators} is a view of a list of {@link Validator} that skips the validators that come after
+ * the given number of them have failed. It is how a {@link ValidationPath} runs {@link ValidationPath#validateUpTo(int, List)}
+ * in terms of {@link ValidationPath#validateAll(List)} when it does not do that itself.
+ * <p>
+ * The validators are wrapped as they are read, so a view that is not read does not allocate anything else.
+ */
+final class FailureLimitedValidators<Happy, Sad> extends AbstractList<Validator<Happy, Sad>> {
+
+    private final int maximumFailures;
+    private final List<? extends Validator<Happy, Sad>> validators;
+
+    private int failures;
+
+    private FailureLimitedValidators(int maximumFailures, List<? extends Validator<Happy, Sad>> validators) {
+        this.maximumFailures = maximumFailures;
+        this.validators = validators;
+    }
+
+    static <Happy, Sad> List<Validator<Happy, Sad>> upTo(int maximumFailures, List<? extends Validator<Happy, Sad>> validators) {
+        requirePositive(maximumFailures);
+        return new FailureLimitedValidators<>(maximumFailures, validators);
+    }
+
+    static void requirePositive(int maximumFailures) {
+        if (maximumFailures <= 0) {
+            throw new IllegalArgumentException(format("The maximum number of failures must be positive but was: %d", maximumFailures));
+        }
+    }
+
+    @Override
+    public Validator<Happy, Sad> get(int index) {
+        return limited(validators.get(index));
+    }
+
+    @Override
+    public Iterator<Validator<Happy, Sad>> iterator() {
+        Iterator<? extends Validator<Happy, Sad>> remainingValidators = validators.iterator();
+        return new Iterator<Validator<Happy, Sad>>() {
+            @Override
+            public boolean hasNext() {
+                return remainingValidators.hasNext();
+            }
+
+            @Override
+            public Validator<Happy, Sad> next() {
+                return limited(remainingValidators.next());
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return validators.size();
+    }
+
+    private Validator<Happy, Sad> limited(Validator<Happy, Sad> validator) {
+        return happy -> {
+            if (failures >= maximumFailures) {
+                return PotentialFailure.success();
+            }
+            PotentialFailure<Sad> potentialFailure = validator.attempt(happy);
+            if (potentialFailure.isPresent()) {
+                failures++;
+            }
+            return potentialFailure;
+        };
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * A {@link FlowPipeline} is a reusable definition of a sequence of {@link HappyPath} and {@link SadPath} steps.
+ * <p>
+ * The pipeline is defined once and can then be {@link #run(Object)} against many inputs. Running a pipeline does not
+ * allocate a {@link HappyPath} per step, only one for the result, and consecutive {@link #map(Mapping)} and
+ * {@link #peek(Peek)} steps are fused together into a single step when the pipeline is defined.
+ * <p>
+ * A {@link FlowPipeline} is immutable, so it is safe to share it between threads and to build several pipelines that
+ * start with the same steps.
+ *
+ * @param <Input> The type of input that the pipeline starts with
+ * @param <Happy> The type of happy object the pipeline produces
+ * @param <Sad>   The type of sad object the pipeline may produce
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface FlowPipeline<Input, Happy, Sad> {
+
+    /**
+     * Start a pipeline in which the input is initially happy.
+     *
+     * @param <Input> The type of input that the pipeline starts with
+     * @param <Sad>   The type of sad object the pipeline may produce
+     * @return A pipeline with no steps
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Input, Sad> FlowPipeline<Input, Input, Sad> flowPipeline() {
+        return StepFlowPipeline.noSteps();
+    }
+
+    /**
+     * Add a step that applies the given action to the happy object.
+     *
+     * @param action     The action to apply to an existing happy object
+     * @param <NewHappy> The type of happy object that will be present after the action is applied to an existing happy object
+     * @return A pipeline with the step added to the end
+     * @see HappyPath#then(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> FlowPipeline<Input, NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action);
+
+    /**
+     * Add a step that applies the given mapping to the happy object.
+     * If the previous step was also a mapping or a peek then the two are fused into one step.
+     *
+     * @param mapping    The mapping to apply to an existing happy object
+     * @param <NewHappy> The type of happy object that will be present after the mapping is applied to an existing happy object
+     * @return A pipeline with the step added to the end
+     * @see HappyPath#map(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> FlowPipeline<Input, NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping);
+
+    /**
+     * Add a step that attempts an action that might fail on the happy object.
+     *
+     * @param actionThatMightFail The {@link ActionThatMightFail} to apply to an existing happy object
+     * @return A pipeline with the step added to the end
+     * @see HappyPath#attempt(ActionThatMightFail)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    FlowPipeline<Input, Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail);
+
+    /**
+     * Add a step that takes a look at the happy object.
+     * If the previous step was a mapping or a peek then the two are fused into one step.
+     *
+     * @param peek The {@link Peek} to apply to an existing happy object
+     * @return A pipeline with the step added to the end
+     * @see HappyPath#peek(Peek)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    FlowPipeline<Input, Happy, Sad> peek(Peek<Happy> peek);
+
+    /**
+     * Add a step that recovers the sad object to a happy object using the given recovery mapping.
+     *
+     * @param recovery The recovery to apply to an existing sad object
+     * @return A pipeline with the step added to the end
+     * @see SadPath#recover(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    FlowPipeline<Input, Happy, Sad> recover(Mapping<Sad, Happy> recovery);
+
+    /**
+     * Run the pipeline against the given input.
+     *
+     * @param input The input to run the pipeline against
+     * @return The result of applying each step in turn to the input
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    HappyPath<Happy, Sad> run(Input input);
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * A {@link FlowScope} is the scope of a whole {@link BusinessFlow} that is run in a blocking style on a thread of its own.
+ * <p>
+ * The {@link FlowScope} is also an {@link Executor} that forks work onto the {@link Executor} that the flow is running
+ * on, e.g. for {@link ValidationPath#validateAllInParallel(Executor, java.util.List)} or
+ * {@link HappyPath#attemptAllInParallel(Executor, java.util.List)}. Forked work does not outlive the flow: when the flow
+ * completes, in particular when it turns into a technical failure, any forked work that is still running is cancelled.
+ * <p>
+ * This is intended to be used with an {@link Executor} that creates a thread per task, such as the virtual thread per
+ * task executor in later versions of Java, so that blocking calls inside the flow are cheap.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface FlowScope extends Executor {
+
+    /**
+     * Run the whole flow on the given {@link Executor}, in a {@link FlowScope} of its own.
+     * If the flow throws an {@link Exception}, then it is a technical failure.
+     *
+     * @param executor The {@link Executor} to run the flow and any forked work on
+     * @param flow     The flow to run, which can fork work using the given {@link FlowScope}
+     * @param <Happy>  The type of happy object the resulting {@link AsyncHappyPath} may represent
+     * @param <Sad>    The type of sad object the resulting {@link AsyncHappyPath} may represent
+     * @return An {@link AsyncHappyPath} that will complete with the result of the flow
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> AsyncHappyPath<Happy, Sad> run(Executor executor, Mapping<FlowScope, ? extends BusinessFlow<Happy, Sad>> flow) {
+        return new FutureHappyPath<>(FutureBusinessCase.dispatch(() -> ExecutorFlowScope.runInScope(executor, flow), executor), executor);
+    }
+
+    /**
+     * Fork the given work onto the {@link Executor} that the flow is running on.
+     * The work will be cancelled if it is still running when the flow completes.
+     *
+     * @param command The work to fork
+     * @throws RejectedExecutionException If the flow has already completed
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    @Override
+    void execute(Runnable command);
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link FusedBusinessFlow} is a {@link FusedFlow} that records its steps in an array, alongside an array of the
+ * kind of each step, and runs the ones for the side that the source {@link BusinessFlow} is on when it is evaluated.
+ * <p>
+ * Each step is recorded onto this flow, which then returns itself with its type changed, so adding a step does not
+ * allocate anything other than the occasional bigger array. Since the flow that a step is called on and the flow that
+ * it returns are the same object, steps that are added through any reference to it are all part of the one chain.
+ */
+class FusedBusinessFlow<Happy, Sad> implements FusedFlow<Happy, Sad> {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private static final byte HAPPY_MAP = 0;
+    private static final byte HAPPY_PEEK = 1;
+    private static final byte SAD_MAP = 2;
+    private static final byte SAD_PEEK = 3;
+
+    private final BusinessFlow<?, ?> source;
+
+    private Object[] steps = new Object[INITIAL_CAPACITY];
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private int numberOfSteps;
+    private boolean evaluated;
+
+    FusedBusinessFlow(BusinessFlow<?, ?> source) {
+        this.source = source;
+    }
+
+    @Override
+    public <NewHappy> FusedFlow<NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping) {
+        return record(HAPPY_MAP, mapping);
+    }
+
+    @Override
+    public FusedFlow<Happy, Sad> peek(Peek<Happy> peek) {
+        return record(HAPPY_PEEK, peek);
+    }
+
+    @Override
+    public <NewSad> FusedFlow<Happy, NewSad> mapSad(Mapping<Sad, NewSad> mapping) {
+        return record(SAD_MAP, mapping);
+    }
+
+    @Override
+    public FusedFlow<Happy, Sad> peekSad(Peek<Sad> peek) {
+        return record(SAD_PEEK, peek);
+    }
+
+    @Override
+    public <Result> Result join(Mapping<Happy, Result> happyJoiner, Mapping<Sad, Result> sadJoiner, Function<Exception, Result> technicalFailureJoiner) {
+        return evaluate().join(happyJoiner, sadJoiner, technicalFailureJoiner);
+    }
+
+    @Override
+    public void consume(Peek<Happy> happyConsumer, Peek<Sad> sadConsumer, Consumer<Exception> technicalFailureConsumer) {
+        evaluate().consume(happyConsumer, sadConsumer, technicalFailureConsumer);
+    }
+
+    @Override
+    public Happy get() {
+        return evaluate().getHappy();
+    }
+
+    @Override
+    public HappyPath<Happy, Sad> ifHappy() {
+        return evaluate().ifHappy();
+    }
+
+    @Override
+    public SadPath<Happy, Sad> ifSad() {
+        return evaluate().ifSad();
+    }
+
+    @SuppressWarnings("unchecked") // The types only say what the last step of each side produces, which the step being recorded changes
+    private <NewHappy, NewSad> FusedFlow<NewHappy, NewSad> record(byte kind, Object step) {
+        checkNotEvaluated();
+        if (numberOfSteps == steps.length) {
+            steps = Arrays.copyOf(steps, numberOfSteps * 2);
+            kinds = Arrays.copyOf(kinds, numberOfSteps * 2);
+        }
+        steps[numberOfSteps] = step;
+        kinds[numberOfSteps++] = kind;
+        return (FusedFlow<NewHappy, NewSad>) this;
+    }
+
+    @SuppressWarnings("unchecked") // The steps for each side end with an object of the type for that side
+    private BusinessFlow<Happy, Sad> evaluate() {
+        checkNotEvaluated();
+        evaluated = true;
+        if (source.isTechnicalFailure()) {
+            return HappyPath.technicalFailure(source.getTechnicalFailure());
+        }
+        try {
+            if (source.isHappy()) {
+                return HappyPath.happyPath((Happy) run(HAPPY_MAP, HAPPY_PEEK, source.getHappy()));
+            }
+            return HappyPath.sadPath((Sad) run(SAD_MAP, SAD_PEEK, source.getSad()));
+        } catch (Exception technicalFailure) {
+            return HappyPath.technicalFailure(technicalFailure);
+        }
+    }
+
+    private void checkNotEvaluated() {
+        if (evaluated) {
+            throw new IllegalStateException("This fused flow has already been evaluated");
+        }
+    }
+
+    @SuppressWarnings("unchecked") // The kind of each step says which side it is for, which says what type it is given
+    private Object run(byte map, byte peek, Object initialValue) throws Exception {
+        Object value = initialValue;
+        for (int index = 0; index < numberOfSteps; index++) {
+            if (kinds[index] == map) {
+                value = ((Mapping<Object, Object>) steps[index]).map(value);
+            } else if (kinds[index] == peek) {
+                ((Peek<Object>) steps[index]).peek(value);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * A {@link FusedFlow} is a chain of {@link HappyPath#map(Mapping)}, {@link HappyPath#peek(Peek)},
+ * {@link SadPath#map(Mapping)} and {@link SadPath#peek(Peek)} steps that is only evaluated by a terminal operation,
+ * such as {@link #join(Mapping, Mapping, Function)}, {@link #consume(Peek, Peek, Consumer)} or {@link #get()}.
+ * <p>
+ * The steps are recorded rather than applied, so there are no intermediate {@link HappyPath} or {@link SadPath}
+ * objects. When the chain is evaluated, all of the steps for the side that the flow is on are run as one fused
+ * function, in a single loop with a single technical failure handler, and the steps for the other side are skipped.
+ * <p>
+ * A {@link FusedFlow} is a single use builder: each step is recorded onto the flow it is called on, which is then
+ * returned with its type changed, so a chain of steps allocates no more than the flow itself. A flow can not be
+ * branched, since the steps that are added through any reference to it are all part of the one chain, and once it has
+ * been evaluated it throws an {@link IllegalStateException} if it is used again. It is not thread safe.
+ *
+ * @param <Happy> The type of happy object the flow may contain
+ * @param <Sad>   The type of sad object the flow may contain
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface FusedFlow<Happy, Sad> {
+
+    /**
+     * Record a step that maps the happy object, if the flow is happy.
+     *
+     * @param mapping    The mapping to apply to the happy object
+     * @param <NewHappy> The type of happy object that will be present after the mapping is applied
+     * @return This same flow, with the step recorded and the type of its happy object changed
+     * @see HappyPath#map(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> FusedFlow<NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping);
+
+    /**
+     * Record a step that takes a look at the happy object, if the flow is happy.
+     *
+     * @param peek What to do with the happy object
+     * @return This same flow, with the step recorded
+     * @see HappyPath#peek(Peek)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    FusedFlow<Happy, Sad> peek(Peek<Happy> peek);
+
+    /**
+     * Record a step that maps the sad object, if the flow is sad.
+     *
+     * @param mapping  The mapping to apply to the sad object
+     * @param <NewSad> The type of sad object that will be present after the mapping is applied
+     * @return This same flow, with the step recorded and the type of its sad object changed
+     * @see SadPath#map(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewSad> FusedFlow<Happy, NewSad> mapSad(Mapping<Sad, NewSad> mapping);
+
+    /**
+     * Record a step that takes a look at the sad object, if the flow is sad.
+     *
+     * @param peek What to do with the sad object
+     * @return This same flow, with the step recorded
+     * @see SadPath#peek(Peek)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    FusedFlow<Happy, Sad> peekSad(Peek<Sad> peek);
+
+    /**
+     * Evaluate the flow and join it into a single result.
+     *
+     * @param happyJoiner            Join a happy object into a result
+     * @param sadJoiner              Join a sad object into a result
+     * @param technicalFailureJoiner Join a technical failure into a result
+     * @param <Result>               The type of the result
+     * @return The result after applying the joiner that corresponds to the evaluated flow
+     * @throws IllegalStateException If the flow has already been evaluated
+     * @see BusinessFlow#join(Mapping, Mapping, Function)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <Result> Result join(Mapping<Happy, Result> happyJoiner, Mapping<Sad, Result> sadJoiner, Function<Exception, Result> technicalFailureJoiner);
+
+    /**
+     * Evaluate the flow and consume it.
+     *
+     * @param happyConsumer            Consume a happy object
+     * @param sadConsumer              Consume a sad object
+     * @param technicalFailureConsumer Consume a technical failure
+     * @throws IllegalStateException If the flow has already been evaluated
+     * @see BusinessFlow#consume(Peek, Peek, Consumer)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    void consume(Peek<Happy> happyConsumer, Peek<Sad> sadConsumer, Consumer<Exception> technicalFailureConsumer);
+
+    /**
+     * Evaluate the flow and get the happy object.
+     *
+     * @return The happy object
+     * @throws IllegalStateException If the flow has already been evaluated or the evaluated flow is not happy
+     * @see BusinessFlow#getHappy()
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    Happy get();
+
+    /**
+     * Evaluate the flow and carry on with a {@link HappyPath}.
+     *
+     * @return A {@link HappyPath} view of the evaluated flow
+     * @throws IllegalStateException If the flow has already been evaluated
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    HappyPath<Happy, Sad> ifHappy();
+
+    /**
+     * Evaluate the flow and carry on with a {@link SadPath}.
+     *
+     * @return A {@link SadPath} view of the evaluated flow
+     * @throws IllegalStateException If the flow has already been evaluated
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    SadPath<Happy, Sad> ifSad();
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Base class for the {@link AsyncBusinessFlow} views, which are all backed by the same {@link CompletableFuture}.
+ * <p>
+ * Each stage is implemented by the corresponding synchronous {@link BusinessFlow} operation, so the two agree on what
+ * happens when e.g. a {@link Mapping} throws an {@link Exception}.
+ */
+abstract class FutureBusinessCase<Happy, Sad> implements AsyncBusinessFlow<Happy, Sad> {
+
+    final CompletableFuture<BusinessFlow<Happy, Sad>> future;
+    final Executor executor;
+
+    FutureBusinessCase(CompletableFuture<BusinessFlow<Happy, Sad>> future, Executor executor) {
+        this.future = future;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<BusinessFlow<Happy, Sad>> toCompletableFuture() {
+        return future;
+    }
+
+    <NewHappy, NewSad> CompletableFuture<BusinessFlow<NewHappy, NewSad>> stage(Predicate<BusinessFlow<Happy, Sad>> hasWork, Function<BusinessFlow<Happy, Sad>, ? extends BusinessFlow<NewHappy, NewSad>> step) {
+        // Only dispatch to the executor when the step will actually run some client code
+        return future.thenCompose(businessFlow -> hasWork.test(businessFlow)
+                ? dispatch(() -> step.apply(businessFlow), executor)
+                : completedFuture(step.apply(businessFlow)));
+    }
+
+    static <Happy, Sad> CompletableFuture<BusinessFlow<Happy, Sad>> dispatch(Supplier<? extends BusinessFlow<Happy, Sad>> step, Executor executor) {
+        try {
+            return supplyAsync(step::get, executor);
+        } catch (RejectedExecutionException technicalFailure) {
+            return completedFuture(HappyPath.technicalFailure(technicalFailure));
+        }
+    }
+
+    static <Input, Happy, Sad> CompletableFuture<BusinessFlow<Happy, Sad>> dispatchCompose(Mapping<Input, ? extends CompletionStage<? extends BusinessFlow<Happy, Sad>>> action, Input input, Executor executor) {
+        CompletableFuture<CompletionStage<? extends BusinessFlow<Happy, Sad>>> started;
+        try {
+            started = supplyAsync(() -> start(action, input), executor);
+        } catch (RejectedExecutionException technicalFailure) {
+            return completedFuture(HappyPath.technicalFailure(technicalFailure));
+        }
+        return started.thenCompose(FutureBusinessCase::businessFlow);
+    }
+
+    static <Happy, Sad> CompletableFuture<BusinessFlow<Happy, Sad>> businessFlow(CompletionStage<? extends BusinessFlow<Happy, Sad>> businessFlow) {
+        return businessFlow.handle(FutureBusinessCase::<Happy, Sad>completed).toCompletableFuture();
+    }
+
+    private static <Input, Happy, Sad> CompletionStage<? extends BusinessFlow<Happy, Sad>> start(Mapping<Input, ? extends CompletionStage<? extends BusinessFlow<Happy, Sad>>> action, Input input) {
+        try {
+            return action.map(input);
+        } catch (Exception technicalFailure) {
+            return completedFuture(HappyPath.technicalFailure(technicalFailure));
+        }
+    }
+
+    private static <Happy, Sad> BusinessFlow<Happy, Sad> completed(BusinessFlow<Happy, Sad> businessFlow, Throwable failure) {
+        if (failure == null) {
+            return businessFlow;
+        }
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof Exception) {
+            return HappyPath.technicalFailure((Exception) cause);
+        }
+        // Errors are not technical failures, just like in the synchronous flows
+        throw new CompletionException(cause);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * A {@link FutureHappyPath} is an {@link AsyncHappyPath} that is backed by a {@link CompletableFuture}.
+ */
+class FutureHappyPath<Happy, Sad> extends FutureBusinessCase<Happy, Sad> implements AsyncHappyPath<Happy, Sad> {
+
+    FutureHappyPath(CompletableFuture<BusinessFlow<Happy, Sad>> future, Executor executor) {
+        super(future, executor);
+    }
+
+    @Override
+    public <NewHappy> AsyncHappyPath<NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action) {
+        return new FutureHappyPath<>(this.<NewHappy, Sad>stage(BusinessFlow::isHappy, businessFlow -> businessFlow.ifHappy().then(action)), executor);
+    }
+
+    @Override
+    public <NewHappy> AsyncHappyPath<NewHappy, Sad> thenCompose(Mapping<Happy, ? extends CompletionStage<? extends BusinessFlow<NewHappy, Sad>>> action) {
+        return new FutureHappyPath<>(future.thenCompose(businessFlow -> businessFlow.isHappy()
+                ? dispatchCompose(action, businessFlow.getHappy(), executor)
+                : completedFuture(withoutHappy(businessFlow))), executor);
+    }
+
+    @Override
+    public <NewHappy> AsyncHappyPath<NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping) {
+        return new FutureHappyPath<>(this.<NewHappy, Sad>stage(BusinessFlow::isHappy, businessFlow -> businessFlow.ifHappy().map(mapping)), executor);
+    }
+
+    @Override
+    public AsyncHappyPath<Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
+        return new FutureHappyPath<>(this.<Happy, Sad>stage(BusinessFlow::isHappy, businessFlow -> businessFlow.ifHappy().attempt(actionThatMightFail)), executor);
+    }
+
+    @Override
+    public AsyncHappyPath<Happy, Sad> attemptAll(List<? extends ActionThatMightFail<Happy, Sad>> actionsThatMightFail) {
+        return new FutureHappyPath<>(this.<Happy, Sad>stage(BusinessFlow::isHappy, businessFlow -> businessFlow.ifHappy().attemptAll(actionsThatMightFail)), executor);
+    }
+
+    @Override
+    public AsyncHappyPath<Happy, Sad> peek(Peek<Happy> peek) {
+        return new FutureHappyPath<>(this.<Happy, Sad>stage(BusinessFlow::isHappy, businessFlow -> businessFlow.ifHappy().peek(peek)), executor);
+    }
+
+    @Override
+    public AsyncTechnicalFailure<Happy, Sad> ifTechnicalFailure() {
+        return new FutureTechnicalFailure<>(future, executor);
+    }
+
+    @Override
+    public AsyncSadPath<Happy, Sad> ifSad() {
+        return new FutureSadPath<>(future, executor);
+    }
+
+    private static <NewHappy, Sad> BusinessFlow<NewHappy, Sad> withoutHappy(BusinessFlow<?, Sad> businessFlow) {
+        if (businessFlow.isSad()) {
+            return HappyPath.sadPath(businessFlow.getSad());
+        }
+        return HappyPath.technicalFailure(businessFlow.getTechnicalFailure());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link FutureSadPath} is an {@link AsyncSadPath} that is backed by a {@link CompletableFuture}.
+ */
+class FutureSadPath<Happy, Sad> extends FutureBusinessCase<Happy, Sad> implements AsyncSadPath<Happy, Sad> {
+
+    FutureSadPath(CompletableFuture<BusinessFlow<Happy, Sad>> future, Executor executor) {
+        super(future, executor);
+    }
+
+    @Override
+    public <NewSad> AsyncSadPath<Happy, NewSad> then(Mapping<Sad, ? extends BusinessFlow<Happy, NewSad>> action) {
+        return new FutureSadPath<>(this.<Happy, NewSad>stage(BusinessFlow::isSad, businessFlow -> businessFlow.ifSad().then(action)), executor);
+    }
+
+    @Override
+    public <NewSad> AsyncSadPath<Happy, NewSad> map(Mapping<Sad, NewSad> mapping) {
+        return new FutureSadPath<>(this.<Happy, NewSad>stage(BusinessFlow::isSad, businessFlow -> businessFlow.ifSad().map(mapping)), executor);
+    }
+
+    @Override
+    public AsyncHappyPath<Happy, Sad> recover(Mapping<Sad, Happy> recovery) {
+        return new FutureHappyPath<>(this.<Happy, Sad>stage(BusinessFlow::isSad, businessFlow -> businessFlow.ifSad().recover(recovery)), executor);
+    }
+
+    @Override
+    public AsyncHappyPath<Happy, Sad> recover(Attempt<Happy> recovery) {
+        return new FutureHappyPath<>(this.<Happy, Sad>stage(BusinessFlow::isSad, businessFlow -> businessFlow.ifSad().recover(recovery)), executor);
+    }
+
+    @Override
+    public AsyncSadPath<Happy, Sad> peek(Peek<Sad> peek) {
+        return new FutureSadPath<>(this.<Happy, Sad>stage(BusinessFlow::isSad, businessFlow -> businessFlow.ifSad().peek(peek)), executor);
+    }
+
+    @Override
+    public AsyncTechnicalFailure<Happy, Sad> ifTechnicalFailure() {
+        return new FutureTechnicalFailure<>(future, executor);
+    }
+
+    @Override
+    public AsyncHappyPath<Happy, Sad> ifHappy() {
+        return new FutureHappyPath<>(future, executor);
+    }
+}
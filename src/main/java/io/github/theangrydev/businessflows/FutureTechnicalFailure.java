@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link FutureTechnicalFailure} is an {@link AsyncTechnicalFailure} that is backed by a {@link CompletableFuture}.
+ */
+class FutureTechnicalFailure<Happy, Sad> extends FutureBusinessCase<Happy, Sad> implements AsyncTechnicalFailure<Happy, Sad> {
+
+    FutureTechnicalFailure(CompletableFuture<BusinessFlow<Happy, Sad>> future, Executor executor) {
+        super(future, executor);
+    }
+
+    @Override
+    public AsyncTechnicalFailure<Happy, Sad> then(Mapping<Exception, TechnicalFailure<Happy, Sad>> action) {
+        return new FutureTechnicalFailure<>(this.<Happy, Sad>stage(BusinessFlow::isTechnicalFailure, businessFlow -> businessFlow.ifTechnicalFailure().then(action)), executor);
+    }
+
+    @Override
+    public AsyncTechnicalFailure<Happy, Sad> map(Mapping<Exception, Exception> mapping) {
+        return new FutureTechnicalFailure<>(this.<Happy, Sad>stage(BusinessFlow::isTechnicalFailure, businessFlow -> businessFlow.ifTechnicalFailure().map(mapping)), executor);
+    }
+
+    @Override
+    public AsyncHappyPath<Happy, Sad> recover(Mapping<Exception, Happy> recovery) {
+        return new FutureHappyPath<>(this.<Happy, Sad>stage(BusinessFlow::isTechnicalFailure, businessFlow -> businessFlow.ifTechnicalFailure().recover(recovery)), executor);
+    }
+
+    @Override
+    public AsyncHappyPath<Happy, Sad> recover(Attempt<Happy> recovery) {
+        return new FutureHappyPath<>(this.<Happy, Sad>stage(BusinessFlow::isTechnicalFailure, businessFlow -> businessFlow.ifTechnicalFailure().recover(recovery)), executor);
+    }
+
+    @Override
+    public AsyncSadPath<Happy, Sad> mapToSadPath(Mapping<Exception, Sad> mapping) {
+        return new FutureSadPath<>(this.<Happy, Sad>stage(BusinessFlow::isTechnicalFailure, businessFlow -> businessFlow.ifTechnicalFailure().mapToSadPath(mapping)), executor);
+    }
+
+    @Override
+    public AsyncSadPath<Happy, Sad> mapToSadPath(Attempt<Sad> mapping) {
+        return new FutureSadPath<>(this.<Happy, Sad>stage(BusinessFlow::isTechnicalFailure, businessFlow -> businessFlow.ifTechnicalFailure().mapToSadPath(mapping)), executor);
+    }
+
+    @Override
+    public AsyncTechnicalFailure<Happy, Sad> peek(Peek<Exception> peek) {
+        return new FutureTechnicalFailure<>(this.<Happy, Sad>stage(BusinessFlow::isTechnicalFailure, businessFlow -> businessFlow.ifTechnicalFailure().peek(peek)), executor);
+    }
+
+    @Override
+    public AsyncSadPath<Happy, Sad> ifSad() {
+        return new FutureSadPath<>(future, executor);
+    }
+
+    @Override
+    public AsyncHappyPath<Happy, Sad> ifHappy() {
+        return new FutureHappyPath<>(future, executor);
+    }
+}
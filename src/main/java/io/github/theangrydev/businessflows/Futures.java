@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Waits for the {@link Future} of a step that ran on another thread, so that the step fails in the same way as if it
+ * had run on the calling thread: an {@link Exception} or {@link Error} that the step failed with is thrown as it is,
+ * rather than wrapped in an {@link ExecutionException}.
+ */
+final class Futures {
+
+    private Futures() {
+    }
+
+    static <Result> Result join(Future<Result> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException failure) {
+            throw unwrap(failure);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw interrupted;
+        }
+    }
+
+    // A Throwable that is neither an Exception nor an Error can not be thrown as it is, so it stays wrapped
+    static Exception unwrap(ExecutionException failure) {
+        Throwable cause = failure.getCause();
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        return failure;
+    }
+}
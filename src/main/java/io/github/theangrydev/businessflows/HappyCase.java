@@ -27,10 +27,87 @@ class HappyCase<Happy, Sad> implements BusinessCase<Happy, Sad> {
 
     final Happy happy;
 
+    // Only created once a second view of this case is needed
+    private BusinessCaseViews<Happy, Sad> views;
+
     HappyCase(Happy happy) {
         this.happy = happy;
     }
 
+    HappyCase(HappyCase<Happy, Sad> view) {
+        this.happy = view.happy;
+        this.views = view.sharedViews();
+    }
+
+    private BusinessCaseViews<Happy, Sad> sharedViews() {
+        BusinessCaseViews<Happy, Sad> sharedViews = views;
+        if (sharedViews == null) {
+            sharedViews = new BusinessCaseViews<>();
+            addTo(sharedViews);
+            views = sharedViews;
+        }
+        return sharedViews;
+    }
+
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        // Each view adds itself to the views it shares
+    }
+
+    HappyPath<Happy, Sad> happyPathView() {
+        BusinessCaseViews<Happy, Sad> sharedViews = sharedViews();
+        HappyPath<Happy, Sad> view = sharedViews.happyPath;
+        if (view == null) {
+            view = new HappyCaseHappyPath<>(this);
+            sharedViews.happyPath = view;
+        }
+        return view;
+    }
+
+    SadPath<Happy, Sad> sadPathView() {
+        BusinessCaseViews<Happy, Sad> sharedViews = sharedViews();
+        SadPath<Happy, Sad> view = sharedViews.sadPath;
+        if (view == null) {
+            view = new HappyCaseSadPath<>(this);
+            sharedViews.sadPath = view;
+        }
+        return view;
+    }
+
+    TechnicalFailure<Happy, Sad> technicalFailureView() {
+        BusinessCaseViews<Happy, Sad> sharedViews = sharedViews();
+        TechnicalFailure<Happy, Sad> view = sharedViews.technicalFailure;
+        if (view == null) {
+            view = new HappyCaseTechnicalFailure<>(this);
+            sharedViews.technicalFailure = view;
+        }
+        return view;
+    }
+
+    // These answer the BusinessFlow queries directly, rather than by switching to a view and going via an Optional
+    public boolean isHappy() {
+        return true;
+    }
+
+    public boolean isSad() {
+        return false;
+    }
+
+    public boolean isTechnicalFailure() {
+        return false;
+    }
+
+    public Happy getHappy() {
+        return happy;
+    }
+
+    public Sad getSad() {
+        throw LazyIllegalStateException.notPresent(this);
+    }
+
+    public Exception getTechnicalFailure() {
+        throw LazyIllegalStateException.notPresent(this);
+    }
+
     @Override
     public PotentialFailure<Sad> toPotentialFailure(Function<Exception, Sad> technicalFailureMapping) {
         return PotentialFailure.success();
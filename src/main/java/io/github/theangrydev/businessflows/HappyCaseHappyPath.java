@@ -17,8 +17,19 @@
  */
 package io.github.theangrydev.businessflows;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 /**
  * A {@link HappyCaseHappyPath} is a {@link HappyPath} that is actually a {@link HappyCase}.
@@ -29,19 +40,58 @@ class HappyCaseHappyPath<Happy, Sad> extends HappyCase<Happy, Sad> implements Ha
         super(happy);
     }
 
+    HappyCaseHappyPath(HappyCase<Happy, Sad> view) {
+        super(view);
+    }
+
+    @Override
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        views.happyPath = this;
+    }
+
     @Override
     public Optional<Happy> toOptional() {
         return Optional.of(happy);
     }
 
+    @Override
+    public Happy get() {
+        return happy;
+    }
+
+    @Override
+    public Happy orElse(Happy alternative) {
+        return happy;
+    }
+
+    @Override
+    public Happy orElseGet(Supplier<Happy> alternativeSupplier) {
+        return happy;
+    }
+
+    @Override
+    public void ifPresent(Consumer<Happy> consumer) {
+        consumer.accept(happy);
+    }
+
+    @Override
+    public <X extends Exception> Happy orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+        return happy;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
     @Override
     public TechnicalFailure<Happy, Sad> ifTechnicalFailure() {
-        return TechnicalFailure.happyPath(happy);
+        return technicalFailureView();
     }
 
     @Override
     public SadPath<Happy, Sad> ifSad() {
-        return SadPath.happyPath(happy);
+        return sadPathView();
     }
 
     @Override
@@ -75,7 +125,11 @@ class HappyCaseHappyPath<Happy, Sad> extends HappyCase<Happy, Sad> implements Ha
     @Override
     public HappyPath<Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
         try {
-            return actionThatMightFail.attempt(happy).toHappyPath(happy);
+            PotentialFailure<Sad> potentialFailure = actionThatMightFail.attempt(happy);
+            if (potentialFailure == PotentialFailureSuccess.INSTANCE) {
+                return this;
+            }
+            return potentialFailure.toHappyPath(happy);
         } catch (Exception e) {
             return HappyPath.technicalFailure(e);
         }
@@ -83,10 +137,77 @@ class HappyCaseHappyPath<Happy, Sad> extends HappyCase<Happy, Sad> implements Ha
 
     @Override
     public HappyPath<Happy, Sad> attemptAll(List<? extends ActionThatMightFail<Happy, Sad>> actionsThatMightFail) {
-        HappyPath<Happy, Sad> result = this;
         for (ActionThatMightFail<Happy, Sad> actionThatMightFail : actionsThatMightFail) {
-            result = result.attempt(actionThatMightFail);
+            HappyPath<Happy, Sad> result = attempt(actionThatMightFail);
+            if (!result.isHappy()) {
+                return result;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public HappyPath<Happy, Sad> attemptAllInParallel(Executor executor, List<? extends ActionThatMightFail<Happy, Sad>> actionsThatMightFail) {
+        try {
+            PotentialFailure<Sad> firstFailure = firstFailureInParallel(executor, actionsThatMightFail);
+            return firstFailure.isPresent() ? firstFailure.toHappyPath(happy) : this;
+        } catch (Exception technicalFailure) {
+            return HappyPath.technicalFailure(technicalFailure);
+        }
+    }
+
+    private PotentialFailure<Sad> firstFailureInParallel(Executor executor, List<? extends ActionThatMightFail<Happy, Sad>> actionsThatMightFail) throws Exception {
+        Iterator<? extends ActionThatMightFail<Happy, Sad>> remainingActions = actionsThatMightFail.iterator();
+        if (!remainingActions.hasNext()) {
+            return PotentialFailure.success();
+        }
+        ActionThatMightFail<Happy, Sad> firstAction = remainingActions.next();
+        AtomicInteger actionsToRun = new AtomicInteger(Integer.MAX_VALUE);
+        List<CompletableFuture<PotentialFailure<Sad>>> remainingAttempts = new ArrayList<>(actionsThatMightFail.size());
+        try {
+            for (int index = 1; remainingActions.hasNext(); index++) {
+                remainingAttempts.add(attemptOn(executor, remainingActions.next(), index, actionsToRun));
+            }
+            PotentialFailure<Sad> potentialFailure = attempt(firstAction, 0, actionsToRun);
+            Iterator<CompletableFuture<PotentialFailure<Sad>>> attempts = remainingAttempts.iterator();
+            while (!potentialFailure.isPresent() && attempts.hasNext()) {
+                potentialFailure = Futures.join(attempts.next());
+            }
+            return potentialFailure;
+        } finally {
+            // Once the result is known, the actions that have not started yet will not be run
+            for (CompletableFuture<PotentialFailure<Sad>> attempt : remainingAttempts) {
+                attempt.cancel(false);
+            }
+        }
+    }
+
+    private CompletableFuture<PotentialFailure<Sad>> attemptOn(Executor executor, ActionThatMightFail<Happy, Sad> actionThatMightFail, int index, AtomicInteger actionsToRun) {
+        return supplyAsync(() -> {
+            try {
+                return attempt(actionThatMightFail, index, actionsToRun);
+            } catch (Exception technicalFailure) {
+                throw new CompletionException(technicalFailure);
+            }
+        }, executor);
+    }
+
+    // After a failure, only the actions before it still need to run, since the first failure in list order wins
+    private PotentialFailure<Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail, int index, AtomicInteger actionsToRun) throws Exception {
+        if (index >= actionsToRun.get()) {
+            // An earlier action has already failed, so this one is treated as if it had been cancelled
+            throw new CancellationException();
+        }
+        int actionsUpToThisOne = index + 1;
+        try {
+            PotentialFailure<Sad> potentialFailure = actionThatMightFail.attempt(happy);
+            if (potentialFailure.isPresent()) {
+                actionsToRun.accumulateAndGet(actionsUpToThisOne, Math::min);
+            }
+            return potentialFailure;
+        } catch (Exception technicalFailure) {
+            actionsToRun.accumulateAndGet(actionsUpToThisOne, Math::min);
+            throw technicalFailure;
         }
-        return result;
     }
 }
@@ -17,30 +17,32 @@
  */
 package io.github.theangrydev.businessflows;
 
-import java.util.Optional;
-
 /**
  * A {@link HappyCaseSadPath} is a {@link SadPath} that is actually a {@link HappyCase}.
  */
-class HappyCaseSadPath<Happy, Sad> extends HappyCase<Happy, Sad> implements SadPath<Happy, Sad> {
+class HappyCaseSadPath<Happy, Sad> extends HappyCase<Happy, Sad> implements SadPath<Happy, Sad>, WithEmptyOptional<Sad> {
 
     HappyCaseSadPath(Happy happy) {
         super(happy);
     }
 
+    HappyCaseSadPath(HappyCase<Happy, Sad> view) {
+        super(view);
+    }
+
     @Override
-    public Optional<Sad> toOptional() {
-        return Optional.empty();
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        views.sadPath = this;
     }
 
     @Override
     public TechnicalFailure<Happy, Sad> ifTechnicalFailure() {
-        return TechnicalFailure.happyPath(happy);
+        return technicalFailureView();
     }
 
     @Override
     public HappyPath<Happy, Sad> ifHappy() {
-        return HappyPath.happyPath(happy);
+        return happyPathView();
     }
 
     @SuppressWarnings("unchecked") // Only the Sad changes and it is not present so all that changes is the types
@@ -57,12 +59,12 @@ class HappyCaseSadPath<Happy, Sad> extends HappyCase<Happy, Sad> implements SadP
 
     @Override
     public HappyPath<Happy, Sad> recover(Mapping<Sad, Happy> recovery) {
-        return HappyPath.happyPath(happy);
+        return happyPathView();
     }
 
     @Override
     public HappyPath<Happy, Sad> recover(Attempt<Happy> recovery) {
-        return HappyPath.happyPath(happy);
+        return happyPathView();
     }
 
     @Override
@@ -17,20 +17,22 @@
  */
 package io.github.theangrydev.businessflows;
 
-import java.util.Optional;
-
 /**
  * A {@link HappyCaseTechnicalFailure} is a {@link TechnicalFailure} that is actually a {@link HappyCase}.
  */
-class HappyCaseTechnicalFailure<Happy, Sad> extends HappyCase<Happy, Sad> implements TechnicalFailure<Happy, Sad> {
+class HappyCaseTechnicalFailure<Happy, Sad> extends HappyCase<Happy, Sad> implements TechnicalFailure<Happy, Sad>, WithEmptyOptional<Exception> {
 
     HappyCaseTechnicalFailure(Happy happy) {
         super(happy);
     }
 
+    HappyCaseTechnicalFailure(HappyCase<Happy, Sad> view) {
+        super(view);
+    }
+
     @Override
-    public Optional<Exception> toOptional() {
-        return Optional.empty();
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        views.technicalFailure = this;
     }
 
     @Override
@@ -45,22 +47,22 @@ class HappyCaseTechnicalFailure<Happy, Sad> extends HappyCase<Happy, Sad> implem
 
     @Override
     public HappyPath<Happy, Sad> recover(Mapping<Exception, Happy> recovery) {
-        return HappyPath.happyPath(happy);
+        return happyPathView();
     }
 
     @Override
     public HappyPath<Happy, Sad> recover(Attempt<Happy> recovery) {
-        return HappyPath.happyPath(happy);
+        return happyPathView();
     }
 
     @Override
     public SadPath<Happy, Sad> mapToSadPath(Mapping<Exception, Sad> mapping) {
-        return SadPath.happyPath(happy);
+        return sadPathView();
     }
 
     @Override
     public SadPath<Happy, Sad> mapToSadPath(Attempt<Sad> mapping) {
-        return SadPath.happyPath(happy);
+        return sadPathView();
     }
 
     @Override
@@ -80,11 +82,11 @@ class HappyCaseTechnicalFailure<Happy, Sad> extends HappyCase<Happy, Sad> implem
 
     @Override
     public HappyPath<Happy, Sad> ifHappy() {
-        return HappyPath.happyPath(happy);
+        return happyPathView();
     }
 
     @Override
     public SadPath<Happy, Sad> ifSad() {
-        return SadPath.happyPath(happy);
+        return sadPathView();
     }
 }
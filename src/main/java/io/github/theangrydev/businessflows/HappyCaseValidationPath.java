@@ -18,7 +18,14 @@
 package io.github.theangrydev.businessflows;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 /**
  * A {@link HappyCaseValidationPath} is a {@link ValidationPath} that is actually a {@link HappyCase}.
@@ -32,6 +39,11 @@ class HappyCaseValidationPath<Happy, Sad, SadAggregate> extends HappyCaseHappyPa
         this.sadAggregateMapping = sadAggregateMapping;
     }
 
+    @Override
+    void addTo(BusinessCaseViews<Happy, SadAggregate> views) {
+        // The other views switch to a plain happy path rather than to this validation path
+    }
+
     @Override
     public ValidationPath<Happy, Sad, SadAggregate> validateAll(List<? extends Validator<Happy, Sad>> validators) {
         return validateAllInto(sadAggregateMapping, validators);
@@ -40,22 +52,115 @@ class HappyCaseValidationPath<Happy, Sad, SadAggregate> extends HappyCaseHappyPa
     @Override
     public ValidationPath<Happy, Sad, SadAggregate> validateAllInto(Mapping<List<Sad>, SadAggregate> sadAggregateMapping, List<? extends Validator<Happy, Sad>> validators) {
         try {
-            List<Sad> validationFailures = validationFailures(validators);
-            if (validationFailures.isEmpty()) {
-                return ValidationPath.validationPathInto(happy, sadAggregateMapping);
-            }
-            SadAggregate sadAggregate = sadAggregateMapping.map(validationFailures);
-            return ValidationPath.validationFailure(sadAggregate);
+            return validated(sadAggregateMapping, validationFailures(validators, Integer.MAX_VALUE));
+        } catch (Exception technicalFailure) {
+            return ValidationPath.technicalFailure(technicalFailure);
+        }
+    }
+
+    @Override
+    public ValidationPath<Happy, Sad, SadAggregate> validateUpTo(int maximumFailures, List<? extends Validator<Happy, Sad>> validators) {
+        return validateUpToInto(maximumFailures, sadAggregateMapping, validators);
+    }
+
+    @Override
+    public ValidationPath<Happy, Sad, SadAggregate> validateUpToInto(int maximumFailures, Mapping<List<Sad>, SadAggregate> sadAggregateMapping, List<? extends Validator<Happy, Sad>> validators) {
+        FailureLimitedValidators.requirePositive(maximumFailures);
+        try {
+            return validated(sadAggregateMapping, validationFailures(validators, maximumFailures));
         } catch (Exception technicalFailure) {
             return ValidationPath.technicalFailure(technicalFailure);
         }
     }
 
-    private List<Sad> validationFailures(List<? extends Validator<Happy, Sad>> validators) throws Exception {
-        List<Sad> validationFailures = new ArrayList<>(validators.size());
-        for (Validator<Happy, Sad> validator : validators) {
-            validator.attempt(happy).ifPresent(validationFailures::add);
+    @Override
+    public ValidationPath<Happy, Sad, SadAggregate> validateAllInParallel(Executor executor, List<? extends Validator<Happy, Sad>> validators) {
+        return validateAllInParallelInto(executor, sadAggregateMapping, validators);
+    }
+
+    @Override
+    public ValidationPath<Happy, Sad, SadAggregate> validateAllInParallelInto(Executor executor, Mapping<List<Sad>, SadAggregate> sadAggregateMapping, List<? extends Validator<Happy, Sad>> validators) {
+        try {
+            return validated(sadAggregateMapping, validationFailuresInParallel(executor, validators));
+        } catch (Exception technicalFailure) {
+            return ValidationPath.technicalFailure(technicalFailure);
+        }
+    }
+
+    private ValidationPath<Happy, Sad, SadAggregate> validated(Mapping<List<Sad>, SadAggregate> sadAggregateMapping, List<Sad> validationFailures) throws Exception {
+        if (validationFailures.isEmpty()) {
+            return sadAggregateMapping == this.sadAggregateMapping ? this : ValidationPath.validationPathInto(happy, sadAggregateMapping);
+        }
+        SadAggregate sadAggregate = sadAggregateMapping.map(validationFailures);
+        return ValidationPath.validationFailure(sadAggregate);
+    }
+
+    private List<Sad> validationFailures(List<? extends Validator<Happy, Sad>> validators, int maximumFailures) throws Exception {
+        Iterator<? extends Validator<Happy, Sad>> remainingValidators = validators.iterator();
+        while (remainingValidators.hasNext()) {
+            PotentialFailure<Sad> potentialFailure = remainingValidators.next().attempt(happy);
+            if (potentialFailure.isPresent()) {
+                return validationFailures(potentialFailure.get(), remainingValidators, Math.min(maximumFailures, validators.size()));
+            }
+        }
+        return emptyList();
+    }
+
+    // The list of failures is only allocated once there is a failure to put in it
+    // Once it is full, the remaining validators are skipped
+    private List<Sad> validationFailures(Sad firstFailure, Iterator<? extends Validator<Happy, Sad>> remainingValidators, int maximumFailures) throws Exception {
+        List<Sad> validationFailures = new ArrayList<>(maximumFailures);
+        validationFailures.add(firstFailure);
+        while (validationFailures.size() < maximumFailures && remainingValidators.hasNext()) {
+            PotentialFailure<Sad> potentialFailure = remainingValidators.next().attempt(happy);
+            if (potentialFailure.isPresent()) {
+                validationFailures.add(potentialFailure.get());
+            }
         }
         return validationFailures;
     }
+
+    private List<Sad> validationFailuresInParallel(Executor executor, List<? extends Validator<Happy, Sad>> validators) throws Exception {
+        Iterator<? extends Validator<Happy, Sad>> remainingValidators = validators.iterator();
+        if (!remainingValidators.hasNext()) {
+            return emptyList();
+        }
+        int numberOfValidators = validators.size();
+        Validator<Happy, Sad> firstValidator = remainingValidators.next();
+        List<CompletableFuture<PotentialFailure<Sad>>> remainingAttempts = new ArrayList<>(numberOfValidators);
+        try {
+            while (remainingValidators.hasNext()) {
+                remainingAttempts.add(attemptOn(executor, remainingValidators.next()));
+            }
+            List<Sad> validationFailures = withFailure(emptyList(), firstValidator.attempt(happy), numberOfValidators);
+            for (CompletableFuture<PotentialFailure<Sad>> attempt : remainingAttempts) {
+                validationFailures = withFailure(validationFailures, Futures.join(attempt), numberOfValidators);
+            }
+            return validationFailures;
+        } finally {
+            // If a validator failed with a technical failure, the validators that have not started yet will not be run
+            for (CompletableFuture<PotentialFailure<Sad>> attempt : remainingAttempts) {
+                attempt.cancel(false);
+            }
+        }
+    }
+
+    private CompletableFuture<PotentialFailure<Sad>> attemptOn(Executor executor, Validator<Happy, Sad> validator) {
+        return supplyAsync(() -> {
+            try {
+                return validator.attempt(happy);
+            } catch (Exception technicalFailure) {
+                throw new CompletionException(technicalFailure);
+            }
+        }, executor);
+    }
+
+    private static <Sad> List<Sad> withFailure(List<Sad> validationFailures, PotentialFailure<Sad> potentialFailure, int maximumFailures) {
+        if (!potentialFailure.isPresent()) {
+            return validationFailures;
+        }
+        List<Sad> withFailure = validationFailures.isEmpty() ? new ArrayList<>(maximumFailures) : validationFailures;
+        withFailure.add(potentialFailure.get());
+        return withFailure;
+    }
 }
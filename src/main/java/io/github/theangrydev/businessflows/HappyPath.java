@@ -19,7 +19,9 @@ package io.github.theangrydev.businessflows;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
 import static io.github.theangrydev.businessflows.ApiFeatureStability.STABLE;
 import static io.github.theangrydev.businessflows.ApiVersionHistory.*;
 
@@ -85,6 +87,69 @@ public interface HappyPath<Happy, Sad> extends BusinessFlow<Happy, Sad>, WithOpt
         }
     }
 
+    /**
+     * Attempt an action that produces a {@link HappyPath}, attempting it again according to the given
+     * {@link RetryPolicy} if it results in a technical failure. The calling thread sleeps between the attempts.
+     *
+     * @param happyPathAttempt The {@link Attempt} to execute
+     * @param retryPolicy      When to attempt the action again and how long to wait first
+     * @param <Happy>          The type of happy object this {@link HappyPath} may represent
+     * @param <Sad>            The type of sad object this {@link HappyPath} may represent
+     * @return A {@link HappyPath} that is happy or sad or the last technical failure on the inside
+     * @see AsyncHappyPath#happyPathAttempt(Attempt, RetryPolicy, Executor, java.util.concurrent.ScheduledExecutorService)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> HappyPath<Happy, Sad> happyPathAttempt(Attempt<? extends BusinessFlow<Happy, Sad>> happyPathAttempt, RetryPolicy retryPolicy) {
+        return retryPolicy.happyPathAttempt(happyPathAttempt);
+    }
+
+    /**
+     * Attempt an action that produces a {@link Happy}, attempting it again according to the given {@link RetryPolicy}
+     * if it throws an {@link Exception}. The calling thread sleeps between the attempts.
+     *
+     * @param attempt     The {@link Attempt} to execute
+     * @param retryPolicy When to attempt the action again and how long to wait first
+     * @param <Happy>     The type of happy object this {@link HappyPath} may represent
+     * @param <Sad>       The type of sad object this {@link HappyPath} may represent
+     * @return A {@link HappyPath} that is either happy on the inside or the last technical failure
+     * @see AsyncHappyPath#happyAttempt(Attempt, RetryPolicy, Executor, java.util.concurrent.ScheduledExecutorService)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> HappyPath<Happy, Sad> happyAttempt(Attempt<Happy> attempt, RetryPolicy retryPolicy) {
+        return happyAttempt(retryPolicy.retrying(attempt));
+    }
+
+    /**
+     * Attempt an action that produces a {@link Happy}, giving up if it does not finish within the given {@link Timeout}.
+     *
+     * @param attempt The {@link Attempt} to execute
+     * @param timeout How long to wait for the {@link Attempt} to finish
+     * @param <Happy> The type of happy object this {@link HappyPath} may represent
+     * @param <Sad>   The type of sad object this {@link HappyPath} may represent
+     * @return A {@link HappyPath} that is either happy on the inside or a technical failure, which is a
+     * {@link java.util.concurrent.TimeoutException} if the {@link Attempt} overran
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> HappyPath<Happy, Sad> happyAttempt(Attempt<Happy> attempt, Timeout timeout) {
+        return happyAttempt(timeout.boundingAttempt(attempt));
+    }
+
+    /**
+     * Attempt an action that produces a {@link Happy}, giving up if it does not finish within the given {@link Timeout}
+     * and mapping any technical failure, including the {@link java.util.concurrent.TimeoutException}, to a {@link Sad}.
+     *
+     * @param attempt        The {@link Attempt} to execute
+     * @param timeout        How long to wait for the {@link Attempt} to finish
+     * @param failureMapping What to do if there is a technical failure during the {@link Attempt}
+     * @param <Happy>        The type of happy object the resulting {@link HappyPath} may represent
+     * @param <Sad>          The type of sad object the resulting {@link HappyPath} may represent
+     * @return A {@link HappyPath} that is either happy on the inside, sad on the inside or a technical failure
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> HappyPath<Happy, Sad> happyAttempt(Attempt<Happy> attempt, Timeout timeout, Mapping<Exception, Sad> failureMapping) {
+        return happyAttempt(timeout.boundingAttempt(attempt), failureMapping);
+    }
+
     /**
      * Provides a {@link HappyPath} view over a known {@link Happy} object.
      *
@@ -124,6 +189,20 @@ public interface HappyPath<Happy, Sad> extends BusinessFlow<Happy, Sad>, WithOpt
         return new TechnicalFailureCaseHappyPath<>(technicalFailure);
     }
 
+    /**
+     * Provides a {@link HappyPath} view over a {@link StacklessException} with the given message, which is much cheaper
+     * to create than an {@link Exception} that captures a stack trace.
+     *
+     * @param message The message of the {@link StacklessException} to initiate the flow with
+     * @param <Happy> The type of happy object the resulting {@link HappyPath} may represent
+     * @param <Sad>   The type of sad object the resulting {@link HappyPath} may represent
+     * @return A {@link HappyPath} that is a technical failure on the inside
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> HappyPath<Happy, Sad> stacklessTechnicalFailure(String message) {
+        return technicalFailure(StacklessException.stacklessException(message));
+    }
+
     /**
      * If the underlying business case is happy, then apply the given action, otherwise do nothing to the underlying case.
      *
@@ -144,6 +223,34 @@ public interface HappyPath<Happy, Sad> extends BusinessFlow<Happy, Sad>, WithOpt
     @ApiFeature(since = VERSION_1_0_0, stability = STABLE)
     <NewHappy> HappyPath<NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping);
 
+    /**
+     * If the underlying business case is happy, then apply the given action, giving up if it does not finish within the
+     * given {@link Timeout}, otherwise do nothing to the underlying case.
+     *
+     * @param action     The action to apply to an existing happy case
+     * @param timeout    How long to wait for the action to finish
+     * @param <NewHappy> The type of happy object that will be present after the action is applied to an existing happy object
+     * @return The result of applying the action to the existing happy path, if applicable, or a technical failure if the action overran
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default <NewHappy> HappyPath<NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action, Timeout timeout) {
+        return then(timeout.boundingMapping(action));
+    }
+
+    /**
+     * If the underlying business case is happy, then apply the given mapping, giving up if it does not finish within the
+     * given {@link Timeout}, otherwise do nothing to the underlying case.
+     *
+     * @param mapping    The action to apply to an existing happy case
+     * @param timeout    How long to wait for the mapping to finish
+     * @param <NewHappy> The type of happy object that will be present after the mapping is applied to an existing happy object
+     * @return The result of applying the mapping to the existing happy path, if applicable, or a technical failure if the mapping overran
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default <NewHappy> HappyPath<NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping, Timeout timeout) {
+        return map(timeout.boundingMapping(mapping));
+    }
+
     /**
      * Attempt an action that might fail and be mapped to a {@link Sad} object.
      *
@@ -153,6 +260,32 @@ public interface HappyPath<Happy, Sad> extends BusinessFlow<Happy, Sad>, WithOpt
     @ApiFeature(since = VERSION_1_0_0, stability = STABLE)
     HappyPath<Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail);
 
+    /**
+     * Attempt an action that might fail and be mapped to a {@link Sad} object, attempting it again according to the
+     * given {@link RetryPolicy} if it throws an {@link Exception}. A {@link Sad} result is not retried.
+     *
+     * @param actionThatMightFail The {@link ActionThatMightFail} to apply if the underlying business case is happy
+     * @param retryPolicy         When to attempt the action again and how long to wait first
+     * @return The same {@link HappyPath} if the action did not fail; if the action failure then a {@link HappyPath} that is now sad inside
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default HappyPath<Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail, RetryPolicy retryPolicy) {
+        return attempt(retryPolicy.retrying(actionThatMightFail));
+    }
+
+    /**
+     * Attempt an action that might fail and be mapped to a {@link Sad} object, giving up if it does not finish within
+     * the given {@link Timeout}.
+     *
+     * @param actionThatMightFail The {@link ActionThatMightFail} to apply if the underlying business case is happy
+     * @param timeout             How long to wait for the action to finish
+     * @return The same {@link HappyPath} if the action did not fail; if the action failure then a {@link HappyPath} that is now sad inside, or a technical failure if the action overran
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default HappyPath<Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail, Timeout timeout) {
+        return attempt(timeout.boundingAction(actionThatMightFail));
+    }
+
     /**
      * Attempt several actions that might fail and be mapped to a {@link Sad} object.
      * The first action that fails will result in an early exit with the underlying sad case.
@@ -164,6 +297,29 @@ public interface HappyPath<Happy, Sad> extends BusinessFlow<Happy, Sad>, WithOpt
     @ApiFeature(since = VERSION_7_4_0, stability = STABLE)
     HappyPath<Happy, Sad> attemptAll(List<? extends ActionThatMightFail<Happy, Sad>> actionsThatMightFail);
 
+    /**
+     * Attempt several independent actions that might fail and be mapped to a {@link Sad} object, concurrently on the
+     * given {@link Executor}.
+     * The result is the same as {@link #attemptAll(List)}: the first action in list order that fails determines the
+     * result, whether that is a {@link Sad} or a technical failure. Once an action has failed, the actions after it that
+     * have not started yet will not be run.
+     * <p>
+     * NOTE: The calling thread runs the first action itself and then waits for the rest.
+     * </p>
+     * <p>
+     * NOTE: The default implementation is {@link #attemptAll(List)}, which runs the actions one after another on the
+     * calling thread. It is there so that existing implementations of {@link HappyPath} keep working.
+     * </p>
+     *
+     * @param executor             The {@link Executor} to run the actions on
+     * @param actionsThatMightFail The actions to apply if the underlying business case is happy
+     * @return The same {@link HappyPath} if all the actions did not fail; if an action fails then a {@link HappyPath} that is now sad inside
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default HappyPath<Happy, Sad> attemptAllInParallel(Executor executor, List<? extends ActionThatMightFail<Happy, Sad>> actionsThatMightFail) {
+        return attemptAll(actionsThatMightFail);
+    }
+
     /**
      * Helper method to turn an array of {@link ActionThatMightFail} into a list of {@link ActionThatMightFail}.
      *
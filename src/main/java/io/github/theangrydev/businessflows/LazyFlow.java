@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * A {@link LazyFlow} is a {@link BusinessFlow} that records its steps and only evaluates them when the outcome is
+ * needed, e.g. by {@link #join(Mapping, Mapping, java.util.function.Function)}, {@link #isHappy()} or {@link #ifHappy()}.
+ * <p>
+ * The outcome is memoized, so a {@link LazyFlow} is evaluated at most once, even if it is queried from several threads.
+ * The steps are part of each {@link LazyFlow} that is derived from another, but the {@link Attempt} it started from is
+ * shared by them all, so it is also attempted at most once. If a {@link LazyFlow} is never queried then none of its
+ * steps are ever run.
+ * <p>
+ * A {@link LazyFlow} can be used to write recursive flows, such as retry loops, pagination or state machines, by
+ * returning another {@link LazyFlow} from {@link #then(Mapping)} or from the {@link Attempt}. The flows are evaluated
+ * with a trampoline, a loop that keeps track of the flows that are waiting on the heap rather than on the Java stack,
+ * so arbitrarily deep recursion does not cause a {@link StackOverflowError}. The trampoline still needs a small frame
+ * on the heap for each flow that is waiting for another flow, so deep recursion that has steps left to run after the
+ * recursive step uses heap in proportion to its depth. Only recursion through {@link #then(Mapping)} and the
+ * {@link Attempt} is trampolined; a step that evaluates a {@link LazyFlow} itself, e.g. by calling
+ * {@link #ifHappy()}, evaluates it on the Java stack.
+ *
+ * @param <Happy> The type of happy object the flow may contain
+ * @param <Sad>   The type of sad object the flow may contain
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public interface LazyFlow<Happy, Sad> extends BusinessFlow<Happy, Sad> {
+
+    /**
+     * Provides a {@link LazyFlow} that will be the result of the given {@link Attempt}, when it is evaluated.
+     *
+     * @param attempt The {@link Attempt} to execute when the flow is evaluated
+     * @param <Happy> The type of happy object the resulting {@link LazyFlow} may contain
+     * @param <Sad>   The type of sad object the resulting {@link LazyFlow} may contain
+     * @return A {@link LazyFlow} that has not been evaluated yet
+     * @see HappyPath#happyPathAttempt(Attempt)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> LazyFlow<Happy, Sad> lazyPathAttempt(Attempt<? extends BusinessFlow<Happy, Sad>> attempt) {
+        return MemoizedLazyFlow.attempting(attempt);
+    }
+
+    /**
+     * Provides a {@link LazyFlow} that will be happy with the result of the given {@link Attempt}, when it is evaluated.
+     *
+     * @param attempt The {@link Attempt} to execute when the flow is evaluated
+     * @param <Happy> The type of happy object the resulting {@link LazyFlow} may contain
+     * @param <Sad>   The type of sad object the resulting {@link LazyFlow} may contain
+     * @return A {@link LazyFlow} that has not been evaluated yet
+     * @see HappyPath#happyAttempt(Attempt)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> LazyFlow<Happy, Sad> lazyAttempt(Attempt<Happy> attempt) {
+        return lazyPathAttempt(() -> HappyPath.happyPath(attempt.attempt()));
+    }
+
+    /**
+     * Record a step that will apply the given action to the happy object, if the flow is happy.
+     *
+     * @param action     The action to apply to an existing happy object
+     * @param <NewHappy> The type of happy object that will be present after the action is applied to an existing happy object
+     * @return A {@link LazyFlow} with the step recorded
+     * @see HappyPath#then(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> LazyFlow<NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action);
+
+    /**
+     * Record a step that will apply the given mapping to the happy object, if the flow is happy.
+     *
+     * @param mapping    The mapping to apply to an existing happy object
+     * @param <NewHappy> The type of happy object that will be present after the mapping is applied to an existing happy object
+     * @return A {@link LazyFlow} with the step recorded
+     * @see HappyPath#map(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    <NewHappy> LazyFlow<NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping);
+
+    /**
+     * Record a step that will attempt an action that might fail on the happy object, if the flow is happy.
+     *
+     * @param actionThatMightFail The {@link ActionThatMightFail} to apply to an existing happy object
+     * @return A {@link LazyFlow} with the step recorded
+     * @see HappyPath#attempt(ActionThatMightFail)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    LazyFlow<Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail);
+
+    /**
+     * Record a step that will recover the sad object to a happy object, if the flow is sad.
+     *
+     * @param recovery The recovery to apply to an existing sad object
+     * @return A {@link LazyFlow} with the step recorded
+     * @see SadPath#recover(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    LazyFlow<Happy, Sad> recover(Mapping<Sad, Happy> recovery);
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+/**
+ * A {@link LazyFrame} records a {@link MemoizedLazyFlow} that is part way through being evaluated, because it is
+ * waiting for another flow that it depends on to be evaluated first.
+ * <p>
+ * The frames are kept on the heap rather than on the Java stack, so that a long chain of flows that depend on each
+ * other can be evaluated in constant stack space.
+ */
+final class LazyFrame {
+
+    final MemoizedLazyFlow<?, ?> flow;
+    int nextStep;
+    MemoizedLazyFlow<?, ?> dependency;
+
+    LazyFrame(MemoizedLazyFlow<?, ?> flow, MemoizedLazyFlow<?, ?> dependency) {
+        this.flow = flow;
+        this.dependency = dependency;
+    }
+
+    void suspend(int nextStep, MemoizedLazyFlow<?, ?> dependency) {
+        this.nextStep = nextStep;
+        this.dependency = dependency;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import static java.lang.String.format;
+
+/**
+ * An {@link IllegalStateException} that describes a {@link BusinessCase} in its message. Describing a
+ * {@link TechnicalFailureCase} means rendering a stack trace, which is wasted effort if the exception is handled without
+ * ever being logged, so only its technical failure is kept and the stack trace is rendered when the message is asked
+ * for. Any other business case is described when the exception is created.
+ * <p>
+ * The {@link BusinessCase} itself is not kept, so the exception does not keep the flow reachable and its message does
+ * not change if the business case does. The exception is serialized as an {@link IllegalStateException} with the
+ * formatted message.
+ */
+class LazyIllegalStateException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String messageFormat;
+    private final String description;
+    private final Exception technicalFailure;
+    private String message;
+
+    private LazyIllegalStateException(String messageFormat, String description, Exception technicalFailure, Throwable cause) {
+        super(cause);
+        this.messageFormat = messageFormat;
+        this.description = description;
+        this.technicalFailure = technicalFailure;
+    }
+
+    static LazyIllegalStateException notPresent(Object businessCase) {
+        return describing("Not present. This is: '%s'.", businessCase, null);
+    }
+
+    static LazyIllegalStateException caughtWhenJoining(Object businessCase, Exception technicalFailure) {
+        return describing("Exception caught when joining. Business case is: '%s'.", businessCase, technicalFailure);
+    }
+
+    private static LazyIllegalStateException describing(String messageFormat, Object businessCase, Throwable cause) {
+        if (businessCase instanceof TechnicalFailureCase) {
+            return new LazyIllegalStateException(messageFormat, null, ((TechnicalFailureCase<?, ?>) businessCase).technicalFailure, cause);
+        }
+        return new LazyIllegalStateException(messageFormat, String.valueOf(businessCase), null, cause);
+    }
+
+    @Override
+    public String getMessage() {
+        String message = this.message;
+        if (message == null) {
+            message = format(messageFormat, description == null ? TechnicalFailureCase.describe(technicalFailure) : description);
+            this.message = message;
+        }
+        return message;
+    }
+
+    private Object writeReplace() {
+        IllegalStateException formatted = new IllegalStateException(getMessage(), getCause());
+        formatted.setStackTrace(getStackTrace());
+        for (Throwable suppressed : getSuppressed()) {
+            formatted.addSuppressed(suppressed);
+        }
+        return formatted;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.time.Duration;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+import static java.lang.String.format;
+
+/**
+ * A {@link Memoization} remembers the results of a step that is called with the same input again and again, such as a
+ * {@link Validator} in {@link ValidationPath#validateAll(Object, java.util.List)} that looks up reference data, so that the work is only done
+ * once per input until the result expires.
+ * <p>
+ * Each step that is memoized gets its own bounded cache, keyed by the input using {@link Object#equals(Object)} and
+ * {@link Object#hashCode()}. When a cache is full, entries are evicted using a segmented LRU policy, which favours the
+ * inputs that are seen more than once over the inputs that are only seen once.
+ * <p>
+ * Technical failures are never remembered, so a step that fails is tried again the next time. Validation failures are
+ * only remembered when {@link #includingFailures()} is used, because they are often meant to be corrected and tried
+ * again.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public final class Memoization {
+
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final boolean remembersFailures;
+
+    private Memoization(int maximumSize, long timeToLiveNanos, boolean remembersFailures) {
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.remembersFailures = remembersFailures;
+    }
+
+    /**
+     * Provides a {@link Memoization} that remembers successful results.
+     *
+     * @param maximumSize The maximum number of results to remember for each step
+     * @param timeToLive  How long a result is remembered for after it is produced
+     * @return A {@link Memoization} that does not remember validation failures
+     * @throws IllegalArgumentException If the maximum size or time to live is not positive
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public static Memoization memoizing(int maximumSize, Duration timeToLive) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException(format("The maximum size must be positive but was: %d", maximumSize));
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException(format("The time to live must be positive but was: %s", timeToLive));
+        }
+        return new Memoization(maximumSize, timeToLive.toNanos(), false);
+    }
+
+    /**
+     * @return A {@link Memoization} that also remembers the validation failures produced by a {@link Validator}
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public Memoization includingFailures() {
+        return new Memoization(maximumSize, timeToLiveNanos, true);
+    }
+
+    /**
+     * Provides a {@link Mapping} that remembers its results. A result that is a {@link BusinessFlow} is only remembered
+     * if it is not a technical failure.
+     *
+     * @param mapping The {@link Mapping} to memoize
+     * @param <Old>   The old type (before mapping)
+     * @param <New>   The new type (after mapping)
+     * @return A {@link Mapping} that only maps each old object once until the result expires
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Old, New> Mapping<Old, New> memoizingMapping(Mapping<Old, New> mapping) {
+        SegmentedLruCache<Old, New> cache = new SegmentedLruCache<>(maximumSize, timeToLiveNanos);
+        return old -> {
+            SegmentedLruCache.Entry<New> entry = cache.get(old);
+            if (entry != null) {
+                return entry.value;
+            }
+            New result = mapping.map(old);
+            if (!isTechnicalFailure(result)) {
+                cache.put(old, result);
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Provides a {@link Validator} that remembers its successes, and its failures if {@link #includingFailures()} was
+     * used.
+     *
+     * @param validator The {@link Validator} to memoize
+     * @param <Happy>   The type of happy object the validator validates
+     * @param <Sad>     The type of sad object the validator may produce
+     * @return A {@link Validator} that only validates each happy object once until the result expires
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, Sad> Validator<Happy, Sad> memoizingValidator(Validator<Happy, Sad> validator) {
+        SegmentedLruCache<Happy, PotentialFailure<Sad>> cache = new SegmentedLruCache<>(maximumSize, timeToLiveNanos);
+        return happy -> {
+            SegmentedLruCache.Entry<PotentialFailure<Sad>> entry = cache.get(happy);
+            if (entry != null) {
+                return entry.value;
+            }
+            PotentialFailure<Sad> result = validator.attempt(happy);
+            if (remembersFailures || !result.isPresent()) {
+                cache.put(happy, result);
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Provides a {@link FieldValidator} that remembers the results of validating each field, so that happy objects
+     * that share a field only have it validated once.
+     *
+     * @param fieldExtractor Extracts the {@link Field} from the {@link Happy}
+     * @param fieldValidator The {@link Validator} to memoize, which will validate the {@link Field}
+     * @param <Happy>        The type that contains the {@link Field}
+     * @param <Sad>          The type of validation failure
+     * @param <Field>        The type of the field to validate
+     * @return A {@link FieldValidator} that only validates each field once until the result expires
+     * @see FieldValidator#fieldValidator(Mapping, Validator)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, Sad, Field> FieldValidator<Happy, Sad, Field> memoizingFieldValidator(Mapping<Happy, Field> fieldExtractor, Validator<Field, Sad> fieldValidator) {
+        return FieldValidator.fieldValidator(fieldExtractor, memoizingValidator(fieldValidator));
+    }
+
+    private static boolean isTechnicalFailure(Object result) {
+        return result instanceof BusinessFlow && ((BusinessFlow<?, ?>) result).isTechnicalFailure();
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link MemoizedLazyFlow} is a {@link LazyFlow} that works out its outcome the first time that it is needed.
+ * <p>
+ * A flow that was started from an {@link Attempt} has no steps and its outcome is the result of the {@link Attempt}.
+ * Any other flow runs a {@link StepFlowPipeline} from the outcome of a source flow. Adding a step to a flow that has
+ * not been evaluated yet adds it to the same pipeline, from the same source flow, so that the steps are run in one
+ * go. A flow that has already been evaluated becomes the source flow instead, so that its steps are not run again.
+ */
+class MemoizedLazyFlow<Happy, Sad> implements LazyFlow<Happy, Sad> {
+
+    private static final long NO_EVALUATOR = -1;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition evaluated = lock.newCondition();
+    private final Attempt<? extends BusinessFlow<Happy, Sad>> sourceAttempt;
+    private final MemoizedLazyFlow<?, ?> sourceFlow;
+    private final StepFlowPipeline<Object, Happy, Sad> pipeline;
+
+    // Guarded by the lock, which is never held while the flow is being evaluated
+    private BusinessFlow<?, ?> memoizedOutcome;
+    private long evaluator = NO_EVALUATOR;
+
+    private MemoizedLazyFlow(Attempt<? extends BusinessFlow<Happy, Sad>> sourceAttempt, MemoizedLazyFlow<?, ?> sourceFlow, StepFlowPipeline<Object, Happy, Sad> pipeline) {
+        this.sourceAttempt = sourceAttempt;
+        this.sourceFlow = sourceFlow;
+        this.pipeline = pipeline;
+    }
+
+    static <Happy, Sad> LazyFlow<Happy, Sad> attempting(Attempt<? extends BusinessFlow<Happy, Sad>> attempt) {
+        return new MemoizedLazyFlow<>(attempt, null, noSteps());
+    }
+
+    @Override
+    public <NewHappy> LazyFlow<NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action) {
+        return withStep(pipeline -> pipeline.then(action));
+    }
+
+    @Override
+    public <NewHappy> LazyFlow<NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping) {
+        return withStep(pipeline -> pipeline.map(mapping));
+    }
+
+    @Override
+    public LazyFlow<Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
+        return withStep(pipeline -> pipeline.attempt(actionThatMightFail));
+    }
+
+    @Override
+    public LazyFlow<Happy, Sad> recover(Mapping<Sad, Happy> recovery) {
+        return withStep(pipeline -> pipeline.recover(recovery));
+    }
+
+    @Override
+    public TechnicalFailure<Happy, Sad> ifTechnicalFailure() {
+        return outcome().ifTechnicalFailure();
+    }
+
+    @Override
+    public SadPath<Happy, Sad> ifSad() {
+        return outcome().ifSad();
+    }
+
+    @Override
+    public HappyPath<Happy, Sad> ifHappy() {
+        return outcome().ifHappy();
+    }
+
+    @Override
+    public boolean isHappy() {
+        return outcome().isHappy();
+    }
+
+    @Override
+    public boolean isSad() {
+        return outcome().isSad();
+    }
+
+    @Override
+    public boolean isTechnicalFailure() {
+        return outcome().isTechnicalFailure();
+    }
+
+    @Override
+    public Happy getHappy() {
+        return outcome().getHappy();
+    }
+
+    @Override
+    public Sad getSad() {
+        return outcome().getSad();
+    }
+
+    @Override
+    public Exception getTechnicalFailure() {
+        return outcome().getTechnicalFailure();
+    }
+
+    @Override
+    public PotentialFailure<Sad> toPotentialFailure(Function<Exception, Sad> technicalFailureMapping) {
+        return outcome().toPotentialFailure(technicalFailureMapping);
+    }
+
+    @Override
+    public <Result> Result join(Mapping<Happy, Result> happyJoiner, Mapping<Sad, Result> sadJoiner, Function<Exception, Result> technicalFailureJoiner) {
+        return outcome().join(happyJoiner, sadJoiner, technicalFailureJoiner);
+    }
+
+    @Override
+    public <Result> Result joinOrThrow(Mapping<Happy, Result> happyJoiner, Mapping<Sad, Result> sadJoiner) throws Exception {
+        return outcome().joinOrThrow(happyJoiner, sadJoiner);
+    }
+
+    @Override
+    public void consumeOrThrow(Peek<Happy> happyConsumer, Peek<Sad> sadConsumer) throws Exception {
+        outcome().consumeOrThrow(happyConsumer, sadConsumer);
+    }
+
+    @Override
+    public void consume(Peek<Happy> happyConsumer, Peek<Sad> sadConsumer, Consumer<Exception> technicalFailureConsumer) {
+        outcome().consume(happyConsumer, sadConsumer, technicalFailureConsumer);
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return memoizedOutcome == null ? "Not evaluated yet" : memoizedOutcome.toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked") // The outcome of this flow is always a flow of the same type
+    BusinessFlow<Happy, Sad> outcome() {
+        return (BusinessFlow<Happy, Sad>) evaluate(this);
+    }
+
+    /**
+     * Evaluate the given flow with a loop rather than by recursion. When a flow depends on another flow that has not
+     * been evaluated yet, a frame is pushed and the loop carries on with the dependency. When the dependency has been
+     * evaluated, the frame on top is carried on from where it left off.
+     * <p>
+     * The loop runs in constant Java stack space, but it needs a frame on the heap for each flow that is waiting for
+     * another flow, so the heap that is used grows with the depth of the recursion. Each flow in the frames is claimed
+     * by the current thread until it has been evaluated, so that other threads wait for it rather than evaluating it
+     * again. If the evaluation does not finish, e.g. because of an {@link Error}, the flows that are left are given up
+     * so that they can be evaluated again.
+     */
+    private static BusinessFlow<?, ?> evaluate(MemoizedLazyFlow<?, ?> flow) {
+        Deque<LazyFrame> frames = new ArrayDeque<>();
+        try {
+            MemoizedLazyFlow<?, ?> next = flow;
+            BusinessFlow<?, ?> outcome = null;
+            while (next != null || !frames.isEmpty()) {
+                if (next == null) {
+                    LazyFrame frame = frames.peek();
+                    outcome = frame.flow.carryOn(frame, outcome);
+                    if (outcome == null) {
+                        next = frame.dependency;
+                    } else {
+                        frames.pop();
+                    }
+                } else {
+                    outcome = next.start(frames);
+                    next = outcome == null ? frames.peek().dependency : null;
+                }
+            }
+            return outcome;
+        } finally {
+            for (LazyFrame frame : frames) {
+                frame.flow.giveUp();
+            }
+        }
+    }
+
+    /**
+     * Start evaluating this flow, unless it has already been evaluated.
+     *
+     * @return The outcome of this flow, or null if a frame was pushed that is waiting for a dependency
+     */
+    private BusinessFlow<?, ?> start(Deque<LazyFrame> frames) {
+        BusinessFlow<?, ?> outcome = claim();
+        if (outcome != null) {
+            return outcome;
+        }
+        LazyFrame frame = new LazyFrame(this, sourceFlow);
+        frames.push(frame);
+        if (sourceFlow != null) {
+            return null;
+        }
+        try {
+            BusinessFlow<Happy, Sad> attempted = sourceAttempt.attempt();
+            if (attempted instanceof MemoizedLazyFlow) {
+                frame.suspend(0, (MemoizedLazyFlow<?, ?>) attempted);
+                return null;
+            }
+            outcome = attempted.ifHappy();
+        } catch (Exception technicalFailure) {
+            outcome = HappyPath.technicalFailure(technicalFailure);
+        }
+        frames.pop();
+        return complete(outcome);
+    }
+
+    /**
+     * Carry on evaluating this flow now that the dependency of the given frame has been evaluated.
+     *
+     * @return The outcome of this flow, or null if the frame is now waiting for another dependency
+     */
+    BusinessFlow<?, ?> carryOn(LazyFrame frame, BusinessFlow<?, ?> dependencyOutcome) {
+        HappyPath<Happy, Sad> result = pipeline.resume(dependencyOutcome, frame);
+        if (result == null) {
+            return null;
+        }
+        return complete(result);
+    }
+
+    /**
+     * Claim this flow for evaluation by the current thread, waiting if another thread is evaluating it.
+     *
+     * @return The outcome of this flow if it is already known, or null if the current thread should evaluate it
+     */
+    private BusinessFlow<?, ?> claim() {
+        long currentThread = Thread.currentThread().getId();
+        lock.lock();
+        try {
+            // Only a flow that has not been evaluated yet can have an evaluator
+            if (evaluator == currentThread) {
+                return HappyPath.technicalFailure(new IllegalStateException("The lazy flow depends on itself"));
+            }
+            while (evaluator != NO_EVALUATOR) {
+                evaluated.awaitUninterruptibly();
+            }
+            if (memoizedOutcome == null) {
+                evaluator = currentThread;
+            }
+            return memoizedOutcome;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BusinessFlow<?, ?> complete(BusinessFlow<?, ?> outcome) {
+        lock.lock();
+        try {
+            memoizedOutcome = outcome;
+            evaluator = NO_EVALUATOR;
+            evaluated.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return outcome;
+    }
+
+    void giveUp() {
+        lock.lock();
+        try {
+            evaluator = NO_EVALUATOR;
+            evaluated.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isEvaluated() {
+        lock.lock();
+        try {
+            return memoizedOutcome != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked") // The pipeline is always a StepFlowPipeline
+    private <NewHappy> LazyFlow<NewHappy, Sad> withStep(Function<StepFlowPipeline<Object, Happy, Sad>, FlowPipeline<Object, NewHappy, Sad>> step) {
+        if (sourceFlow == null || isEvaluated()) {
+            return new MemoizedLazyFlow<>(null, this, (StepFlowPipeline<Object, NewHappy, Sad>) step.apply(noSteps()));
+        }
+        return new MemoizedLazyFlow<>(null, sourceFlow, (StepFlowPipeline<Object, NewHappy, Sad>) step.apply(pipeline));
+    }
+
+    @SuppressWarnings("unchecked") // A pipeline with no steps does not depend on the types
+    private static <Happy, Sad> StepFlowPipeline<Object, Happy, Sad> noSteps() {
+        return (StepFlowPipeline<Object, Happy, Sad>) StepFlowPipeline.noSteps();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Arrays;
+
+/**
+ * A {@link PipelineStep} is one step of a {@link StepFlowPipeline}.
+ * <p>
+ * Every kind of step is held as a {@link Mapping} and the kind says what to do with the result, so that a pipeline is
+ * run by one loop over one type of step rather than by calling a different implementation for each kind.
+ */
+final class PipelineStep {
+
+    /**
+     * The function maps the happy object to a new happy object.
+     */
+    static final byte MAP = 0;
+
+    /**
+     * The function maps the happy object to a {@link BusinessFlow}.
+     */
+    static final byte THEN = 1;
+
+    /**
+     * The function maps the happy object to a {@link PotentialFailure}.
+     */
+    static final byte ATTEMPT = 2;
+
+    /**
+     * The function maps the sad object to a new happy object.
+     */
+    static final byte RECOVER = 3;
+
+    final byte kind;
+    final Mapping<Object, Object> function;
+
+    private PipelineStep(byte kind, Mapping<Object, Object> function) {
+        this.kind = kind;
+        this.function = function;
+    }
+
+    @SuppressWarnings("unchecked") // The pipeline makes sure that each step is given the type of object it expects
+    static PipelineStep step(byte kind, Mapping<?, ?> function) {
+        return new PipelineStep(kind, (Mapping<Object, Object>) function);
+    }
+
+    boolean appliesToHappy() {
+        return kind != RECOVER;
+    }
+
+    boolean isFusableWith(PipelineStep next) {
+        return kind == MAP && next.kind == MAP;
+    }
+
+    PipelineStep fuseWith(PipelineStep next) {
+        return new PipelineStep(MAP, new FusedMapping(function, next.function));
+    }
+
+    /**
+     * Applies several fused map steps one after another in a loop, so that the stack does not get any deeper as more
+     * steps are fused.
+     */
+    private static final class FusedMapping implements Mapping<Object, Object> {
+        private final Mapping<Object, Object>[] mappings;
+
+        FusedMapping(Mapping<Object, Object> first, Mapping<Object, Object> second) {
+            Mapping<Object, Object>[] firstMappings = mappingsOf(first);
+            Mapping<Object, Object>[] secondMappings = mappingsOf(second);
+            mappings = Arrays.copyOf(firstMappings, firstMappings.length + secondMappings.length);
+            System.arraycopy(secondMappings, 0, mappings, firstMappings.length, secondMappings.length);
+        }
+
+        @SuppressWarnings("unchecked") // Every step holds a Mapping<Object, Object>
+        private static Mapping<Object, Object>[] mappingsOf(Mapping<Object, Object> function) {
+            if (function instanceof FusedMapping) {
+                return ((FusedMapping) function).mappings;
+            }
+            Mapping<Object, Object>[] mappings = (Mapping<Object, Object>[]) new Mapping<?, ?>[1];
+            mappings[0] = function;
+            return mappings;
+        }
+
+        @Override
+        public Object map(Object value) throws Exception {
+            Object result = value;
+            for (Mapping<Object, Object> mapping : mappings) {
+                result = mapping.map(result);
+            }
+            return result;
+        }
+    }
+}
@@ -18,6 +18,8 @@
 package io.github.theangrydev.businessflows;
 
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * A {@link PotentialFailureFailure} is a {@link PotentialFailure} that is actually a failure.
@@ -40,6 +42,36 @@ class PotentialFailureFailure<Sad> implements PotentialFailure<Sad> {
         return Optional.of(sad);
     }
 
+    @Override
+    public Sad get() {
+        return sad;
+    }
+
+    @Override
+    public Sad orElse(Sad alternative) {
+        return sad;
+    }
+
+    @Override
+    public Sad orElseGet(Supplier<Sad> alternativeSupplier) {
+        return sad;
+    }
+
+    @Override
+    public void ifPresent(Consumer<Sad> consumer) {
+        consumer.accept(sad);
+    }
+
+    @Override
+    public <X extends Exception> Sad orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+        return sad;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return "Failure: " + sad;
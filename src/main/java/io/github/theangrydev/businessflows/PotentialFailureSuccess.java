@@ -17,21 +17,22 @@
  */
 package io.github.theangrydev.businessflows;
 
-import java.util.Optional;
-
 /**
  * A {@link PotentialFailureSuccess} is a {@link PotentialFailure} that is actually a success.
  */
-class PotentialFailureSuccess<Sad> implements PotentialFailure<Sad> {
+class PotentialFailureSuccess<Sad> implements PotentialFailure<Sad>, WithEmptyOptional<Sad> {
 
-    @Override
-    public <Happy> HappyPath<Happy, Sad> toHappyPath(Happy happy) {
-        return HappyPath.happyPath(happy);
+    // A success does not hold a Sad, so one instance can be shared by every Sad type and compared by identity
+    static final PotentialFailureSuccess<?> INSTANCE = new PotentialFailureSuccess<>();
+
+    @SuppressWarnings("unchecked") // Only the Sad changes and it is not present so all that changes is the types
+    static <Sad> PotentialFailure<Sad> success() {
+        return (PotentialFailure<Sad>) INSTANCE;
     }
 
     @Override
-    public Optional<Sad> toOptional() {
-        return Optional.empty();
+    public <Happy> HappyPath<Happy, Sad> toHappyPath(Happy happy) {
+        return HappyPath.happyPath(happy);
     }
 
     @Override
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link RetryPolicy} describes how many times to attempt an action that results in a technical failure, which
+ * technical failures are worth retrying and how long to wait between the attempts.
+ * <p>
+ * A sad result is a business outcome rather than a technical failure, so it is never retried.
+ * <p>
+ * The delay before each retry grows exponentially from an initial delay up to a maximum delay. Each delay can be
+ * randomly shortened by up to a fraction of itself (the jitter), so that many flows that failed at the same time do not
+ * all retry at the same time too.
+ * <p>
+ * A {@link RetryPolicy} is immutable, so it can be defined once and shared.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public final class RetryPolicy {
+
+    private static final int BACKOFF_MULTIPLIER = 2;
+
+    private final int attemptLimit;
+    private final long initialDelayNanos;
+    private final long maximumDelayNanos;
+    private final double jitter;
+    private final Predicate<? super Exception> retryable;
+
+    private RetryPolicy(int attemptLimit, long initialDelayNanos, long maximumDelayNanos, double jitter, Predicate<? super Exception> retryable) {
+        this.attemptLimit = attemptLimit;
+        this.initialDelayNanos = initialDelayNanos;
+        this.maximumDelayNanos = maximumDelayNanos;
+        this.jitter = jitter;
+        this.retryable = retryable;
+    }
+
+    /**
+     * Provides a {@link RetryPolicy} that retries every technical failure straight away, until the action has been
+     * attempted the given number of times.
+     *
+     * @param maximumAttempts The maximum number of times to attempt the action, including the first attempt
+     * @return A {@link RetryPolicy} with no delay between the attempts
+     * @throws IllegalArgumentException If the maximum number of attempts is not positive
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public static RetryPolicy maximumAttempts(int maximumAttempts) {
+        if (maximumAttempts <= 0) {
+            throw new IllegalArgumentException(format("The maximum number of attempts must be positive but was: %d", maximumAttempts));
+        }
+        return new RetryPolicy(maximumAttempts, 0, 0, 0, technicalFailure -> true);
+    }
+
+    /**
+     * Wait between the attempts, starting with the initial delay and doubling it after each retry, up to the maximum.
+     *
+     * @param initialDelay The delay before the first retry
+     * @param maximumDelay The longest delay between two attempts
+     * @return A {@link RetryPolicy} with exponential backoff
+     * @throws IllegalArgumentException If a delay is negative or the initial delay is longer than the maximum delay
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public RetryPolicy withBackoff(Duration initialDelay, Duration maximumDelay) {
+        if (initialDelay.isNegative() || initialDelay.compareTo(maximumDelay) > 0) {
+            throw new IllegalArgumentException(format("The initial delay must be between zero and the maximum delay (%s) but was: %s", maximumDelay, initialDelay));
+        }
+        return new RetryPolicy(attemptLimit, initialDelay.toNanos(), maximumDelay.toNanos(), jitter, retryable);
+    }
+
+    /**
+     * Randomly shorten each delay by up to the given fraction of itself.
+     *
+     * @param jitter The fraction of each delay that may be taken off at random, from 0 (no jitter) to 1 (full jitter)
+     * @return A {@link RetryPolicy} with jitter
+     * @throws IllegalArgumentException If the jitter is not between 0 and 1
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public RetryPolicy withJitter(double jitter) {
+        if (!(jitter >= 0 && jitter <= 1)) {
+            throw new IllegalArgumentException(format("The jitter must be between 0 and 1 but was: %s", jitter));
+        }
+        return new RetryPolicy(attemptLimit, initialDelayNanos, maximumDelayNanos, jitter, retryable);
+    }
+
+    /**
+     * Only retry the technical failures that match the given classifier. Any other technical failure is the result
+     * straight away.
+     *
+     * @param retryable Whether a technical failure is worth retrying, e.g. {@code java.io.IOException.class::isInstance}
+     * @return A {@link RetryPolicy} that only retries some technical failures
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public RetryPolicy retryingOn(Predicate<? super Exception> retryable) {
+        return new RetryPolicy(attemptLimit, initialDelayNanos, maximumDelayNanos, jitter, retryable);
+    }
+
+    /**
+     * Provides an {@link Attempt} that attempts the given {@link Attempt} again, according to this policy, when it
+     * throws an {@link Exception}. The calling thread sleeps between the attempts.
+     * <p>
+     * If the calling thread is interrupted while it is waiting, the last technical failure is thrown straight away
+     * and the interrupt flag is set again.
+     * </p>
+     *
+     * @param attempt  The {@link Attempt} to retry
+     * @param <Result> The type of object the {@link Attempt} produces
+     * @return An {@link Attempt} that throws the last technical failure if none of the attempts succeeded
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Result> Attempt<Result> retrying(Attempt<Result> attempt) {
+        return () -> {
+            for (int attempts = 1; ; attempts++) {
+                try {
+                    return attempt.attempt();
+                } catch (Exception technicalFailure) {
+                    if (!shouldRetry(attempts, technicalFailure) || !sleep(delayNanos(attempts), technicalFailure)) {
+                        throw technicalFailure;
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Provides an {@link ActionThatMightFail} that attempts the given action again, according to this policy, when it
+     * throws an {@link Exception}. A {@link PotentialFailure#failure(Object)} is not retried.
+     *
+     * @param actionThatMightFail The action to retry
+     * @param <Happy>             The type of happy object the action acts on
+     * @param <Sad>               The type of sad object the action may produce
+     * @return An {@link ActionThatMightFail} that throws the last technical failure if none of the attempts succeeded
+     * @see #retrying(Attempt)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, Sad> ActionThatMightFail<Happy, Sad> retrying(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
+        return happy -> retrying(() -> actionThatMightFail.attempt(happy)).attempt();
+    }
+
+    <Happy, Sad> HappyPath<Happy, Sad> happyPathAttempt(Attempt<? extends BusinessFlow<Happy, Sad>> happyPathAttempt) {
+        for (int attempts = 1; ; attempts++) {
+            HappyPath<Happy, Sad> happyPath = HappyPath.happyPathAttempt(happyPathAttempt);
+            if (!happyPath.isTechnicalFailure()) {
+                return happyPath;
+            }
+            Exception technicalFailure = happyPath.getTechnicalFailure();
+            if (!shouldRetry(attempts, technicalFailure) || !sleep(delayNanos(attempts), technicalFailure)) {
+                return happyPath;
+            }
+        }
+    }
+
+    boolean shouldRetry(int attempts, Exception technicalFailure) {
+        return attempts < attemptLimit && retryable.test(technicalFailure);
+    }
+
+    long delayNanos(int attempts) {
+        long delay = initialDelayNanos;
+        for (int retry = 1; retry < attempts; retry++) {
+            if (delay > maximumDelayNanos / BACKOFF_MULTIPLIER) {
+                delay = maximumDelayNanos;
+                break;
+            }
+            delay *= BACKOFF_MULTIPLIER;
+        }
+        return delay - (long) (delay * jitter * ThreadLocalRandom.current().nextDouble());
+    }
+
+    private static boolean sleep(long delayNanos, Exception technicalFailure) {
+        try {
+            NANOSECONDS.sleep(delayNanos);
+            return true;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            technicalFailure.addSuppressed(interrupted);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import static io.github.theangrydev.businessflows.StepBatchFlow.HAPPY;
+import static io.github.theangrydev.businessflows.StepBatchFlow.SAD;
+
+/**
+ * A {@link RoutingIterator} applies the steps of a {@link StepBatchFlow} to one input at a time, as the happy results
+ * are pulled, routing the sad results and technical failures to consumers on the way.
+ * <p>
+ * The steps are applied to a batch of size one that is reused for every input, so pulling a result does not allocate.
+ */
+class RoutingIterator<Input, Happy, Sad> implements Iterator<Happy> {
+
+    private final Object[] value = new Object[1];
+    private final byte[] outcome = new byte[1];
+
+    private final List<StepBatchFlow.BatchStep> steps;
+    private final Iterator<? extends Input> inputs;
+    private final Consumer<? super Sad> sadConsumer;
+    private final Consumer<? super Exception> technicalFailureConsumer;
+
+    private boolean happyIsWaiting;
+
+    RoutingIterator(List<StepBatchFlow.BatchStep> steps, Iterator<? extends Input> inputs, Consumer<? super Sad> sadConsumer, Consumer<? super Exception> technicalFailureConsumer) {
+        this.steps = steps;
+        this.inputs = inputs;
+        this.sadConsumer = sadConsumer;
+        this.technicalFailureConsumer = technicalFailureConsumer;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!happyIsWaiting && inputs.hasNext()) {
+            applySteps(inputs.next());
+            route();
+        }
+        return happyIsWaiting;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // The outcome is happy, so the value is the happy object produced by the last step
+    public Happy next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        happyIsWaiting = false;
+        Happy happy = (Happy) value[0];
+        value[0] = null;
+        return happy;
+    }
+
+    private void applySteps(Input input) {
+        value[0] = input;
+        outcome[0] = HAPPY;
+        for (StepBatchFlow.BatchStep step : steps) {
+            step.apply(value, outcome);
+        }
+    }
+
+    @SuppressWarnings("unchecked") // The outcome says what type of object the value is
+    private void route() {
+        if (outcome[0] == HAPPY) {
+            happyIsWaiting = true;
+            return;
+        }
+        Object result = value[0];
+        value[0] = null;
+        if (outcome[0] == SAD) {
+            sadConsumer.accept((Sad) result);
+        } else {
+            technicalFailureConsumer.accept((Exception) result);
+        }
+    }
+}
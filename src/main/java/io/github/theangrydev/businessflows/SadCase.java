@@ -27,10 +27,86 @@ class SadCase<Happy, Sad> implements BusinessCase<Happy, Sad> {
 
     final Sad sad;
 
+    // Only created once a second view of this case is needed
+    private BusinessCaseViews<Happy, Sad> views;
+
     SadCase(Sad sad) {
         this.sad = sad;
     }
 
+    SadCase(SadCase<Happy, Sad> view) {
+        this.sad = view.sad;
+        this.views = view.sharedViews();
+    }
+
+    private BusinessCaseViews<Happy, Sad> sharedViews() {
+        BusinessCaseViews<Happy, Sad> sharedViews = views;
+        if (sharedViews == null) {
+            sharedViews = new BusinessCaseViews<>();
+            addTo(sharedViews);
+            views = sharedViews;
+        }
+        return sharedViews;
+    }
+
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        // Each view adds itself to the views it shares
+    }
+
+    HappyPath<Happy, Sad> happyPathView() {
+        BusinessCaseViews<Happy, Sad> sharedViews = sharedViews();
+        HappyPath<Happy, Sad> view = sharedViews.happyPath;
+        if (view == null) {
+            view = new SadCaseHappyPath<>(this);
+            sharedViews.happyPath = view;
+        }
+        return view;
+    }
+
+    SadPath<Happy, Sad> sadPathView() {
+        BusinessCaseViews<Happy, Sad> sharedViews = sharedViews();
+        SadPath<Happy, Sad> view = sharedViews.sadPath;
+        if (view == null) {
+            view = new SadCaseSadPath<>(this);
+            sharedViews.sadPath = view;
+        }
+        return view;
+    }
+
+    TechnicalFailure<Happy, Sad> technicalFailureView() {
+        BusinessCaseViews<Happy, Sad> sharedViews = sharedViews();
+        TechnicalFailure<Happy, Sad> view = sharedViews.technicalFailure;
+        if (view == null) {
+            view = new SadCaseTechnicalFailure<>(this);
+            sharedViews.technicalFailure = view;
+        }
+        return view;
+    }
+
+    public boolean isHappy() {
+        return false;
+    }
+
+    public boolean isSad() {
+        return true;
+    }
+
+    public boolean isTechnicalFailure() {
+        return false;
+    }
+
+    public Happy getHappy() {
+        throw LazyIllegalStateException.notPresent(this);
+    }
+
+    public Sad getSad() {
+        return sad;
+    }
+
+    public Exception getTechnicalFailure() {
+        throw LazyIllegalStateException.notPresent(this);
+    }
+
     @Override
     public PotentialFailure<Sad> toPotentialFailure(Function<Exception, Sad> technicalFailureMapping) {
         return PotentialFailure.failure(sad);
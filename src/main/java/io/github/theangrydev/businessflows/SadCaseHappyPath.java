@@ -18,17 +18,25 @@
 package io.github.theangrydev.businessflows;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * A {@link SadCaseHappyPath} is a {@link HappyPath} that is actually a {@link SadCase}.
  */
-class SadCaseHappyPath<Happy, Sad> extends SadCase<Happy, Sad> implements HappyPath<Happy, Sad> {
+class SadCaseHappyPath<Happy, Sad> extends SadCase<Happy, Sad> implements HappyPath<Happy, Sad>, WithEmptyOptional<Happy> {
 
     SadCaseHappyPath(Sad sad) {
         super(sad);
     }
 
+    SadCaseHappyPath(SadCase<Happy, Sad> view) {
+        super(view);
+    }
+
+    @Override
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        views.happyPath = this;
+    }
+
     @SuppressWarnings("unchecked") // Only the Happy changes and it is not present so all that changes is the types
     @Override
     public <NewHappy> HappyPath<NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action) {
@@ -56,18 +64,13 @@ class SadCaseHappyPath<Happy, Sad> extends SadCase<Happy, Sad> implements HappyP
         return this;
     }
 
-    @Override
-    public Optional<Happy> toOptional() {
-        return Optional.empty();
-    }
-
     @Override
     public TechnicalFailure<Happy, Sad> ifTechnicalFailure() {
-        return TechnicalFailure.sadPath(sad);
+        return technicalFailureView();
     }
 
     @Override
     public SadPath<Happy, Sad> ifSad() {
-        return SadPath.sadPath(sad);
+        return sadPathView();
     }
 }
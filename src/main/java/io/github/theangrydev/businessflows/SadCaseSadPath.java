@@ -18,6 +18,8 @@
 package io.github.theangrydev.businessflows;
 
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * A {@link SadCaseSadPath} is a {@link SadPath} that is actually a {@link SadCase}.
@@ -28,19 +30,58 @@ class SadCaseSadPath<Happy, Sad> extends SadCase<Happy, Sad> implements SadPath<
         super(sad);
     }
 
+    SadCaseSadPath(SadCase<Happy, Sad> view) {
+        super(view);
+    }
+
+    @Override
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        views.sadPath = this;
+    }
+
     @Override
     public Optional<Sad> toOptional() {
         return Optional.of(sad);
     }
 
+    @Override
+    public Sad get() {
+        return sad;
+    }
+
+    @Override
+    public Sad orElse(Sad alternative) {
+        return sad;
+    }
+
+    @Override
+    public Sad orElseGet(Supplier<Sad> alternativeSupplier) {
+        return sad;
+    }
+
+    @Override
+    public void ifPresent(Consumer<Sad> consumer) {
+        consumer.accept(sad);
+    }
+
+    @Override
+    public <X extends Exception> Sad orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+        return sad;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
     @Override
     public TechnicalFailure<Happy, Sad> ifTechnicalFailure() {
-        return TechnicalFailure.sadPath(sad);
+        return technicalFailureView();
     }
 
     @Override
     public HappyPath<Happy, Sad> ifHappy() {
-        return HappyPath.sadPath(sad);
+        return happyPathView();
     }
 
     @Override
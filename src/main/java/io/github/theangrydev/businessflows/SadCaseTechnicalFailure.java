@@ -17,20 +17,22 @@
  */
 package io.github.theangrydev.businessflows;
 
-import java.util.Optional;
-
 /**
  * A {@link SadCaseTechnicalFailure} is a {@link TechnicalFailure} that is actually a {@link SadCase}.
  */
-class SadCaseTechnicalFailure<Happy, Sad> extends SadCase<Happy, Sad> implements TechnicalFailure<Happy, Sad> {
+class SadCaseTechnicalFailure<Happy, Sad> extends SadCase<Happy, Sad> implements TechnicalFailure<Happy, Sad>, WithEmptyOptional<Exception> {
 
     SadCaseTechnicalFailure(Sad sad) {
         super(sad);
     }
 
+    SadCaseTechnicalFailure(SadCase<Happy, Sad> view) {
+        super(view);
+    }
+
     @Override
-    public Optional<Exception> toOptional() {
-        return Optional.empty();
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        views.technicalFailure = this;
     }
 
     @Override
@@ -45,22 +47,22 @@ class SadCaseTechnicalFailure<Happy, Sad> extends SadCase<Happy, Sad> implements
 
     @Override
     public HappyPath<Happy, Sad> recover(Mapping<Exception, Happy> recovery) {
-        return HappyPath.sadPath(sad);
+        return happyPathView();
     }
 
     @Override
     public HappyPath<Happy, Sad> recover(Attempt<Happy> recovery) {
-        return HappyPath.sadPath(sad);
+        return happyPathView();
     }
 
     @Override
     public SadPath<Happy, Sad> mapToSadPath(Mapping<Exception, Sad> mapping) {
-        return SadPath.sadPath(sad);
+        return sadPathView();
     }
 
     @Override
     public SadPath<Happy, Sad> mapToSadPath(Attempt<Sad> mapping) {
-        return SadPath.sadPath(sad);
+        return sadPathView();
     }
 
     @Override
@@ -80,11 +82,11 @@ class SadCaseTechnicalFailure<Happy, Sad> extends SadCase<Happy, Sad> implements
 
     @Override
     public HappyPath<Happy, Sad> ifHappy() {
-        return HappyPath.sadPath(sad);
+        return happyPathView();
     }
 
     @Override
     public SadPath<Happy, Sad> ifSad() {
-        return SadPath.sadPath(sad);
+        return sadPathView();
     }
 }
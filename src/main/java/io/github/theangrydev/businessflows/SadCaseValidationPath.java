@@ -28,6 +28,11 @@ class SadCaseValidationPath<Happy, Sad, SadAggregate> extends SadCaseHappyPath<H
         super(sadList);
     }
 
+    @Override
+    void addTo(BusinessCaseViews<Happy, SadAggregate> views) {
+        // The other views switch to a plain happy path rather than to this validation path
+    }
+
     @Override
     public ValidationPath<Happy, Sad, SadAggregate> validateAll(List<? extends Validator<Happy, Sad>> validators) {
         return this;
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link ScheduledRetry} attempts an {@link Attempt} on an {@link Executor} according to a {@link RetryPolicy}, but
+ * rather than sleeping between the attempts it asks a {@link ScheduledExecutorService} to dispatch the next attempt
+ * when the delay is over, so no thread is blocked while waiting.
+ */
+final class ScheduledRetry<Happy, Sad> {
+
+    private final Attempt<? extends BusinessFlow<Happy, Sad>> action;
+    private final RetryPolicy retryPolicy;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final CompletableFuture<BusinessFlow<Happy, Sad>> result = new CompletableFuture<>();
+
+    private ScheduledRetry(Attempt<? extends BusinessFlow<Happy, Sad>> action, RetryPolicy retryPolicy, Executor executor, ScheduledExecutorService scheduler) {
+        this.action = action;
+        this.retryPolicy = retryPolicy;
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    static <Happy, Sad> CompletableFuture<BusinessFlow<Happy, Sad>> retry(Attempt<? extends BusinessFlow<Happy, Sad>> attempt, RetryPolicy retryPolicy, Executor executor, ScheduledExecutorService scheduler) {
+        ScheduledRetry<Happy, Sad> retry = new ScheduledRetry<>(attempt, retryPolicy, executor, scheduler);
+        retry.dispatch(1);
+        return retry.result;
+    }
+
+    private void dispatch(int attempts) {
+        try {
+            executor.execute(() -> attempt(attempts));
+        } catch (RejectedExecutionException technicalFailure) {
+            result.complete(HappyPath.technicalFailure(technicalFailure));
+        }
+    }
+
+    // The attempt itself can not throw an Exception, but the retry policy can, e.g. when its retryable predicate throws
+    private void attempt(int attempts) {
+        try {
+            retryIfNeeded(attempts, HappyPath.happyPathAttempt(action));
+        } catch (Exception technicalFailure) {
+            result.complete(HappyPath.technicalFailure(technicalFailure));
+        } catch (Error error) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    private void retryIfNeeded(int attempts, BusinessFlow<Happy, Sad> businessFlow) {
+        if (!businessFlow.isTechnicalFailure() || !retryPolicy.shouldRetry(attempts, businessFlow.getTechnicalFailure())) {
+            result.complete(businessFlow);
+            return;
+        }
+        try {
+            scheduler.schedule(() -> dispatch(attempts + 1), retryPolicy.delayNanos(attempts), NANOSECONDS);
+        } catch (RejectedExecutionException rejected) {
+            businessFlow.getTechnicalFailure().addSuppressed(rejected);
+            result.complete(businessFlow);
+        }
+    }
+}
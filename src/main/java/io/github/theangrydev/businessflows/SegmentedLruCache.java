@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded cache with a segmented LRU eviction policy and a time to live.
+ * <p>
+ * New entries go into a probation segment and are only promoted to the protected segment if they are read again, so a
+ * burst of keys that are each seen once evicts other one-off keys rather than the keys that are read over and over.
+ * When the protected segment is full, its least recently used entry is demoted back to probation.
+ *
+ * @param <Key>   The type of key
+ * @param <Value> The type of value
+ */
+class SegmentedLruCache<Key, Value> {
+
+    private final int maximumSize;
+    private final int protectedSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoTime;
+    private final Object lock = new Object();
+    private final Segment<Key, Value> probation = new Segment<>();
+    private final Segment<Key, Value> protectedSegment = new Segment<>();
+
+    SegmentedLruCache(int maximumSize, long timeToLiveNanos) {
+        this(maximumSize, timeToLiveNanos, System::nanoTime);
+    }
+
+    SegmentedLruCache(int maximumSize, long timeToLiveNanos, LongSupplier nanoTime) {
+        this.maximumSize = maximumSize;
+        this.protectedSize = maximumSize * 4 / 5;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @param key The key to look up
+     * @return The entry for the key, or null if there is no entry or it has expired
+     */
+    Entry<Value> get(Key key) {
+        synchronized (lock) {
+            Entry<Value> entry = protectedSegment.get(key);
+            if (entry == null) {
+                entry = probation.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (isExpired(entry)) {
+                    probation.remove(key);
+                    return null;
+                }
+                promote(key, entry);
+                return entry;
+            }
+            if (isExpired(entry)) {
+                protectedSegment.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    void put(Key key, Value value) {
+        Entry<Value> entry = new Entry<>(value, nanoTime.getAsLong());
+        synchronized (lock) {
+            if (protectedSegment.containsKey(key)) {
+                protectedSegment.put(key, entry);
+                return;
+            }
+            probation.put(key, entry);
+            // The protected segment is always smaller than the cache, so a full cache has at least two probation entries
+            if (probation.size() + protectedSegment.size() > maximumSize) {
+                probation.removeEldest();
+            }
+        }
+    }
+
+    int size() {
+        synchronized (lock) {
+            return probation.size() + protectedSegment.size();
+        }
+    }
+
+    private void promote(Key key, Entry<Value> entry) {
+        probation.remove(key);
+        protectedSegment.put(key, entry);
+        if (protectedSegment.size() > protectedSize) {
+            Map.Entry<Key, Entry<Value>> demoted = protectedSegment.removeEldest();
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+    }
+
+    private boolean isExpired(Entry<Value> entry) {
+        return nanoTime.getAsLong() - entry.storedAtNanos >= timeToLiveNanos;
+    }
+
+    /**
+     * A segment of the cache, which keeps its entries from the least to the most recently used.
+     */
+    private static final class Segment<Key, Value> extends LinkedHashMap<Key, Entry<Value>> {
+        private static final long serialVersionUID = 1L;
+
+        Segment() {
+            super(16, 0.75f, true);
+        }
+
+        Map.Entry<Key, Entry<Value>> removeEldest() {
+            Iterator<Map.Entry<Key, Entry<Value>>> eldest = entrySet().iterator();
+            Map.Entry<Key, Entry<Value>> removed = eldest.next();
+            eldest.remove();
+            return removed;
+        }
+    }
+
+    static final class Entry<Value> {
+        final Value value;
+        private final long storedAtNanos;
+
+        Entry(Value value, long storedAtNanos) {
+            this.value = value;
+            this.storedAtNanos = storedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * A {@link SingleFlight} coalesces the concurrent calls to a step that have the same key, so that e.g. many flows
+ * loading the same customer at the same time only call the downstream service once.
+ * <p>
+ * The first call for a key runs the step. Any other call for the same key that arrives while it is running waits for
+ * it and shares its result, or is a technical failure with the same {@link Exception}. Once the step has finished, the
+ * next call for the key runs it again, so nothing is cached. A call for a key that the same thread is already running
+ * the step for, e.g. from a recursive step, does not wait for itself but runs the step again.
+ * <p>
+ * The result can itself be a {@link BusinessFlow}, e.g. a {@code SingleFlight<CustomerId, HappyPath<Customer, Sad>>}
+ * with {@link HappyPath#then(Mapping)}, to share the whole outcome of a step including its sad path.
+ *
+ * @param <Key>    The type of key that identifies calls that can be coalesced
+ * @param <Result> The type of result that is shared
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public final class SingleFlight<Key, Result> {
+
+    private final ConcurrentMap<Key, Flight<Result>> inFlight = new ConcurrentHashMap<>();
+
+    private SingleFlight() {
+    }
+
+    /**
+     * Provides a {@link SingleFlight} with no calls in flight.
+     *
+     * @param <Key>    The type of key that identifies calls that can be coalesced
+     * @param <Result> The type of result that is shared
+     * @return A {@link SingleFlight} that can be shared by all the flows that call the step
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public static <Key, Result> SingleFlight<Key, Result> singleFlight() {
+        return new SingleFlight<>();
+    }
+
+    /**
+     * Provides an {@link Attempt} that is coalesced with the other calls for the same key, e.g. for
+     * {@link HappyPath#happyAttempt(Attempt)}.
+     *
+     * @param key     The key that identifies the calls that can share a result
+     * @param attempt The {@link Attempt} to run if there is no call in flight for the key
+     * @return An {@link Attempt} that shares the result of the call in flight for the key
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public Attempt<Result> coalescingAttempt(Key key, Attempt<Result> attempt) {
+        return () -> {
+            Flight<Result> flight = new Flight<>();
+            Flight<Result> existingFlight = inFlight.putIfAbsent(key, flight);
+            if (existingFlight == null) {
+                return lead(key, flight, attempt);
+            }
+            if (existingFlight.isLedByCurrentThread()) {
+                return attempt.attempt();
+            }
+            return Futures.join(existingFlight);
+        };
+    }
+
+    /**
+     * Provides a {@link Mapping} that is coalesced with the other calls for the same old object, e.g. for
+     * {@link HappyPath#then(Mapping)} or {@link HappyPath#map(Mapping)}.
+     *
+     * @param mapping The {@link Mapping} to run if there is no call in flight for the old object
+     * @return A {@link Mapping} that shares the result of the call in flight for the old object
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public Mapping<Key, Result> coalescingMapping(Mapping<Key, Result> mapping) {
+        return key -> coalescingAttempt(key, () -> mapping.map(key)).attempt();
+    }
+
+    private Result lead(Key key, Flight<Result> flight, Attempt<Result> attempt) throws Exception {
+        Result result;
+        try {
+            result = attempt.attempt();
+        } catch (Exception | Error failure) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(failure);
+            throw failure;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    /**
+     * A call in flight, which remembers the thread that is running the step so that it does not wait for itself.
+     */
+    private static final class Flight<Result> extends CompletableFuture<Result> {
+        private final long leader = Thread.currentThread().getId();
+
+        boolean isLedByCurrentThread() {
+            return leader == Thread.currentThread().getId();
+        }
+    }
+}
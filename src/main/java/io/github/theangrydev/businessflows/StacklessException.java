@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+
+/**
+ * A {@link StacklessException} is a {@link RuntimeException} that does not capture a stack trace when it is created.
+ * <p>
+ * Filling in the stack trace is by far the most expensive part of creating an exception, and it is wasted effort when
+ * the exception describes an expected condition that is handled by the flow rather than logged. Throwing a
+ * {@link StacklessException} (or a subclass of it) from a {@link Mapping}, {@link Attempt} or
+ * {@link ActionThatMightFail} results in a technical failure that is cheap to create and to render.
+ * <p>
+ * NOTE: The stack trace is captured when an exception is constructed, before the flow catches it, so the choice has to
+ * be made where the exception is created rather than by the flow that turns it into a technical failure.
+ * </p>
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public class StacklessException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Provides a {@link StacklessException} with the given message and no stack trace.
+     *
+     * @param message The detail message
+     * @return A {@link StacklessException} that can be thrown
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public static StacklessException stacklessException(String message) {
+        return new StacklessException(message, null);
+    }
+
+    /**
+     * Provides a {@link StacklessException} with the given message and cause and no stack trace.
+     *
+     * @param message The detail message
+     * @param cause   The cause, which keeps its own stack trace if it has one
+     * @return A {@link StacklessException} that can be thrown
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public static StacklessException stacklessException(String message, Throwable cause) {
+        return new StacklessException(message, cause);
+    }
+
+    /**
+     * Constructs a {@link StacklessException} with the given message and cause and no stack trace, for subclasses that
+     * describe a particular expected condition.
+     *
+     * @param message The detail message
+     * @param cause   The cause, which keeps its own stack trace if it has one
+     */
+    protected StacklessException(String message, Throwable cause) {
+        super(message, cause, true, false);
+    }
+}
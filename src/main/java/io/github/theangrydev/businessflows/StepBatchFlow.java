@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * A {@link StepBatchFlow} is a {@link BatchFlow} that applies each of its steps to the whole batch in turn.
+ * <p>
+ * The batch is held as an array of values with a parallel array of outcomes. A value is the current happy object until
+ * the outcome for that input becomes sad or a technical failure, after which it is the sad object or the exception.
+ */
+class StepBatchFlow<Input, Happy, Sad> implements BatchFlow<Input, Happy, Sad> {
+
+    static final byte HAPPY = 0;
+    static final byte SAD = 1;
+    static final byte TECHNICAL_FAILURE = 2;
+
+    private static final StepBatchFlow<?, ?, ?> NO_STEPS = new StepBatchFlow<>(emptyList());
+
+    private final List<BatchStep> steps;
+
+    private StepBatchFlow(List<BatchStep> steps) {
+        this.steps = steps;
+    }
+
+    @SuppressWarnings("unchecked") // There are no steps, so there is nothing that depends on the types
+    static <Input, Sad> BatchFlow<Input, Input, Sad> noSteps() {
+        return (BatchFlow<Input, Input, Sad>) NO_STEPS;
+    }
+
+    @Override
+    public <NewHappy> BatchFlow<Input, NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action) {
+        return withStep((values, outcomes) -> {
+            for (int index = 0; index < values.length; index++) {
+                if (outcomes[index] == HAPPY) {
+                    try {
+                        BusinessFlow<NewHappy, Sad> businessFlow = action.map(happyObject(values[index]));
+                        if (businessFlow.isHappy()) {
+                            values[index] = businessFlow.getHappy();
+                        } else if (businessFlow.isSad()) {
+                            values[index] = businessFlow.getSad();
+                            outcomes[index] = SAD;
+                        } else {
+                            values[index] = businessFlow.getTechnicalFailure();
+                            outcomes[index] = TECHNICAL_FAILURE;
+                        }
+                    } catch (Exception technicalFailure) {
+                        values[index] = technicalFailure;
+                        outcomes[index] = TECHNICAL_FAILURE;
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public <NewHappy> BatchFlow<Input, NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping) {
+        return withStep((values, outcomes) -> {
+            for (int index = 0; index < values.length; index++) {
+                if (outcomes[index] == HAPPY) {
+                    try {
+                        values[index] = mapping.map(happyObject(values[index]));
+                    } catch (Exception technicalFailure) {
+                        values[index] = technicalFailure;
+                        outcomes[index] = TECHNICAL_FAILURE;
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public BatchFlow<Input, Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
+        return withStep((values, outcomes) -> {
+            for (int index = 0; index < values.length; index++) {
+                if (outcomes[index] == HAPPY) {
+                    try {
+                        PotentialFailure<Sad> potentialFailure = actionThatMightFail.attempt(happyObject(values[index]));
+                        if (potentialFailure.isPresent()) {
+                            values[index] = potentialFailure.get();
+                            outcomes[index] = SAD;
+                        }
+                    } catch (Exception technicalFailure) {
+                        values[index] = technicalFailure;
+                        outcomes[index] = TECHNICAL_FAILURE;
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public BatchFlow<Input, Happy, Sad> recover(Mapping<Sad, Happy> recovery) {
+        return withStep((values, outcomes) -> {
+            for (int index = 0; index < values.length; index++) {
+                if (outcomes[index] == SAD) {
+                    try {
+                        values[index] = recovery.map(sadObject(values[index]));
+                        outcomes[index] = HAPPY;
+                    } catch (Exception technicalFailure) {
+                        values[index] = technicalFailure;
+                        outcomes[index] = TECHNICAL_FAILURE;
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public BatchResult<Happy, Sad> run(List<? extends Input> inputs) {
+        // The array must be an Object[] because the values change type as the steps are applied
+        return runSteps(inputs.toArray(new Object[inputs.size()]));
+    }
+
+    @Override
+    public BatchResult<Happy, Sad> run(Stream<? extends Input> inputs) {
+        return runSteps(inputs.toArray());
+    }
+
+    @Override
+    public Iterator<Happy> route(Iterator<? extends Input> inputs, Consumer<? super Sad> sadConsumer, Consumer<? super Exception> technicalFailureConsumer) {
+        return new RoutingIterator<>(steps, inputs, sadConsumer, technicalFailureConsumer);
+    }
+
+    @Override
+    public Stream<Happy> route(Stream<? extends Input> inputs, Consumer<? super Sad> sadConsumer, Consumer<? super Exception> technicalFailureConsumer) {
+        Spliterator<Happy> happies = Spliterators.spliteratorUnknownSize(route(inputs.iterator(), sadConsumer, technicalFailureConsumer), Spliterator.ORDERED);
+        return StreamSupport.stream(happies, false).onClose(inputs::close);
+    }
+
+    private BatchResult<Happy, Sad> runSteps(Object... values) {
+        byte[] outcomes = new byte[values.length];
+        for (BatchStep step : steps) {
+            step.apply(values, outcomes);
+        }
+        return new ArrayBatchResult<>(outcomes, values);
+    }
+
+    private <NewHappy> BatchFlow<Input, NewHappy, Sad> withStep(BatchStep step) {
+        List<BatchStep> withStep = new ArrayList<>(steps.size() + 1);
+        withStep.addAll(steps);
+        withStep.add(step);
+        return new StepBatchFlow<>(withStep);
+    }
+
+    @SuppressWarnings("unchecked") // The outcome is happy, so the value is the happy object produced by the previous step
+    private Happy happyObject(Object value) {
+        return (Happy) value;
+    }
+
+    @SuppressWarnings("unchecked") // The outcome is sad, so the value is the sad object produced by a previous step
+    private Sad sadObject(Object value) {
+        return (Sad) value;
+    }
+
+    @FunctionalInterface
+    interface BatchStep {
+        void apply(Object[] values, byte[] outcomes);
+    }
+}
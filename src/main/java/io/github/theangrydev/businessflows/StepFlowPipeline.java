@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Arrays;
+
+import static io.github.theangrydev.businessflows.PipelineStep.*;
+
+/**
+ * A {@link StepFlowPipeline} is a {@link FlowPipeline} that runs its steps in a loop, keeping track of whether the
+ * current object is happy or sad, and only creates a {@link HappyPath} at the end.
+ * <p>
+ * The steps can also be run from an existing {@link BusinessFlow} that may already be sad, see {@link #resume}.
+ */
+class StepFlowPipeline<Input, Happy, Sad> implements FlowPipeline<Input, Happy, Sad> {
+
+    private static final StepFlowPipeline<?, ?, ?> NO_STEPS = new StepFlowPipeline<>();
+
+    private final PipelineStep[] steps;
+
+    private StepFlowPipeline() {
+        this.steps = new PipelineStep[0];
+    }
+
+    private StepFlowPipeline(PipelineStep[] previousSteps, int stepsToKeep, PipelineStep lastStep) {
+        this.steps = Arrays.copyOf(previousSteps, stepsToKeep + 1);
+        this.steps[stepsToKeep] = lastStep;
+    }
+
+    @SuppressWarnings("unchecked") // There are no steps, so there is nothing that depends on the types
+    static <Input, Sad> FlowPipeline<Input, Input, Sad> noSteps() {
+        return (FlowPipeline<Input, Input, Sad>) NO_STEPS;
+    }
+
+    @Override
+    public <NewHappy> FlowPipeline<Input, NewHappy, Sad> then(Mapping<Happy, ? extends BusinessFlow<NewHappy, Sad>> action) {
+        return withStep(step(THEN, action));
+    }
+
+    @Override
+    public <NewHappy> FlowPipeline<Input, NewHappy, Sad> map(Mapping<Happy, NewHappy> mapping) {
+        return withStep(step(MAP, mapping));
+    }
+
+    @Override
+    public FlowPipeline<Input, Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
+        Mapping<Happy, PotentialFailure<Sad>> attempt = actionThatMightFail::attempt;
+        return withStep(step(ATTEMPT, attempt));
+    }
+
+    @Override
+    public FlowPipeline<Input, Happy, Sad> peek(Peek<Happy> peek) {
+        Mapping<Happy, Happy> peekStep = happy -> {
+            peek.peek(happy);
+            return happy;
+        };
+        return withStep(step(MAP, peekStep));
+    }
+
+    @Override
+    public FlowPipeline<Input, Happy, Sad> recover(Mapping<Sad, Happy> recovery) {
+        return withStep(step(RECOVER, recovery));
+    }
+
+    @Override
+    public HappyPath<Happy, Sad> run(Input input) {
+        return runSteps(true, input);
+    }
+
+    /**
+     * Run the steps from the given flow onwards, starting at the next step of the given frame.
+     * <p>
+     * If a then step produces a {@link MemoizedLazyFlow}, the steps stop there and the frame is suspended until that flow
+     * has been evaluated, instead of evaluating it on top of the current stack.
+     *
+     * @return The result of the steps, or null if the frame was suspended
+     */
+    HappyPath<Happy, Sad> resume(BusinessFlow<?, ?> start, LazyFrame frame) {
+        if (start.isTechnicalFailure()) {
+            return HappyPath.technicalFailure(start.getTechnicalFailure());
+        }
+        if (start.isHappy()) {
+            return runSteps(true, start.getHappy(), frame.nextStep, frame);
+        }
+        return runSteps(false, start.getSad(), frame.nextStep, frame);
+    }
+
+    private HappyPath<Happy, Sad> runSteps(boolean initiallyHappy, Object initialValue) {
+        return runSteps(initiallyHappy, initialValue, 0, null);
+    }
+
+    private HappyPath<Happy, Sad> runSteps(boolean initiallyHappy, Object initialValue, int firstStep, LazyFrame frame) {
+        Object value = initialValue;
+        boolean happy = initiallyHappy;
+        try {
+            for (int index = firstStep; index < steps.length; index++) {
+                PipelineStep step = steps[index];
+                if (happy != step.appliesToHappy()) {
+                    continue;
+                }
+                Object result = step.function.map(value);
+                if (step.kind == THEN) {
+                    if (suspends(frame, result)) {
+                        frame.suspend(index + 1, (MemoizedLazyFlow<?, ?>) result);
+                        return null;
+                    }
+                    BusinessFlow<?, ?> businessFlow = (BusinessFlow<?, ?>) result;
+                    if (businessFlow.isTechnicalFailure()) {
+                        return HappyPath.technicalFailure(businessFlow.getTechnicalFailure());
+                    }
+                    happy = businessFlow.isHappy();
+                    value = happyOrSad(businessFlow);
+                } else if (step.kind == ATTEMPT) {
+                    PotentialFailure<?> potentialFailure = (PotentialFailure<?>) result;
+                    if (potentialFailure.isPresent()) {
+                        happy = false;
+                        value = potentialFailure.get();
+                    }
+                } else {
+                    happy = true;
+                    value = result;
+                }
+            }
+        } catch (Exception technicalFailure) {
+            return HappyPath.technicalFailure(technicalFailure);
+        }
+        return result(happy, value);
+    }
+
+    private static boolean suspends(LazyFrame frame, Object thenResult) {
+        return frame != null && thenResult instanceof MemoizedLazyFlow;
+    }
+
+    private static Object happyOrSad(BusinessFlow<?, ?> businessFlow) {
+        return businessFlow.isHappy() ? businessFlow.getHappy() : businessFlow.getSad();
+    }
+
+    @SuppressWarnings("unchecked") // The steps produce a happy or sad object as indicated
+    private HappyPath<Happy, Sad> result(boolean happy, Object value) {
+        if (happy) {
+            return HappyPath.happyPath((Happy) value);
+        }
+        return HappyPath.sadPath((Sad) value);
+    }
+
+    int numberOfSteps() {
+        return steps.length;
+    }
+
+    private <NewHappy> FlowPipeline<Input, NewHappy, Sad> withStep(PipelineStep step) {
+        int numberOfSteps = steps.length;
+        if (numberOfSteps > 0 && steps[numberOfSteps - 1].isFusableWith(step)) {
+            return new StepFlowPipeline<>(steps, numberOfSteps - 1, steps[numberOfSteps - 1].fuseWith(step));
+        }
+        return new StepFlowPipeline<>(steps, numberOfSteps, step);
+    }
+}
@@ -17,6 +17,7 @@
  */
 package io.github.theangrydev.businessflows;
 
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
 import static io.github.theangrydev.businessflows.ApiFeatureStability.STABLE;
 import static io.github.theangrydev.businessflows.ApiVersionHistory.*;
 
@@ -39,6 +40,20 @@ public interface TechnicalFailure<Happy, Sad> extends BusinessFlow<Happy, Sad>,
         return new TechnicalFailureCaseTechnicalFailure<>(technicalFailure);
     }
 
+    /**
+     * Provides a {@link TechnicalFailure} view over a {@link StacklessException} with the given message, which is much
+     * cheaper to create than an {@link Exception} that captures a stack trace.
+     *
+     * @param message The message of the {@link StacklessException} to initiate the flow with
+     * @param <Happy> The type of happy object the resulting {@link TechnicalFailure} may represent
+     * @param <Sad>   The type of sad object the resulting {@link TechnicalFailure} may represent
+     * @return A {@link TechnicalFailure} that is a technical failure on the inside
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> TechnicalFailure<Happy, Sad> stacklessTechnicalFailure(String message) {
+        return technicalFailure(StacklessException.stacklessException(message));
+    }
+
     /**
      * Provides a {@link TechnicalFailure} view over a known {@link Sad} object.
      *
@@ -17,8 +17,6 @@
  */
 package io.github.theangrydev.businessflows;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -29,10 +27,90 @@ class TechnicalFailureCase<Happy, Sad> implements BusinessCase<Happy, Sad> {
 
     final Exception technicalFailure;
 
+    // Only created once a second view of this case is needed
+    private BusinessCaseViews<Happy, Sad> views;
+
+    // Rendering the stack trace is expensive, so it is done at most once (give or take a race) and only when asked for
+    private String description;
+
     TechnicalFailureCase(Exception technicalFailure) {
         this.technicalFailure = technicalFailure;
     }
 
+    TechnicalFailureCase(TechnicalFailureCase<Happy, Sad> view) {
+        this.technicalFailure = view.technicalFailure;
+        this.views = view.sharedViews();
+        this.description = view.description;
+    }
+
+    private BusinessCaseViews<Happy, Sad> sharedViews() {
+        BusinessCaseViews<Happy, Sad> sharedViews = views;
+        if (sharedViews == null) {
+            sharedViews = new BusinessCaseViews<>();
+            addTo(sharedViews);
+            views = sharedViews;
+        }
+        return sharedViews;
+    }
+
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        // Each view adds itself to the views it shares
+    }
+
+    HappyPath<Happy, Sad> happyPathView() {
+        BusinessCaseViews<Happy, Sad> sharedViews = sharedViews();
+        HappyPath<Happy, Sad> view = sharedViews.happyPath;
+        if (view == null) {
+            view = new TechnicalFailureCaseHappyPath<>(this);
+            sharedViews.happyPath = view;
+        }
+        return view;
+    }
+
+    SadPath<Happy, Sad> sadPathView() {
+        BusinessCaseViews<Happy, Sad> sharedViews = sharedViews();
+        SadPath<Happy, Sad> view = sharedViews.sadPath;
+        if (view == null) {
+            view = new TechnicalFailureCaseSadPath<>(this);
+            sharedViews.sadPath = view;
+        }
+        return view;
+    }
+
+    TechnicalFailure<Happy, Sad> technicalFailureView() {
+        BusinessCaseViews<Happy, Sad> sharedViews = sharedViews();
+        TechnicalFailure<Happy, Sad> view = sharedViews.technicalFailure;
+        if (view == null) {
+            view = new TechnicalFailureCaseTechnicalFailure<>(this);
+            sharedViews.technicalFailure = view;
+        }
+        return view;
+    }
+
+    public boolean isHappy() {
+        return false;
+    }
+
+    public boolean isSad() {
+        return false;
+    }
+
+    public boolean isTechnicalFailure() {
+        return true;
+    }
+
+    public Happy getHappy() {
+        throw LazyIllegalStateException.notPresent(this);
+    }
+
+    public Sad getSad() {
+        throw LazyIllegalStateException.notPresent(this);
+    }
+
+    public Exception getTechnicalFailure() {
+        return technicalFailure;
+    }
+
     @Override
     public PotentialFailure<Sad> toPotentialFailure(Function<Exception, Sad> technicalFailureMapping) {
         return PotentialFailure.failure(technicalFailureMapping.apply(technicalFailure));
@@ -60,9 +138,15 @@ class TechnicalFailureCase<Happy, Sad> implements BusinessCase<Happy, Sad> {
 
     @Override
     public String toString() {
-        StringWriter stringWriter = new StringWriter();
-        technicalFailure.printStackTrace(new PrintWriter(stringWriter));
-        String stackTrace = stringWriter.toString();
-        return "Technical Failure: " + stackTrace;
+        String description = this.description;
+        if (description == null) {
+            description = describe(technicalFailure);
+            this.description = description;
+        }
+        return description;
+    }
+
+    static String describe(Exception technicalFailure) {
+        return "Technical Failure: " + TechnicalFailureRendering.render(technicalFailure);
     }
 }
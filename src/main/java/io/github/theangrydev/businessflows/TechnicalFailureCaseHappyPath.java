@@ -18,17 +18,25 @@
 package io.github.theangrydev.businessflows;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * A {@link TechnicalFailureCaseHappyPath} is a {@link HappyPath} that is actually a {@link TechnicalFailureCase}.
  */
-class TechnicalFailureCaseHappyPath<Happy, Sad> extends TechnicalFailureCase<Happy, Sad> implements HappyPath<Happy, Sad> {
+class TechnicalFailureCaseHappyPath<Happy, Sad> extends TechnicalFailureCase<Happy, Sad> implements HappyPath<Happy, Sad>, WithEmptyOptional<Happy> {
 
     TechnicalFailureCaseHappyPath(Exception technicalFailure) {
         super(technicalFailure);
     }
 
+    TechnicalFailureCaseHappyPath(TechnicalFailureCase<Happy, Sad> view) {
+        super(view);
+    }
+
+    @Override
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        views.happyPath = this;
+    }
+
     @Override
     public HappyPath<Happy, Sad> attempt(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
         return this;
@@ -56,18 +64,13 @@ class TechnicalFailureCaseHappyPath<Happy, Sad> extends TechnicalFailureCase<Hap
         return this;
     }
 
-    @Override
-    public Optional<Happy> toOptional() {
-        return Optional.empty();
-    }
-
     @Override
     public TechnicalFailure<Happy, Sad> ifTechnicalFailure() {
-        return TechnicalFailure.technicalFailure(technicalFailure);
+        return technicalFailureView();
     }
 
     @Override
     public SadPath<Happy, Sad> ifSad() {
-        return SadPath.technicalFailure(technicalFailure);
+        return sadPathView();
     }
 }
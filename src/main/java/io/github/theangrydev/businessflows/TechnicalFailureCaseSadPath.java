@@ -17,30 +17,32 @@
  */
 package io.github.theangrydev.businessflows;
 
-import java.util.Optional;
-
 /**
  * A {@link TechnicalFailureCaseSadPath} is a {@link SadPath} that is actually a {@link TechnicalFailureCase}.
  */
-class TechnicalFailureCaseSadPath<Happy, Sad> extends TechnicalFailureCase<Happy, Sad> implements SadPath<Happy, Sad> {
+class TechnicalFailureCaseSadPath<Happy, Sad> extends TechnicalFailureCase<Happy, Sad> implements SadPath<Happy, Sad>, WithEmptyOptional<Sad> {
 
     TechnicalFailureCaseSadPath(Exception technicalFailure) {
         super(technicalFailure);
     }
 
+    TechnicalFailureCaseSadPath(TechnicalFailureCase<Happy, Sad> view) {
+        super(view);
+    }
+
     @Override
-    public Optional<Sad> toOptional() {
-        return Optional.empty();
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        views.sadPath = this;
     }
 
     @Override
     public TechnicalFailure<Happy, Sad> ifTechnicalFailure() {
-        return TechnicalFailure.technicalFailure(technicalFailure);
+        return technicalFailureView();
     }
 
     @Override
     public HappyPath<Happy, Sad> ifHappy() {
-        return HappyPath.technicalFailure(technicalFailure);
+        return happyPathView();
     }
 
     @SuppressWarnings("unchecked") // Only the Sad changes and it is not present so all that changes is the types
@@ -57,12 +59,12 @@ class TechnicalFailureCaseSadPath<Happy, Sad> extends TechnicalFailureCase<Happy
 
     @Override
     public HappyPath<Happy, Sad> recover(Mapping<Sad, Happy> recovery) {
-        return HappyPath.technicalFailure(technicalFailure);
+        return happyPathView();
     }
 
     @Override
     public HappyPath<Happy, Sad> recover(Attempt<Happy> recovery) {
-        return HappyPath.technicalFailure(technicalFailure);
+        return happyPathView();
     }
 
     @Override
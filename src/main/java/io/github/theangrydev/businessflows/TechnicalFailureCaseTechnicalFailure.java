@@ -18,6 +18,8 @@
 package io.github.theangrydev.businessflows;
 
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * A {@link TechnicalFailureCaseTechnicalFailure} is a {@link TechnicalFailure} that is actually a {@link TechnicalFailureCase}.
@@ -28,14 +30,53 @@ class TechnicalFailureCaseTechnicalFailure<Happy, Sad> extends TechnicalFailureC
         super(technicalFailure);
     }
 
+    TechnicalFailureCaseTechnicalFailure(TechnicalFailureCase<Happy, Sad> view) {
+        super(view);
+    }
+
+    @Override
+    void addTo(BusinessCaseViews<Happy, Sad> views) {
+        views.technicalFailure = this;
+    }
+
     @Override
     public Optional<Exception> toOptional() {
         return Optional.of(technicalFailure);
     }
 
+    @Override
+    public Exception get() {
+        return technicalFailure;
+    }
+
+    @Override
+    public Exception orElse(Exception alternative) {
+        return technicalFailure;
+    }
+
+    @Override
+    public Exception orElseGet(Supplier<Exception> alternativeSupplier) {
+        return technicalFailure;
+    }
+
+    @Override
+    public void ifPresent(Consumer<Exception> consumer) {
+        consumer.accept(technicalFailure);
+    }
+
+    @Override
+    public <X extends Exception> Exception orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+        return technicalFailure;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
     @Override
     public SadPath<Happy, Sad> ifSad() {
-        return SadPath.technicalFailure(technicalFailure);
+        return sadPathView();
     }
 
     @Override
@@ -114,6 +155,6 @@ class TechnicalFailureCaseTechnicalFailure<Happy, Sad> extends TechnicalFailureC
 
     @Override
     public HappyPath<Happy, Sad> ifHappy() {
-        return HappyPath.technicalFailure(technicalFailure);
+        return happyPathView();
     }
 }
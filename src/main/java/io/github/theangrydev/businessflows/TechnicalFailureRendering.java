@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static java.util.Collections.newSetFromMap;
+
+/**
+ * Renders the technical failure that is shown by {@link TechnicalFailureCase#toString()}.
+ * <p>
+ * By default the whole stack trace is rendered. Printing stack traces is expensive, so the number of frames rendered
+ * for each exception in the cause chain and each suppressed exception can be bounded by setting the system property
+ * {@value #STACK_TRACE_DEPTH_PROPERTY}. A depth of zero renders just the summary line of each exception.
+ */
+final class TechnicalFailureRendering {
+
+    static final String STACK_TRACE_DEPTH_PROPERTY = "io.github.theangrydev.businessflows.technicalFailureStackTraceDepth";
+    static final int UNBOUNDED_STACK_TRACE_DEPTH = -1;
+
+    private static final int STACK_TRACE_DEPTH = Integer.getInteger(STACK_TRACE_DEPTH_PROPERTY, UNBOUNDED_STACK_TRACE_DEPTH);
+    private static final String CAUSED_BY = "Caused by: ";
+    private static final String SUPPRESSED = "Suppressed: ";
+
+    private TechnicalFailureRendering() {
+        // Only static methods
+    }
+
+    static String render(Exception technicalFailure) {
+        return render(technicalFailure, STACK_TRACE_DEPTH);
+    }
+
+    static String render(Throwable technicalFailure, int stackTraceDepth) {
+        if (stackTraceDepth < 0) {
+            StringWriter stringWriter = new StringWriter();
+            technicalFailure.printStackTrace(new PrintWriter(stringWriter));
+            return stringWriter.toString();
+        }
+        StringBuilder rendering = new StringBuilder();
+        appendBoundedStackTrace(rendering, technicalFailure, stackTraceDepth, "", "", newSetFromMap(new IdentityHashMap<>()));
+        return rendering.toString();
+    }
+
+    // Renders the suppressed exceptions and causes in the same layout as Throwable.printStackTrace
+    private static void appendBoundedStackTrace(StringBuilder rendering, Throwable throwable, int stackTraceDepth, String caption, String prefix, Set<Throwable> rendered) {
+        if (!rendered.add(throwable)) {
+            return;
+        }
+        String lineSeparator = System.lineSeparator();
+        rendering.append(prefix).append(caption).append(throwable).append(lineSeparator);
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        int frames = Math.min(stackTraceDepth, stackTrace.length);
+        for (int frame = 0; frame < frames; frame++) {
+            rendering.append(prefix).append("\tat ").append(stackTrace[frame]).append(lineSeparator);
+        }
+        if (frames < stackTrace.length) {
+            rendering.append(prefix).append("\t... ").append(stackTrace.length - frames).append(" more").append(lineSeparator);
+        }
+        for (Throwable suppressed : throwable.getSuppressed()) {
+            appendBoundedStackTrace(rendering, suppressed, stackTraceDepth, SUPPRESSED, prefix + "\t", rendered);
+        }
+        Throwable cause = throwable.getCause();
+        if (cause != null) {
+            appendBoundedStackTrace(rendering, cause, stackTraceDepth, CAUSED_BY, prefix, rendered);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
+import static io.github.theangrydev.businessflows.ApiVersionHistory.VERSION_10_4_0;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link Timeout} bounds how long the calling thread will wait for a step of a flow, such as an {@link Attempt},
+ * {@link Mapping} or {@link ActionThatMightFail}, to finish.
+ * <p>
+ * The step is run on an {@link ExecutorService} while the calling thread waits for it. If the step has not finished in
+ * time, the calling thread stops waiting and the step results in a {@link TimeoutException}, which is a technical
+ * failure. By default the thread running the step is interrupted, but the step can be left to finish in the background
+ * instead, see {@link #abandoning()}.
+ * <p>
+ * An overrun can be turned into a sad path straight away with {@link HappyPath#happyAttempt(Attempt, Timeout, Mapping)}.
+ * Part way through a flow, the {@link TimeoutException} can be mapped with
+ * {@link TechnicalFailure#mapToSadPath(Mapping)} like any other technical failure.
+ * <p>
+ * A {@link Timeout} is immutable, so it can be defined once and shared.
+ */
+@ApiFeature(since = VERSION_10_4_0, stability = BETA)
+public final class Timeout {
+
+    private final Duration limit;
+    private final long limitNanos;
+    private final ExecutorService executor;
+    private final boolean interrupt;
+
+    private Timeout(Duration limit, long limitNanos, ExecutorService executor, boolean interrupt) {
+        this.limit = limit;
+        this.limitNanos = limitNanos;
+        this.executor = executor;
+        this.interrupt = interrupt;
+    }
+
+    /**
+     * Provides a {@link Timeout} that runs the steps on the given {@link ExecutorService} and interrupts them if they
+     * take longer than the given timeout. A timeout that is too long to fit in a {@code long} number of nanoseconds
+     * (about 292 years) waits for as long as that does.
+     *
+     * @param timeout  The longest time to wait for a step to finish
+     * @param executor The {@link ExecutorService} to run the steps on
+     * @return A {@link Timeout} that interrupts the steps that overrun
+     * @throws IllegalArgumentException If the timeout is negative
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public static Timeout after(Duration timeout, ExecutorService executor) {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException(format("The timeout must not be negative but was: %s", timeout));
+        }
+        long timeoutNanos;
+        try {
+            timeoutNanos = timeout.toNanos();
+        } catch (ArithmeticException tooLong) {
+            timeoutNanos = Long.MAX_VALUE;
+        }
+        return new Timeout(timeout, timeoutNanos, executor, true);
+    }
+
+    /**
+     * Leave the steps that overrun to finish in the background rather than interrupting them. This is useful when a
+     * step does not respond to being interrupted, or should not be, e.g. because it would leave a resource in a bad
+     * state.
+     *
+     * @return A {@link Timeout} that abandons the steps that overrun
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public Timeout abandoning() {
+        return new Timeout(limit, limitNanos, executor, false);
+    }
+
+    /**
+     * Provides an {@link Attempt} that throws a {@link TimeoutException} if the given {@link Attempt} does not finish
+     * within this timeout.
+     *
+     * @param attempt  The {@link Attempt} to bound
+     * @param <Result> The type of object the {@link Attempt} produces
+     * @return An {@link Attempt} with the same result as the given {@link Attempt}, if it finishes in time
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Result> Attempt<Result> boundingAttempt(Attempt<Result> attempt) {
+        return () -> await(executor.submit(attempt::attempt));
+    }
+
+    /**
+     * Provides a {@link Mapping} that throws a {@link TimeoutException} if the given {@link Mapping} does not finish
+     * within this timeout.
+     *
+     * @param mapping The {@link Mapping} to bound
+     * @param <Old>   The old type (before mapping)
+     * @param <New>   The new type (after mapping)
+     * @return A {@link Mapping} with the same result as the given {@link Mapping}, if it finishes in time
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Old, New> Mapping<Old, New> boundingMapping(Mapping<Old, New> mapping) {
+        return old -> await(executor.submit(() -> mapping.map(old)));
+    }
+
+    /**
+     * Provides an {@link ActionThatMightFail} that throws a {@link TimeoutException} if the given action does not
+     * finish within this timeout.
+     *
+     * @param actionThatMightFail The action to bound
+     * @param <Happy>             The type of happy object the action acts on
+     * @param <Sad>               The type of sad object the action may produce
+     * @return An {@link ActionThatMightFail} with the same result as the given action, if it finishes in time
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    public <Happy, Sad> ActionThatMightFail<Happy, Sad> boundingAction(ActionThatMightFail<Happy, Sad> actionThatMightFail) {
+        return happy -> await(executor.submit(() -> actionThatMightFail.attempt(happy)));
+    }
+
+    private <Result> Result await(Future<Result> step) throws Exception {
+        try {
+            return step.get(limitNanos, NANOSECONDS);
+        } catch (ExecutionException failure) {
+            throw Futures.unwrap(failure);
+        } catch (TimeoutException overrun) {
+            step.cancel(interrupt);
+            TimeoutException timeoutException = new TimeoutException(format("The step did not finish within %s", limit));
+            timeoutException.initCause(overrun);
+            throw timeoutException;
+        } catch (InterruptedException interrupted) {
+            step.cancel(interrupt);
+            Thread.currentThread().interrupt();
+            throw interrupted;
+        }
+    }
+}
@@ -20,7 +20,10 @@ package io.github.theangrydev.businessflows;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collector;
 
+import static io.github.theangrydev.businessflows.ApiFeatureStability.BETA;
 import static io.github.theangrydev.businessflows.ApiFeatureStability.STABLE;
 import static io.github.theangrydev.businessflows.ApiVersionHistory.*;
 import static io.github.theangrydev.businessflows.Mapping.identity;
@@ -90,6 +93,38 @@ public interface ValidationPath<Happy, Sad, SadAggregate> extends HappyPath<Happ
         return new TechnicalFailureCaseValidationPath<>(technicalFailure);
     }
 
+    /**
+     * Collect a stream of {@link BusinessFlow} into a single {@link ValidationPath}, in the same way that
+     * {@link #validateAllInto(Object, Mapping, List)} accumulates the failures of several validators.
+     * If any of the flows is a technical failure then the first one in encounter order is the result.
+     * Otherwise if any of the flows are sad then they will be accumulated into the {@link SadAggregate} result.
+     * Otherwise the result is happy with the list of {@link Happy} objects, in encounter order.
+     *
+     * @param sadAggregateMapping The list of {@link Sad} validation errors will be mapped to the {@link SadAggregate}
+     * @param <Happy>             The type of happy object the flows may contain
+     * @param <Sad>               The type of sad object the flows may contain
+     * @param <SadAggregate>      The type that the list of {@link Sad} validation errors will be aggregated into
+     * @return A {@link Collector} that aggregates the flows
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad, SadAggregate> Collector<BusinessFlow<Happy, Sad>, ?, ValidationPath<List<Happy>, Sad, SadAggregate>> toValidationPathInto(Mapping<List<Sad>, SadAggregate> sadAggregateMapping) {
+        return BusinessFlowPartition.toValidationPath(sadAggregateMapping);
+    }
+
+    /**
+     * Collect a stream of {@link BusinessFlow} into a single {@link ValidationPath}, aggregating any sad objects into a
+     * list of {@link Sad}.
+     *
+     * @param <Happy> The type of happy object the flows may contain
+     * @param <Sad>   The type of sad object the flows may contain
+     * @return A {@link Collector} that aggregates the flows
+     * @see #toValidationPathInto(Mapping)
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    static <Happy, Sad> Collector<BusinessFlow<Happy, Sad>, ?, ValidationPath<List<Happy>, Sad, List<Sad>>> toValidationPath() {
+        return toValidationPathInto(identity());
+    }
+
     /**
      * Validate the given {@link Happy} object by running the given list of validators over it.
      * All validators that fail will be accumulated into the {@link SadAggregate} result.
@@ -188,6 +223,99 @@ public interface ValidationPath<Happy, Sad, SadAggregate> extends HappyPath<Happ
     @ApiFeature(since = VERSION_7_0_0, stability = STABLE)
     ValidationPath<Happy, Sad, SadAggregate> validateAllInto(Mapping<List<Sad>, SadAggregate> sadAggregateMapping, List<? extends Validator<Happy, Sad>> validators);
 
+    /**
+     * Perform a subsequent round of validation, which will take place if the previous one succeeded.
+     * The validators are run in order until the first one fails, so the validators after that are skipped.
+     * This can be useful when you only need to know that the validation failed, e.g. when there are expensive
+     * validators and invalid input is common.
+     *
+     * @param validators Actions that act on the happy object and may indicate a validation failure by returning {@link Sad}
+     * @return The result of applying the validators up to the first failure
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default ValidationPath<Happy, Sad, SadAggregate> validateUntilFirstFailure(List<? extends Validator<Happy, Sad>> validators) {
+        return validateUpTo(1, validators);
+    }
+
+    /**
+     * Perform a subsequent round of validation, which will take place if the previous one succeeded.
+     * The validators are run in order until the given number of them have failed, so the validators after that are skipped.
+     * This can be useful when e.g. only the first few failures will be displayed.
+     * <p>
+     * NOTE: The default implementation is {@link #validateAll(List)}, with the validators that come after the maximum
+     * number of failures skipped. It is there so that existing implementations of {@link ValidationPath} keep working.
+     * </p>
+     *
+     * @param maximumFailures The number of failures after which the remaining validators are skipped, which must be positive
+     * @param validators      Actions that act on the happy object and may indicate a validation failure by returning {@link Sad}
+     * @return The result of applying the validators up to the maximum number of failures
+     * @throws IllegalArgumentException If the maximum number of failures is not positive
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default ValidationPath<Happy, Sad, SadAggregate> validateUpTo(int maximumFailures, List<? extends Validator<Happy, Sad>> validators) {
+        return validateAll(FailureLimitedValidators.upTo(maximumFailures, validators));
+    }
+
+    /**
+     * Perform a subsequent round of validation, which will take place if the previous one succeeded.
+     * The validators are run in order until the given number of them have failed, see {@link #validateUpTo(int, List)}.
+     * <p>
+     * This method changes the {@link SadAggregate} mapping, see {@link #validateAllInto(Mapping, List)}.
+     *
+     * @param maximumFailures     The number of failures after which the remaining validators are skipped, which must be positive
+     * @param sadAggregateMapping The list of {@link Sad} validation errors will be mapped to the {@link SadAggregate}
+     * @param validators          Actions that act on the happy object and may indicate a validation failure by returning {@link Sad}
+     * @return The result of applying the validators up to the maximum number of failures
+     * @throws IllegalArgumentException If the maximum number of failures is not positive
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default ValidationPath<Happy, Sad, SadAggregate> validateUpToInto(int maximumFailures, Mapping<List<Sad>, SadAggregate> sadAggregateMapping, List<? extends Validator<Happy, Sad>> validators) {
+        return validateAllInto(sadAggregateMapping, FailureLimitedValidators.upTo(maximumFailures, validators));
+    }
+
+    /**
+     * Perform a subsequent round of validation, which will take place if the previous one succeeded.
+     * The validators are run concurrently on the given {@link Executor}, which is useful when they are independent and
+     * e.g. perform I/O. The {@link Sad} results are accumulated in the same order as the validators, regardless of the
+     * order in which they complete. The technical failure of the first validator (in list order) that fails with one
+     * will result in a technical failure overall, and validators that have not started yet will not be run.
+     * <p>
+     * NOTE: The calling thread runs the first validator itself and then waits for the rest.
+     * </p>
+     * <p>
+     * NOTE: The default implementation is {@link #validateAll(List)}, which runs the validators one after another on the
+     * calling thread. It is there so that existing implementations of {@link ValidationPath} keep working.
+     * </p>
+     *
+     * @param executor   The {@link Executor} to run the validators on
+     * @param validators Actions that act on the happy object and may indicate a validation failure by returning {@link Sad}
+     * @return The result of applying all the validators
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default ValidationPath<Happy, Sad, SadAggregate> validateAllInParallel(Executor executor, List<? extends Validator<Happy, Sad>> validators) {
+        return validateAll(validators);
+    }
+
+    /**
+     * Perform a subsequent round of validation, which will take place if the previous one succeeded.
+     * The validators are run concurrently on the given {@link Executor}, see {@link #validateAllInParallel(Executor, List)}.
+     * <p>
+     * This method changes the {@link SadAggregate} mapping, see {@link #validateAllInto(Mapping, List)}.
+     * <p>
+     * NOTE: The default implementation is {@link #validateAllInto(Mapping, List)}, which runs the validators one after
+     * another on the calling thread.
+     * </p>
+     *
+     * @param executor            The {@link Executor} to run the validators on
+     * @param sadAggregateMapping The list of {@link Sad} validation errors will be mapped to the {@link SadAggregate}
+     * @param validators          Actions that act on the happy object and may indicate a validation failure by returning {@link Sad}
+     * @return The result of applying all the validators
+     */
+    @ApiFeature(since = VERSION_10_4_0, stability = BETA)
+    default ValidationPath<Happy, Sad, SadAggregate> validateAllInParallelInto(Executor executor, Mapping<List<Sad>, SadAggregate> sadAggregateMapping, List<? extends Validator<Happy, Sad>> validators) {
+        return validateAllInto(sadAggregateMapping, validators);
+    }
+
     /**
      * Helper method to turn an array of {@link Validator} into a list of {@link Validator}.
      *
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@link WithEmptyOptional} is a {@link WithOptional} that is known to be empty, so it can answer the convenience
+ * methods directly rather than via an {@link Optional}.
+ *
+ * @param <Content> The type of content that is not held
+ */
+interface WithEmptyOptional<Content> extends WithOptional<Content> {
+
+    @Override
+    default Optional<Content> toOptional() {
+        return Optional.empty();
+    }
+
+    @Override
+    default Content get() {
+        throw LazyIllegalStateException.notPresent(this);
+    }
+
+    @Override
+    default Content orElse(Content alternative) {
+        return alternative;
+    }
+
+    @Override
+    default Content orElseGet(Supplier<Content> alternativeSupplier) {
+        return alternativeSupplier.get();
+    }
+
+    @Override
+    default void ifPresent(Consumer<Content> consumer) {
+        // Nothing to consume
+    }
+
+    @Override
+    default <X extends Exception> Content orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+        throw exceptionSupplier.get();
+    }
+
+    @Override
+    default boolean isPresent() {
+        return false;
+    }
+}
@@ -23,7 +23,6 @@ import java.util.function.Supplier;
 
 import static io.github.theangrydev.businessflows.ApiFeatureStability.STABLE;
 import static io.github.theangrydev.businessflows.ApiVersionHistory.*;
-import static java.lang.String.format;
 
 /**
  * This class provides convenience methods for accessing an {@link Optional} that would otherwise be obtained by calling
@@ -47,7 +46,7 @@ public interface WithOptional<Content> {
      */
     @ApiFeature(since = VERSION_7_6_0, stability = STABLE)
     default Content get() {
-        return orElseThrow(() -> new IllegalStateException(format("Not present. This is: '%s'.", this)));
+        return orElseThrow(() -> LazyIllegalStateException.notPresent(this));
     }
 
     /**
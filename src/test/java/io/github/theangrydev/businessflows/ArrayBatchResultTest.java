@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import static io.github.theangrydev.businessflows.StepBatchFlow.HAPPY;
+import static io.github.theangrydev.businessflows.StepBatchFlow.SAD;
+import static io.github.theangrydev.businessflows.StepBatchFlow.TECHNICAL_FAILURE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ArrayBatchResultTest {
+
+    private final Exception technicalFailure = new Exception();
+    private final BatchResult<String, Integer> result = new ArrayBatchResult<>(
+            new byte[]{SAD, HAPPY, TECHNICAL_FAILURE, HAPPY, SAD},
+            1, "a", technicalFailure, "b", 2);
+
+    @Test
+    public void partitionsTheValuesInInputOrder() {
+        assertThat(result.size()).isEqualTo(5);
+        assertThat(result.happies()).containsExactly("a", "b");
+        assertThat(result.sads()).containsExactly(1, 2);
+        assertThat(result.technicalFailures()).containsExactly(technicalFailure);
+    }
+
+    @Test
+    public void recordsThePositionOfTheInputThatProducedEachResult() {
+        assertThat(result.happyInputIndex(0)).isEqualTo(1);
+        assertThat(result.happyInputIndex(1)).isEqualTo(3);
+        assertThat(result.sadInputIndex(0)).isEqualTo(0);
+        assertThat(result.sadInputIndex(1)).isEqualTo(4);
+        assertThat(result.technicalFailureInputIndex(0)).isEqualTo(2);
+    }
+
+    @Test
+    public void partitionsCannotBeModified() {
+        assertThatThrownBy(() -> result.happies().set(0, "c")).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
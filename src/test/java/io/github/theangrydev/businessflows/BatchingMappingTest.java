@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.synchronizedList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BatchingMappingTest {
+
+    private final ScheduledThreadPoolExecutor scheduledExecutorService = new ScheduledThreadPoolExecutor(1);
+    private final List<List<String>> batches = synchronizedList(new ArrayList<>());
+
+    @After
+    public void shutdownScheduler() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void callsAreMappedTogetherWhenTheBatchIsFull() throws Exception {
+        BatchingMapping<String, Integer> lengths = BatchingMapping.batchingMapping(this::lengths, 2, Duration.ofHours(1), scheduledExecutorService);
+        AtomicReference<HappyPath<Integer, String>> first = new AtomicReference<>();
+
+        Thread firstFlow = new Thread(() -> first.set(HappyPath.<String, String>happyPath("one").map(lengths)));
+        firstFlow.start();
+        awaitWaiting(firstFlow);
+        HappyPath<Integer, String> second = HappyPath.<String, String>happyPath("three").map(lengths);
+        firstFlow.join();
+
+        assertThat(first.get().get()).isEqualTo(3);
+        assertThat(second.get()).isEqualTo(5);
+        assertThat(batches).isEqualTo(singletonList(asList("one", "three")));
+    }
+
+    @Test(timeout = 10_000)
+    public void callsAreMappedWhenTheWindowHasPassed() {
+        BatchingMapping<String, Integer> lengths = BatchingMapping.batchingMapping(this::lengths, 100, Duration.ofMillis(1), scheduledExecutorService);
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("one").map(lengths);
+
+        assertThat(happyPath.get()).isEqualTo(3);
+        assertThat(batches).isEqualTo(singletonList(singletonList("one")));
+    }
+
+    @Test(timeout = 10_000)
+    public void onlyTheFirstCallOfABatchSchedulesAFlush() throws Exception {
+        BatchingMapping<String, Integer> lengths = BatchingMapping.batchingMapping(this::lengths, 3, Duration.ofHours(1), scheduledExecutorService);
+
+        Thread firstFlow = new Thread(() -> HappyPath.<String, String>happyPath("one").map(lengths));
+        firstFlow.start();
+        awaitWaiting(firstFlow);
+        Thread secondFlow = new Thread(() -> HappyPath.<String, String>happyPath("two").map(lengths));
+        secondFlow.start();
+        awaitWaiting(secondFlow);
+
+        assertThat(scheduledExecutorService.getQueue()).hasSize(1);
+        HappyPath.<String, String>happyPath("three").map(lengths);
+        firstFlow.join();
+        secondFlow.join();
+    }
+
+    @Test(timeout = 10_000)
+    public void aScheduledFlushDoesNothingOnceTheBatchHasFilledUp() throws Exception {
+        BatchingMapping<String, Integer> lengths = BatchingMapping.batchingMapping(this::lengths, 2, Duration.ofHours(1), scheduledExecutorService);
+        Thread firstFlow = new Thread(() -> HappyPath.<String, String>happyPath("one").map(lengths));
+        firstFlow.start();
+        awaitWaiting(firstFlow);
+        HappyPath.<String, String>happyPath("three").map(lengths);
+        firstFlow.join();
+
+        scheduledExecutorService.getQueue().peek().run();
+
+        assertThat(batches).isEqualTo(singletonList(asList("one", "three")));
+    }
+
+    @Test(timeout = 10_000)
+    public void eachCallIsATechnicalFailureWhenTheBulkMappingIs() {
+        IOException failure = new IOException();
+        BatchingMapping<String, Integer> failing = BatchingMapping.batchingMapping(olds -> {throw failure;}, 1, Duration.ZERO, scheduledExecutorService);
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("one").map(failing);
+
+        assertThat(happyPath.getTechnicalFailure()).isSameAs(failure);
+    }
+
+    @Test(timeout = 10_000)
+    public void aCallIsATechnicalFailureWhenTheBulkMappingDoesNotProduceItsResult() {
+        BatchingMapping<String, Integer> missing = BatchingMapping.batchingMapping(olds -> emptyMap(), 1, Duration.ZERO, scheduledExecutorService);
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("one").map(missing);
+
+        assertThat(happyPath.getTechnicalFailure())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The bulk mapping did not produce a result for: one");
+    }
+
+    @Test(timeout = 10_000)
+    public void eachCallIsATechnicalFailureWhenTheBulkMappingDoesNotProduceAnyResults() {
+        BatchingMapping<String, Integer> noResults = BatchingMapping.batchingMapping(olds -> null, 1, Duration.ZERO, scheduledExecutorService);
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("one").map(noResults);
+
+        assertThat(happyPath.getTechnicalFailure())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The bulk mapping did not produce any results");
+    }
+
+    @Test(timeout = 10_000)
+    public void callsThatAreStillWaitingAreTechnicalFailuresWhenTheBulkResultCannotBeRead() {
+        IllegalStateException failure = new IllegalStateException();
+        Map<String, Integer> unreadable = new AbstractMap<String, Integer>() {
+            @Override
+            public Set<Entry<String, Integer>> entrySet() {
+                throw failure;
+            }
+        };
+        BatchingMapping<String, Integer> failing = BatchingMapping.batchingMapping(olds -> unreadable, 1, Duration.ZERO, scheduledExecutorService);
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("one").map(failing);
+
+        assertThat(happyPath.getTechnicalFailure()).isSameAs(failure);
+    }
+
+    @Test(timeout = 10_000)
+    public void errorsFromTheBulkMappingAreThrownFromEachCall() {
+        AssertionError error = new AssertionError();
+        BatchingMapping<String, Integer> failing = BatchingMapping.batchingMapping(olds -> {throw error;}, 1, Duration.ZERO, scheduledExecutorService);
+
+        assertThatThrownBy(() -> failing.map("one")).isSameAs(error);
+    }
+
+    @Test(timeout = 10_000)
+    public void eachCallCanBeHappyOrSadOnItsOwn() {
+        BatchingMapping<String, HappyPath<Integer, String>> validLengths = BatchingMapping.batchingMapping(olds -> {
+            Map<String, HappyPath<Integer, String>> results = new HashMap<>();
+            for (String old : olds) {
+                results.put(old, old.isEmpty() ? HappyPath.sadPath("empty") : HappyPath.happyPath(old.length()));
+            }
+            return results;
+        }, 1, Duration.ZERO, scheduledExecutorService);
+
+        assertThat(HappyPath.<String, String>happyPath("one").then(validLengths).get()).isEqualTo(3);
+        assertThat(HappyPath.<String, String>happyPath("").then(validLengths).getSad()).isEqualTo("empty");
+    }
+
+    @Test
+    public void maximumBatchSizeMustBePositive() {
+        assertThatThrownBy(() -> BatchingMapping.batchingMapping(this::lengths, 0, Duration.ZERO, scheduledExecutorService))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maximum batch size must be positive but was: 0");
+    }
+
+    @Test
+    public void windowMustNotBeNegative() {
+        assertThatThrownBy(() -> BatchingMapping.batchingMapping(this::lengths, 1, Duration.ofMillis(-1), scheduledExecutorService))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The window must not be negative but was: PT-0.001S");
+    }
+
+    private Map<String, Integer> lengths(List<String> olds) {
+        batches.add(olds);
+        Map<String, Integer> lengths = new HashMap<>();
+        for (String old : olds) {
+            lengths.put(old, old.length());
+        }
+        return lengths;
+    }
+
+    private void awaitWaiting(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+    }
+}
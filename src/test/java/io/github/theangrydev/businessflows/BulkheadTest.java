@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static io.github.theangrydev.businessflows.PotentialFailure.success;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkheadTest {
+
+    private final Bulkhead bulkhead = Bulkhead.bulkhead("step", 1);
+    private final ExecutorService executorService = newSingleThreadExecutor();
+    private final CountDownLatch running = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void shutdownExecutor() {
+        release.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void stepRunsWhenThereIsRoom() {
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(bulkhead.protectingAttempt(() -> "happy"));
+
+        assertThat(happyPath.get()).isEqualTo("happy");
+        assertThat(bulkhead.isFull()).isFalse();
+    }
+
+    @Test(timeout = 10_000)
+    public void stepFailsFastWhenTheBulkheadIsFull() throws Exception {
+        Future<?> blocking = occupy();
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(bulkhead.protectingAttempt(() -> "happy"));
+
+        assertThat(happyPath.getTechnicalFailure())
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessage("The bulkhead 'step' is already running the maximum of 1 concurrent calls");
+        release.countDown();
+        blocking.get();
+    }
+
+    @Test(timeout = 10_000)
+    public void stepCanFailWithASadWhenTheBulkheadIsFull() throws Exception {
+        Future<?> blocking = occupy();
+
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .attempt(bulkhead.protectingAction(happy -> success(), "busy"));
+
+        assertThat(happyPath.getSad()).isEqualTo("busy");
+        release.countDown();
+        blocking.get();
+    }
+
+    @Test(timeout = 10_000)
+    public void thenCanBeSadWhenTheBulkheadIsFull() throws Exception {
+        Future<?> blocking = occupy();
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .then(bulkhead.protectingThen(happy -> HappyPath.happyPath(happy.length()), "busy"));
+
+        assertThat(happyPath.getSad()).isEqualTo("busy");
+        release.countDown();
+        blocking.get();
+    }
+
+    @Test(timeout = 10_000)
+    public void actionFailsFastWhenTheBulkheadIsFull() throws Exception {
+        Future<?> blocking = occupy();
+
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .attempt(bulkhead.protectingAction(happy -> success()));
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(BulkheadFullException.class);
+        release.countDown();
+        blocking.get();
+    }
+
+    @Test
+    public void stepsRunWhenThereIsRoom() {
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .map(bulkhead.protectingMapping(String::length))
+                .then(bulkhead.protectingThen(length -> HappyPath.happyPath(length + 1), "busy"));
+
+        assertThat(happyPath.get()).isEqualTo(6);
+    }
+
+    @Test
+    public void actionsRunWhenThereIsRoom() {
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .attempt(bulkhead.protectingAction(happy -> success()));
+        HappyPath<String, String> sadPath = happyPath
+                .attempt(bulkhead.protectingAction(happy -> failure("sad"), "busy"));
+
+        assertThat(happyPath.get()).isEqualTo("happy");
+        assertThat(sadPath.getSad()).isEqualTo("sad");
+    }
+
+    @Test
+    public void toStringIncludesTheNameAndHowManyCallsAreRunning() throws Exception {
+        Bulkhead bulkhead = Bulkhead.bulkhead("step", 2);
+
+        String description = bulkhead.protectingAttempt(bulkhead::toString).attempt();
+
+        assertThat(description).isEqualTo("Bulkhead{name='step', running=1, maximum=2}");
+    }
+
+    @Test(timeout = 10_000)
+    public void roomIsMadeWhenTheRunningStepFinishes() throws Exception {
+        Future<?> blocking = occupy();
+        assertThat(bulkhead.isFull()).isTrue();
+
+        release.countDown();
+        blocking.get();
+
+        assertThat(bulkhead.isFull()).isFalse();
+        assertThat(HappyPath.happyAttempt(bulkhead.protectingAttempt(() -> "happy")).get()).isEqualTo("happy");
+    }
+
+    @Test
+    public void roomIsMadeWhenTheStepIsATechnicalFailure() {
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .map(bulkhead.protectingMapping(happy -> {throw new IOException();}));
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(IOException.class);
+        assertThat(bulkhead.isFull()).isFalse();
+    }
+
+    @Test
+    public void maximumConcurrentCallsMustBePositive() {
+        assertThatThrownBy(() -> Bulkhead.bulkhead("step", 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maximum number of concurrent calls must be positive but was: 0");
+    }
+
+    private Future<?> occupy() throws InterruptedException {
+        Future<?> blocking = executorService.submit(() -> HappyPath.happyAttempt(bulkhead.protectingAttempt(() -> {
+            running.countDown();
+            release.await();
+            return "happy";
+        })));
+        running.await();
+        return blocking;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BusinessFlowPartitionTest {
+
+    private final Exception technicalFailure = new Exception();
+    private final Exception anotherTechnicalFailure = new Exception();
+
+    @Test
+    public void partitionsFlowsInEncounterOrder() {
+        BatchResult<String, Integer> result = Stream.<BusinessFlow<String, Integer>>of(
+                SadPath.sadPath(1),
+                HappyPath.happyPath("a"),
+                TechnicalFailure.technicalFailure(technicalFailure),
+                HappyPath.happyPath("b"))
+                .collect(BusinessFlow.toBatchResult());
+
+        assertThat(result.size()).isEqualTo(4);
+        assertThat(result.happies()).containsExactly("a", "b");
+        assertThat(result.happyInputIndex(1)).isEqualTo(3);
+        assertThat(result.sads()).containsExactly(1);
+        assertThat(result.sadInputIndex(0)).isEqualTo(0);
+        assertThat(result.technicalFailures()).containsExactly(technicalFailure);
+        assertThat(result.technicalFailureInputIndex(0)).isEqualTo(2);
+    }
+
+    @Test
+    public void partitionsAnEmptyStream() {
+        BatchResult<String, Integer> result = Stream.<BusinessFlow<String, Integer>>empty().collect(BusinessFlow.toBatchResult());
+
+        assertThat(result.size()).isEqualTo(0);
+        assertThat(result.happies()).isEmpty();
+    }
+
+    @Test
+    public void partitionsAParallelStreamInEncounterOrder() {
+        BatchResult<Integer, Integer> result = IntStream.range(0, 10_000).parallel().boxed()
+                .map(number -> number % 2 == 0 ? HappyPath.<Integer, Integer>happyPath(number) : SadPath.<Integer, Integer>sadPath(number))
+                .collect(BusinessFlow.toBatchResult());
+
+        assertThat(result.size()).isEqualTo(10_000);
+        assertThat(result.happies()).isEqualTo(IntStream.range(0, 10_000).filter(number -> number % 2 == 0).boxed().collect(toList()));
+        assertThat(result.sads()).isEqualTo(IntStream.range(0, 10_000).filter(number -> number % 2 != 0).boxed().collect(toList()));
+        assertThat(result.sadInputIndex(4_999)).isEqualTo(9_999);
+    }
+
+    @Test
+    public void partitionsMoreFlowsThanFitInTheInitialArrays() {
+        BatchResult<Integer, Integer> result = IntStream.range(0, 100).boxed()
+                .map(HappyPath::<Integer, Integer>happyPath)
+                .collect(BusinessFlow.toBatchResult());
+
+        assertThat(result.happies()).isEqualTo(IntStream.range(0, 100).boxed().collect(toList()));
+    }
+
+    @Test(timeout = 10_000)
+    public void partitionsManyFlowsInAmortizedConstantTimeEach() {
+        BatchResult<Integer, Integer> result = IntStream.range(0, 200_000).boxed()
+                .map(HappyPath::<Integer, Integer>happyPath)
+                .collect(BusinessFlow.toBatchResult());
+
+        assertThat(result.size()).isEqualTo(200_000);
+    }
+
+    @Test
+    public void flowsCanBeAddedAfterCombiningEmptyPartitions() {
+        BusinessFlowPartition<String, Integer> partition = new BusinessFlowPartition<String, Integer>().combine(new BusinessFlowPartition<>());
+        partition.add(HappyPath.happyPath("a"));
+        partition.add(SadPath.sadPath(1));
+
+        assertThat(partition.batchResult().happies()).containsExactly("a");
+        assertThat(partition.batchResult().sads()).containsExactly(1);
+    }
+
+    @Test
+    public void validationPathIsHappyWithTheHappyObjectsWhenAllFlowsAreHappy() {
+        ValidationPath<List<String>, Integer, List<Integer>> validationPath = Stream.<BusinessFlow<String, Integer>>of(HappyPath.happyPath("a"), HappyPath.happyPath("b"))
+                .collect(ValidationPath.toValidationPath());
+
+        assertThat(validationPath.get()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void validationPathAggregatesTheSadObjects() {
+        ValidationPath<List<String>, Integer, Integer> validationPath = Stream.<BusinessFlow<String, Integer>>of(SadPath.sadPath(1), HappyPath.happyPath("a"), SadPath.sadPath(2))
+                .collect(ValidationPath.toValidationPathInto(List::size));
+
+        assertThat(validationPath.getSad()).isEqualTo(2);
+    }
+
+    @Test
+    public void validationPathIsTheFirstTechnicalFailure() {
+        ValidationPath<List<String>, Integer, List<Integer>> validationPath = Stream.<BusinessFlow<String, Integer>>of(
+                SadPath.sadPath(1),
+                TechnicalFailure.technicalFailure(technicalFailure),
+                TechnicalFailure.technicalFailure(anotherTechnicalFailure))
+                .collect(ValidationPath.toValidationPath());
+
+        assertThat(validationPath.getTechnicalFailure()).isSameAs(technicalFailure);
+    }
+
+    @Test
+    public void validationPathIsATechnicalFailureWhenTheAggregationFails() {
+        ValidationPath<List<String>, Integer, Integer> validationPath = Stream.<BusinessFlow<String, Integer>>of(SadPath.sadPath(1))
+                .collect(ValidationPath.toValidationPathInto(sads -> {
+                    throw technicalFailure;
+                }));
+
+        assertThat(validationPath.getTechnicalFailure()).isSameAs(technicalFailure);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BusinessFlowTest {
+
+    private final Exception technicalFailure = new Exception();
+
+    private final BusinessFlow<String, String> happy = viewing(HappyPath.happyPath("happy"));
+    private final BusinessFlow<String, String> sad = viewing(HappyPath.sadPath("sad"));
+    private final BusinessFlow<String, String> failed = viewing(HappyPath.technicalFailure(technicalFailure));
+
+    @Test
+    public void happyFlowIsOnlyHappy() {
+        assertThat(happy.isHappy()).isTrue();
+        assertThat(happy.isSad()).isFalse();
+        assertThat(happy.isTechnicalFailure()).isFalse();
+        assertThat(happy.getHappy()).isEqualTo("happy");
+    }
+
+    @Test
+    public void sadFlowIsOnlySad() {
+        assertThat(sad.isHappy()).isFalse();
+        assertThat(sad.isSad()).isTrue();
+        assertThat(sad.isTechnicalFailure()).isFalse();
+        assertThat(sad.getSad()).isEqualTo("sad");
+    }
+
+    @Test
+    public void technicalFailureFlowIsOnlyATechnicalFailure() {
+        assertThat(failed.isHappy()).isFalse();
+        assertThat(failed.isSad()).isFalse();
+        assertThat(failed.isTechnicalFailure()).isTrue();
+        assertThat(failed.getTechnicalFailure()).isSameAs(technicalFailure);
+    }
+
+    private static BusinessFlow<String, String> viewing(BusinessFlow<String, String> businessFlow) {
+        return new BusinessFlow<String, String>() {
+            @Override
+            public TechnicalFailure<String, String> ifTechnicalFailure() {
+                return businessFlow.ifTechnicalFailure();
+            }
+
+            @Override
+            public SadPath<String, String> ifSad() {
+                return businessFlow.ifSad();
+            }
+
+            @Override
+            public HappyPath<String, String> ifHappy() {
+                return businessFlow.ifHappy();
+            }
+
+            @Override
+            public PotentialFailure<String> toPotentialFailure(Function<Exception, String> technicalFailureMapping) {
+                return businessFlow.toPotentialFailure(technicalFailureMapping);
+            }
+
+            @Override
+            public <Result> Result join(Mapping<String, Result> happyJoiner, Mapping<String, Result> sadJoiner, Function<Exception, Result> technicalFailureJoiner) {
+                return businessFlow.join(happyJoiner, sadJoiner, technicalFailureJoiner);
+            }
+
+            @Override
+            public <Result> Result joinOrThrow(Mapping<String, Result> happyJoiner, Mapping<String, Result> sadJoiner) throws Exception {
+                return businessFlow.joinOrThrow(happyJoiner, sadJoiner);
+            }
+
+            @Override
+            public void consumeOrThrow(Peek<String> happyConsumer, Peek<String> sadConsumer) throws Exception {
+                businessFlow.consumeOrThrow(happyConsumer, sadConsumer);
+            }
+
+            @Override
+            public void consume(Peek<String> happyConsumer, Peek<String> sadConsumer, Consumer<Exception> technicalFailureConsumer) {
+                businessFlow.consume(happyConsumer, sadConsumer, technicalFailureConsumer);
+            }
+        };
+    }
+}
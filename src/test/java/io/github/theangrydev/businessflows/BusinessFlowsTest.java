@@ -25,6 +25,7 @@ import java.util.List;
 import static io.github.theangrydev.businessflows.PotentialFailure.failure;
 import static io.github.theangrydev.businessflows.PotentialFailure.success;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 
 
 public class BusinessFlowsTest implements WithAssertions {
@@ -90,4 +91,11 @@ public class BusinessFlowsTest implements WithAssertions {
 
         assertThat(actualHappy).isSameAs(originalHappy);
     }
+
+    @Test
+    public void validateWithMultiplePassesReturnsTheSameValidationPath() {
+        ValidationPath<Happy, Sad, List<Sad>> validationPath = ValidationPath.validationPath(new Happy());
+
+        assertThat(validationPath.validateAll(asList(happy -> success(), happy -> success()))).isSameAs(validationPath);
+    }
 }
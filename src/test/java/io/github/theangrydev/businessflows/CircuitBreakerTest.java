@@ -0,0 +1,410 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static io.github.theangrydev.businessflows.PotentialFailure.success;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CircuitBreakerTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.circuitBreaker("step", 0.5, 4, Duration.ofHours(1));
+    private final CircuitBreaker quickToRetry = CircuitBreaker.circuitBreaker("step", 0.5, 4, Duration.ZERO);
+    private final CircuitBreaker clocked = CircuitBreaker.circuitBreaker("step", 0.5, 4, Duration.ofNanos(10), this::nanoTime);
+
+    private long now;
+    private Runnable onNextClockRead = () -> {
+    };
+
+    @Test
+    public void closedCircuitBreakerRunsTheStep() {
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(circuitBreaker.protectingAttempt(() -> "happy"));
+
+        assertThat(happyPath.get()).isEqualTo("happy");
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    public void circuitBreakerOpensWhenTheFailureRateReachesTheThresholdOverAFullWindow() {
+        Attempt<String> attempt = circuitBreaker.protectingAttempt(this::failing);
+
+        HappyPath.happyAttempt(attempt);
+        HappyPath.happyAttempt(circuitBreaker.protectingAttempt(() -> "happy"));
+        HappyPath.happyAttempt(attempt);
+        assertThat(circuitBreaker.isOpen()).isFalse();
+
+        HappyPath.happyAttempt(circuitBreaker.protectingAttempt(() -> "happy"));
+        HappyPath.happyAttempt(attempt);
+
+        assertThat(circuitBreaker.isOpen()).isTrue();
+    }
+
+    @Test
+    public void circuitBreakerDoesNotOpenBeforeTheWindowIsFull() {
+        Attempt<String> attempt = circuitBreaker.protectingAttempt(this::failing);
+
+        HappyPath.happyAttempt(attempt);
+        HappyPath.happyAttempt(attempt);
+        HappyPath.happyAttempt(attempt);
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    public void circuitBreakerDoesNotOpenBelowTheThreshold() {
+        succeed(circuitBreaker, 3);
+        HappyPath.happyAttempt(circuitBreaker.protectingAttempt(this::failing));
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    public void circuitBreakerOnlyOpensOnAFailure() {
+        fail(circuitBreaker, 2);
+        succeed(circuitBreaker, 2);
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    public void failuresThatLeaveTheWindowNoLongerCount() {
+        fail(circuitBreaker, 2);
+        succeed(circuitBreaker, 3);
+        fail(circuitBreaker, 1);
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    public void openCircuitBreakerFailsFastWithoutRunningTheStep() {
+        open(circuitBreaker);
+        calls.set(0);
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(circuitBreaker.protectingAttempt(this::failing));
+
+        assertThat(happyPath.getTechnicalFailure())
+                .isInstanceOf(CircuitBreakerOpenException.class)
+                .hasMessage("The circuit breaker 'step' is open");
+        assertThat(happyPath.getTechnicalFailure().getStackTrace()).isEmpty();
+        assertThat(calls.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void openCircuitBreakerCanFailWithASadInstead() {
+        open(circuitBreaker);
+
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .attempt(circuitBreaker.protectingAction(happy -> success(), "unavailable"));
+
+        assertThat(happyPath.getSad()).isEqualTo("unavailable");
+    }
+
+    @Test
+    public void openCircuitBreakerCanProduceASadFromThen() {
+        open(circuitBreaker);
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .then(circuitBreaker.protectingThen(happy -> HappyPath.happyPath(happy.length()), "unavailable"));
+
+        assertThat(happyPath.getSad()).isEqualTo("unavailable");
+    }
+
+    @Test
+    public void openCircuitBreakerFailsFastFromThen() {
+        open(circuitBreaker);
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .then(circuitBreaker.protectingThen(happy -> HappyPath.happyPath(happy.length())));
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void openCircuitBreakerFailsFastFromAnAction() {
+        open(circuitBreaker);
+
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .attempt(circuitBreaker.protectingAction(happy -> success()));
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void closedCircuitBreakerRunsTheStepsThatCouldBeSadWhenOpen() {
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("happy")
+                .then(circuitBreaker.protectingThen(happy -> HappyPath.happyPath(happy.length()), "unavailable"))
+                .attempt(circuitBreaker.protectingAction(happy -> failure("sad"), "unavailable"));
+
+        assertThat(happyPath.getSad()).isEqualTo("sad");
+    }
+
+    @Test
+    public void sadResultsDoNotCountAsFailures() {
+        ActionThatMightFail<String, String> action = circuitBreaker.protectingAction(happy -> failure("sad"));
+
+        for (int call = 0; call < 10; call++) {
+            assertThat(HappyPath.<String, String>happyPath("happy").attempt(action).getSad()).isEqualTo("sad");
+        }
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    public void thenThatProducesATechnicalFailureCountsAsAFailure() {
+        Mapping<String, BusinessFlow<String, String>> action = circuitBreaker.protectingThen(happy -> HappyPath.technicalFailure(new IOException()));
+
+        for (int call = 0; call < 4; call++) {
+            HappyPath.<String, String>happyPath("happy").then(action);
+        }
+
+        assertThat(circuitBreaker.isOpen()).isTrue();
+    }
+
+    @Test
+    public void happyFlowsFromThenDoNotCountAsFailures() {
+        Mapping<String, BusinessFlow<String, String>> action = circuitBreaker.protectingThen(HappyPath::happyPath);
+
+        for (int call = 0; call < 4; call++) {
+            assertThat(HappyPath.<String, String>happyPath("happy").then(action).get()).isEqualTo("happy");
+        }
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    public void thenThatThrowsCountsAsAFailure() {
+        Mapping<String, BusinessFlow<String, String>> action = circuitBreaker.protectingThen(happy -> {
+            throw new IOException();
+        });
+
+        for (int call = 0; call < 4; call++) {
+            HappyPath.<String, String>happyPath("happy").then(action);
+        }
+
+        assertThat(circuitBreaker.isOpen()).isTrue();
+    }
+
+    @Test
+    public void successfulTrialClosesTheCircuitBreaker() {
+        open(quickToRetry);
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(quickToRetry.protectingAttempt(() -> "happy"));
+
+        assertThat(happyPath.get()).isEqualTo("happy");
+        assertThat(quickToRetry.isOpen()).isFalse();
+    }
+
+    @Test
+    public void closingTheCircuitBreakerForgetsTheCallsBeforeTheTrial() {
+        open(quickToRetry);
+        succeed(quickToRetry, 1);
+
+        fail(quickToRetry, 2);
+        assertThat(quickToRetry.isOpen()).isFalse();
+        succeed(quickToRetry, 3);
+        fail(quickToRetry, 1);
+        assertThat(quickToRetry.isOpen()).isFalse();
+    }
+
+    @Test
+    public void closingTheCircuitBreakerEmptiesTheWindow() {
+        open(quickToRetry);
+        succeed(quickToRetry, 1);
+
+        succeed(quickToRetry, 4);
+        fail(quickToRetry, 2);
+
+        assertThat(quickToRetry.isOpen()).isTrue();
+    }
+
+    @Test
+    public void trialIsLetThroughOnceTheOpenDurationHasPassed() {
+        open(clocked);
+
+        now = 9;
+        assertThat(HappyPath.happyAttempt(clocked.protectingAttempt(() -> "happy")).getTechnicalFailure()).isInstanceOf(CircuitBreakerOpenException.class);
+        now = 10;
+        assertThat(HappyPath.happyAttempt(clocked.protectingAttempt(() -> "happy")).get()).isEqualTo("happy");
+        assertThat(clocked.isOpen()).isFalse();
+    }
+
+    @Test
+    public void callsAreRejectedWhileATrialIsRunning() {
+        open(clocked);
+        now = 10;
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(clocked.protectingAttempt(() -> HappyPath.happyAttempt(clocked.protectingAttempt(() -> "nested")).getTechnicalFailure().getMessage()));
+
+        assertThat(happyPath.get()).isEqualTo("The circuit breaker 'step' is open");
+    }
+
+    @Test
+    public void onlyOneCallerGetsTheTrial() {
+        open(clocked);
+        now = 10;
+        AtomicInteger trials = new AtomicInteger();
+        onNextClockRead = () -> HappyPath.happyAttempt(clocked.protectingAttempt(trials::incrementAndGet));
+
+        HappyPath<Integer, String> happyPath = HappyPath.happyAttempt(clocked.protectingAttempt(trials::incrementAndGet));
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(trials.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void callThatFailsAfterTheCircuitBreakerOpenedDoesNotExtendTheOpenDuration() {
+        HappyPath.happyAttempt(clocked.protectingAttempt(() -> {
+            open(clocked);
+            now = 5;
+            return failing();
+        }));
+
+        now = 10;
+        assertThat(HappyPath.happyAttempt(clocked.protectingAttempt(() -> "happy")).get()).isEqualTo("happy");
+    }
+
+    @Test
+    public void failedTrialOpensTheCircuitBreakerAgain() {
+        open(quickToRetry);
+
+        HappyPath.happyAttempt(quickToRetry.protectingAttempt(this::failing));
+
+        assertThat(quickToRetry.isOpen()).isTrue();
+    }
+
+    @Test
+    public void trialThatThrowsAnErrorOpensTheCircuitBreakerAgain() {
+        open(quickToRetry);
+        AssertionError error = new AssertionError();
+
+        assertThatThrownBy(() -> quickToRetry.protectingAttempt(() -> {
+            throw error;
+        }).attempt()).isSameAs(error);
+
+        assertThat(quickToRetry.isOpen()).isTrue();
+        assertThat(HappyPath.happyAttempt(quickToRetry.protectingAttempt(() -> "happy")).get()).isEqualTo("happy");
+        assertThat(quickToRetry.isOpen()).isFalse();
+    }
+
+    @Test
+    public void trialThenThatProducesNoFlowOpensTheCircuitBreakerAgain() throws Exception {
+        open(quickToRetry);
+
+        assertThat(quickToRetry.protectingThen(happy -> null).map("happy")).isNull();
+
+        assertThat(quickToRetry.isOpen()).isTrue();
+        assertThat(HappyPath.happyAttempt(quickToRetry.protectingAttempt(() -> "happy")).get()).isEqualTo("happy");
+    }
+
+    @Test
+    public void mapIsProtected() {
+        open(circuitBreaker);
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("happy").map(circuitBreaker.protectingMapping(String::length));
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void closedCircuitBreakerRunsTheMapping() {
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("happy").map(circuitBreaker.protectingMapping(String::length));
+
+        assertThat(happyPath.get()).isEqualTo(5);
+    }
+
+    @Test
+    public void toStringIncludesTheNameAndWhetherItIsOpen() {
+        assertThat(circuitBreaker.toString()).isEqualTo("CircuitBreaker{name='step', open=false}");
+        open(circuitBreaker);
+        assertThat(circuitBreaker.toString()).isEqualTo("CircuitBreaker{name='step', open=true}");
+    }
+
+    @Test
+    public void failureRateThresholdMustBeAFraction() {
+        assertThatThrownBy(() -> CircuitBreaker.circuitBreaker("step", 0, 4, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The failure rate threshold must be more than 0 and at most 1 but was: 0.0");
+        assertThatThrownBy(() -> CircuitBreaker.circuitBreaker("step", 1.5, 4, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The failure rate threshold must be more than 0 and at most 1 but was: 1.5");
+    }
+
+    @Test
+    public void failureRateThresholdCanBeOne() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.circuitBreaker("step", 1, 4, Duration.ZERO);
+
+        fail(circuitBreaker, 3);
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        open(circuitBreaker);
+    }
+
+    @Test
+    public void openDurationMustNotBeNegative() {
+        assertThatThrownBy(() -> CircuitBreaker.circuitBreaker("step", 0.5, 4, Duration.ofNanos(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The open duration must not be negative but was: PT-0.000000001S");
+    }
+
+    @Test
+    public void windowSizeMustBePositive() {
+        assertThatThrownBy(() -> CircuitBreaker.circuitBreaker("step", 0.5, 0, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The window size must be positive but was: 0");
+    }
+
+    private void open(CircuitBreaker circuitBreaker) {
+        Attempt<String> attempt = circuitBreaker.protectingAttempt(this::failing);
+        for (int call = 0; call < 4; call++) {
+            HappyPath.happyAttempt(attempt);
+        }
+        assertThat(circuitBreaker.isOpen()).isTrue();
+    }
+
+    private void succeed(CircuitBreaker circuitBreaker, int times) {
+        for (int call = 0; call < times; call++) {
+            HappyPath.happyAttempt(circuitBreaker.protectingAttempt(() -> "happy"));
+        }
+    }
+
+    private void fail(CircuitBreaker circuitBreaker, int times) {
+        for (int call = 0; call < times; call++) {
+            HappyPath.happyAttempt(circuitBreaker.protectingAttempt(this::failing));
+        }
+    }
+
+    private long nanoTime() {
+        Runnable clockRead = onNextClockRead;
+        onNextClockRead = () -> {
+        };
+        clockRead.run();
+        return now;
+    }
+
+    private String failing() throws IOException {
+        calls.incrementAndGet();
+        throw new IOException();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static io.github.theangrydev.businessflows.PotentialFailure.success;
+import static io.github.theangrydev.businessflows.ValidationPath.validators;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExecutorFlowScopeTest {
+
+    private final ExecutorService threadPerTask = newCachedThreadPool();
+
+    private class Happy {
+
+    }
+
+    private class Sad {
+
+    }
+
+    @After
+    public void shutdownExecutor() {
+        threadPerTask.shutdownNow();
+    }
+
+    @Test
+    public void runsTheWholeFlowOnTheExecutor() {
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> flowThread = new AtomicReference<>();
+        Happy expectedHappy = new Happy();
+
+        BusinessFlow<Happy, Sad> businessFlow = FlowScope.<Happy, Sad>run(threadPerTask, flowScope -> {
+            flowThread.set(Thread.currentThread());
+            return HappyPath.happyPath(expectedHappy);
+        }).toBusinessFlow();
+
+        assertThat(businessFlow.getHappy()).isSameAs(expectedHappy);
+        assertThat(flowThread.get()).isNotSameAs(caller);
+    }
+
+    @Test
+    public void flowThatThrowsIsATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+
+        BusinessFlow<Happy, Sad> businessFlow = FlowScope.<Happy, Sad>run(threadPerTask, flowScope -> {throw expectedTechnicalFailure;}).toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void forkedSubFlowsCanBeUsedInsideTheFlow() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy, List<Sad>> businessFlow = FlowScope.<Happy, List<Sad>>run(threadPerTask, flowScope -> ValidationPath.<Happy, Sad>validationPath(new Happy())
+                .validateAllInParallel(flowScope, validators(happy -> success(), happy -> failure(expectedSad))))
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).containsExactly(expectedSad);
+    }
+
+    @Test
+    public void forkedWorkIsCancelledWhenTheFlowTurnsIntoATechnicalFailure() throws InterruptedException {
+        Exception expectedTechnicalFailure = new Exception();
+        CountDownLatch forkedWorkStarted = new CountDownLatch(1);
+        CountDownLatch forkedWorkInterrupted = new CountDownLatch(1);
+
+        BusinessFlow<Happy, Sad> businessFlow = FlowScope.<Happy, Sad>run(threadPerTask, flowScope -> {
+            flowScope.execute(() -> {
+                forkedWorkStarted.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException interrupted) {
+                    forkedWorkInterrupted.countDown();
+                }
+            });
+            forkedWorkStarted.await();
+            return HappyPath.technicalFailure(expectedTechnicalFailure);
+        }).toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+        assertThat(forkedWorkInterrupted.await(10, SECONDS)).isTrue();
+    }
+
+    @Test
+    public void cannotForkAfterTheFlowHasCompleted() {
+        AtomicReference<FlowScope> escapedFlowScope = new AtomicReference<>();
+
+        FlowScope.<Happy, Sad>run(threadPerTask, flowScope -> {
+            escapedFlowScope.set(flowScope);
+            return HappyPath.happyPath(new Happy());
+        }).toBusinessFlow();
+
+        assertThatThrownBy(() -> escapedFlowScope.get().execute(() -> {}))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessage("The flow has already completed");
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static io.github.theangrydev.businessflows.PotentialFailure.success;
+import static io.github.theangrydev.businessflows.ValidationPath.validators;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FailureLimitedValidatorsTest {
+
+    private final List<String> ran = new ArrayList<>();
+
+    @Test
+    public void validatorsAfterTheMaximumNumberOfFailuresAreSkipped() throws Exception {
+        List<Validator<Object, String>> validators = FailureLimitedValidators.upTo(2, validators(
+                validator("first", true), validator("second", false), validator("third", true), validator("fourth", true)));
+
+        List<String> failures = new ArrayList<>();
+        for (Validator<Object, String> validator : validators) {
+            PotentialFailure<String> potentialFailure = validator.attempt(new Object());
+            if (potentialFailure.isPresent()) {
+                failures.add(potentialFailure.get());
+            }
+        }
+
+        assertThat(failures).containsExactly("first", "third");
+        assertThat(ran).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    public void validatorsThatAreReadByIndexAreLimitedInTheSameWay() throws Exception {
+        List<Validator<Object, String>> validators = FailureLimitedValidators.upTo(1, new LinkedList<>(asList(
+                validator("first", true), validator("second", true))));
+
+        assertThat(validators).hasSize(2);
+        assertThat(validators.get(0).attempt(new Object()).isPresent()).isTrue();
+        assertThat(validators.get(1).attempt(new Object()).isPresent()).isFalse();
+        assertThat(ran).containsExactly("first");
+    }
+
+    @Test
+    public void validatorsAreNotReadUntilTheViewIsRead() {
+        List<Validator<Object, String>> validators = FailureLimitedValidators.upTo(1, null);
+
+        assertThat(validators).isNotNull();
+    }
+
+    @Test
+    public void maximumNumberOfFailuresMustBePositive() {
+        assertThatThrownBy(() -> FailureLimitedValidators.upTo(0, validators()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maximum number of failures must be positive but was: 0");
+        assertThat(FailureLimitedValidators.upTo(1, validators())).isEmpty();
+    }
+
+    private Validator<Object, String> validator(String name, boolean fails) {
+        return happy -> {
+            ran.add(name);
+            return fails ? failure(name) : success();
+        };
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FusedBusinessFlowTest {
+
+    private final IllegalStateException technicalFailure = new IllegalStateException();
+    private final List<Object> peeked = new ArrayList<>();
+
+    @Test
+    public void happyStepsAreRunInOrderWhenTheFlowIsEvaluated() {
+        FusedFlow<Integer, String> fusedFlow = HappyPath.<String, String>happyPath(" happy ").fused()
+                .map(String::trim)
+                .peek(peeked::add)
+                .mapSad(String::length)
+                .map(String::length)
+                .peek(peeked::add)
+                .mapSad(String::valueOf);
+
+        assertThat(peeked).isEmpty();
+        assertThat(fusedFlow.get()).isEqualTo(5);
+        assertThat(peeked).containsExactly("happy", 5);
+    }
+
+    @Test
+    public void onlyTheSadStepsAreRunWhenTheFlowIsSad() {
+        String result = SadPath.<String, String>sadPath("sad").fused()
+                .map(happy -> {
+                    throw technicalFailure;
+                })
+                .mapSad(String::length)
+                .peekSad(peeked::add)
+                .join(happy -> "happy", sad -> "sad " + sad, technicalFailure -> "failure");
+
+        assertThat(result).isEqualTo("sad 3");
+        assertThat(peeked).containsExactly(3);
+    }
+
+    @Test
+    public void stepThatThrowsIsATechnicalFailureAndSkipsTheRest() {
+        TechnicalFailure<String, String> result = HappyPath.<String, String>happyPath("happy").fused()
+                .map(this::fail)
+                .peek(peeked::add)
+                .ifHappy()
+                .ifTechnicalFailure();
+
+        assertThat(result.get()).isSameAs(technicalFailure);
+        assertThat(peeked).isEmpty();
+    }
+
+    @Test
+    public void noStepsAreRunWhenTheFlowIsATechnicalFailure() {
+        List<Exception> technicalFailures = new ArrayList<>();
+
+        TechnicalFailure.<String, String>technicalFailure(technicalFailure).fused()
+                .peek(peeked::add)
+                .peekSad(peeked::add)
+                .consume(peeked::add, peeked::add, technicalFailures::add);
+
+        assertThat(peeked).isEmpty();
+        assertThat(technicalFailures).containsExactly(technicalFailure);
+    }
+
+    @Test
+    public void ifSadCarriesOnWithASadPath() {
+        SadPath<String, Integer> sadPath = SadPath.<String, String>sadPath("sad").fused().mapSad(String::length).ifSad();
+
+        assertThat(sadPath.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void canHoldMoreStepsThanTheInitialCapacity() {
+        FusedFlow<Integer, String> fusedFlow = HappyPath.<Integer, String>happyPath(0).fused();
+        for (int step = 0; step < 100; step++) {
+            fusedFlow = fusedFlow.map(number -> number + 1);
+        }
+
+        assertThat(fusedFlow.get()).isEqualTo(100);
+    }
+
+    @Test
+    public void cannotBeEvaluatedTwice() {
+        FusedFlow<String, String> fusedFlow = HappyPath.<String, String>happyPath("happy").fused();
+        fusedFlow.get();
+
+        assertThatThrownBy(fusedFlow::get)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("This fused flow has already been evaluated");
+    }
+
+    @Test
+    public void stepsCannotBeAddedAfterEvaluation() {
+        FusedFlow<String, String> fusedFlow = HappyPath.<String, String>happyPath("happy").fused();
+        fusedFlow.ifHappy();
+
+        assertThatThrownBy(() -> fusedFlow.peek(peeked::add)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void everyStepReturnsTheSameFlow() {
+        FusedFlow<String, String> fusedFlow = HappyPath.<String, String>happyPath("happy").fused();
+
+        assertThat(fusedFlow.map(String::length)).isSameAs(fusedFlow);
+        assertThat(fusedFlow.peek(peeked::add)).isSameAs(fusedFlow);
+        assertThat(fusedFlow.mapSad(String::length)).isSameAs(fusedFlow);
+        assertThat(fusedFlow.peekSad(peeked::add)).isSameAs(fusedFlow);
+    }
+
+    @Test
+    public void stepsAddedThroughAnyReferenceArePartOfTheOneChain() {
+        FusedFlow<String, String> fusedFlow = HappyPath.<String, String>happyPath("happy").fused();
+        fusedFlow.peek(peeked::add);
+        FusedFlow<Integer, String> mapped = fusedFlow.map(String::length);
+
+        assertThat(mapped.get()).isEqualTo(5);
+        assertThat(peeked).containsExactly("happy");
+    }
+
+    private String fail(String input) {
+        throw technicalFailure;
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.theangrydev.businessflows.HappyPath.actions;
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static io.github.theangrydev.businessflows.PotentialFailure.success;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FutureHappyPathTest {
+
+    private final AtomicInteger dispatches = new AtomicInteger();
+    private final Executor countingExecutor = command -> {
+        dispatches.incrementAndGet();
+        command.run();
+    };
+    private final ExecutorService executorService = newSingleThreadExecutor();
+
+    private class Happy {
+
+    }
+
+    private class Happy2 {
+
+    }
+
+    private class Sad {
+
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void mapRunsOnTheExecutor() {
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> mappingThread = new AtomicReference<>();
+        Happy2 expectedHappy = new Happy2();
+
+        BusinessFlow<Happy2, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>happyPath(new Happy()), executorService)
+                .map(happy -> {
+                    mappingThread.set(Thread.currentThread());
+                    return expectedHappy;
+                })
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getHappy()).isSameAs(expectedHappy);
+        assertThat(mappingThread.get()).isNotSameAs(caller);
+    }
+
+    @Test
+    public void thenCanTurnSad() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy2, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>happyPath(new Happy()), countingExecutor)
+                .then(happy -> HappyPath.<Happy2, Sad>sadPath(expectedSad))
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+    }
+
+    @Test
+    public void stagesWithNothingToDoAreNotDispatched() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy2, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>sadPath(expectedSad), countingExecutor)
+                .map(happy -> new Happy2())
+                .peek(happy -> {})
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+        assertThat(dispatches.get()).isZero();
+    }
+
+    @Test
+    public void thenComposeWaitsForTheStage() {
+        Happy2 expectedHappy = new Happy2();
+        CompletableFuture<BusinessFlow<Happy2, Sad>> remoteCall = new CompletableFuture<>();
+
+        AsyncHappyPath<Happy2, Sad> asyncHappyPath = AsyncHappyPath.async(HappyPath.<Happy, Sad>happyPath(new Happy()), countingExecutor)
+                .thenCompose(happy -> remoteCall);
+
+        assertThat(asyncHappyPath.toCompletableFuture()).isNotDone();
+        remoteCall.complete(HappyPath.happyPath(expectedHappy));
+        assertThat(asyncHappyPath.toBusinessFlow().getHappy()).isSameAs(expectedHappy);
+    }
+
+    @Test
+    public void thenComposeStageThatCompletesExceptionallyIsATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+        CompletableFuture<BusinessFlow<Happy2, Sad>> remoteCall = new CompletableFuture<>();
+        remoteCall.completeExceptionally(expectedTechnicalFailure);
+
+        BusinessFlow<Happy2, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>happyPath(new Happy()), countingExecutor)
+                .thenCompose(happy -> remoteCall)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void thenComposeActionThatThrowsIsATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+
+        BusinessFlow<Happy2, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>happyPath(new Happy()), countingExecutor)
+                .<Happy2>thenCompose(happy -> {throw expectedTechnicalFailure;})
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void thenComposeIsSkippedWhenSad() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy2, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>sadPath(expectedSad), countingExecutor)
+                .<Happy2>thenCompose(happy -> {throw new IllegalStateException();})
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+        assertThat(dispatches.get()).isZero();
+    }
+
+    @Test
+    public void thenComposeIsSkippedWhenATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+
+        BusinessFlow<Happy2, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>technicalFailure(expectedTechnicalFailure), countingExecutor)
+                .<Happy2>thenCompose(happy -> {throw new IllegalStateException();})
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+        assertThat(dispatches.get()).isZero();
+    }
+
+    @Test
+    public void thenComposeRejectedExecutionIsATechnicalFailure() {
+        RejectedExecutionException rejection = new RejectedExecutionException();
+
+        BusinessFlow<Happy2, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>happyPath(new Happy()), command -> {throw rejection;})
+                .thenCompose(happy -> CompletableFuture.completedFuture(HappyPath.<Happy2, Sad>happyPath(new Happy2())))
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(rejection);
+    }
+
+    @Test
+    public void attemptAllStopsAtTheFirstFailure() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>happyPath(new Happy()), countingExecutor)
+                .attemptAll(actions(happy -> success(), happy -> failure(expectedSad), happy -> {throw new IllegalStateException();}))
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+    }
+
+    @Test
+    public void attemptThatFailsIsSad() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>happyPath(new Happy()), countingExecutor)
+                .attempt(happy -> failure(expectedSad))
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+    }
+
+    @Test
+    public void happyAttemptThatThrowsIsATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.<Happy, Sad>happyAttempt(() -> {throw expectedTechnicalFailure;}, executorService)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void happyPathAttemptRunsOnTheExecutor() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.happyPathAttempt(() -> HappyPath.<Happy, Sad>sadPath(expectedSad), countingExecutor)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+        assertThat(dispatches.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void completionStageThatCompletesExceptionallyIsATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+        CompletableFuture<BusinessFlow<Happy, Sad>> completionStage = new CompletableFuture<>();
+        completionStage.completeExceptionally(expectedTechnicalFailure);
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.completionStage(completionStage, countingExecutor).toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void completionStageThatCompletesExceptionallyWithACauseIsTheTechnicalFailureItself() {
+        Exception expectedTechnicalFailure = new Exception(new Exception());
+        CompletableFuture<BusinessFlow<Happy, Sad>> completionStage = new CompletableFuture<>();
+        completionStage.completeExceptionally(expectedTechnicalFailure);
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.completionStage(completionStage, countingExecutor).toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void completionStageThatFailsInAnEarlierStageIsTheOriginalTechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+        CompletableFuture<BusinessFlow<Happy, Sad>> earlierStage = new CompletableFuture<>();
+        earlierStage.completeExceptionally(expectedTechnicalFailure);
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.completionStage(earlierStage.thenApply(flow -> flow), countingExecutor).toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void completionExceptionWithoutACauseIsATechnicalFailure() {
+        CompletionException expectedTechnicalFailure = new CompletionException("no cause", null);
+        CompletableFuture<BusinessFlow<Happy, Sad>> completionStage = new CompletableFuture<>();
+        completionStage.completeExceptionally(expectedTechnicalFailure);
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.completionStage(completionStage, countingExecutor).toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void errorsAreNotTechnicalFailures() {
+        AssertionError error = new AssertionError();
+        CompletableFuture<BusinessFlow<Happy, Sad>> completionStage = new CompletableFuture<>();
+        completionStage.completeExceptionally(error);
+
+        AsyncHappyPath<Happy, Sad> asyncHappyPath = AsyncHappyPath.completionStage(completionStage, countingExecutor);
+
+        assertThatThrownBy(asyncHappyPath::toBusinessFlow).hasCause(error);
+    }
+
+    @Test
+    public void rejectedExecutionIsATechnicalFailure() {
+        RejectedExecutionException rejection = new RejectedExecutionException();
+
+        BusinessFlow<Happy2, Sad> businessFlow = AsyncHappyPath.async(HappyPath.<Happy, Sad>happyPath(new Happy()), command -> {throw rejection;})
+                .map(happy -> new Happy2())
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(rejection);
+    }
+
+    @Test
+    public void viewsShareTheSameFuture() {
+        AsyncHappyPath<Happy, Sad> asyncHappyPath = AsyncHappyPath.async(HappyPath.happyPath(new Happy()), countingExecutor);
+
+        assertThat(asyncHappyPath.ifHappy()).isSameAs(asyncHappyPath);
+        assertThat(asyncHappyPath.ifSad().toCompletableFuture()).isSameAs(asyncHappyPath.toCompletableFuture());
+        assertThat(asyncHappyPath.ifTechnicalFailure().toCompletableFuture()).isSameAs(asyncHappyPath.toCompletableFuture());
+    }
+}
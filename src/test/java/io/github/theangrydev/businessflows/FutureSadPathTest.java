@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FutureSadPathTest {
+
+    private final AtomicInteger dispatches = new AtomicInteger();
+    private final Executor countingExecutor = command -> {
+        dispatches.incrementAndGet();
+        command.run();
+    };
+
+    private class Happy {
+
+    }
+
+    private class Sad {
+
+    }
+
+    private class Sad2 {
+
+    }
+
+    @Test
+    public void mapSad() {
+        Sad2 expectedSad = new Sad2();
+
+        BusinessFlow<Happy, Sad2> businessFlow = AsyncHappyPath.async(SadPath.<Happy, Sad>sadPath(new Sad()), countingExecutor)
+                .ifSad()
+                .map(sad -> expectedSad)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+        assertThat(dispatches.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void thenSad() {
+        Sad2 expectedSad = new Sad2();
+
+        BusinessFlow<Happy, Sad2> businessFlow = AsyncHappyPath.async(SadPath.<Happy, Sad>sadPath(new Sad()), countingExecutor)
+                .ifSad()
+                .then(sad -> SadPath.sadPath(expectedSad))
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+    }
+
+    @Test
+    public void recoverWithMapping() {
+        Happy expectedHappy = new Happy();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(SadPath.<Happy, Sad>sadPath(new Sad()), countingExecutor)
+                .ifSad()
+                .recover(sad -> expectedHappy)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getHappy()).isSameAs(expectedHappy);
+    }
+
+    @Test
+    public void recoverWithAttemptThatFailsIsATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(SadPath.<Happy, Sad>sadPath(new Sad()), countingExecutor)
+                .ifSad()
+                .recover(() -> {throw expectedTechnicalFailure;})
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void peekSad() {
+        Sad expectedSad = new Sad();
+        AtomicReference<Sad> peeked = new AtomicReference<>();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(SadPath.<Happy, Sad>sadPath(expectedSad), countingExecutor)
+                .ifSad()
+                .peek(peeked::set)
+                .toBusinessFlow();
+
+        assertThat(peeked.get()).isSameAs(expectedSad);
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+    }
+
+    @Test
+    public void happyIsNotDispatched() {
+        Happy expectedHappy = new Happy();
+
+        BusinessFlow<Happy, Sad2> businessFlow = AsyncHappyPath.async(SadPath.<Happy, Sad>happyPath(expectedHappy), countingExecutor)
+                .ifSad()
+                .map(sad -> new Sad2())
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getHappy()).isSameAs(expectedHappy);
+        assertThat(dispatches.get()).isZero();
+    }
+
+    @Test
+    public void viewsShareTheSameFuture() {
+        AsyncSadPath<Happy, Sad> asyncSadPath = AsyncHappyPath.async(SadPath.<Happy, Sad>sadPath(new Sad()), countingExecutor).ifSad();
+
+        assertThat(asyncSadPath.ifSad()).isSameAs(asyncSadPath);
+        assertThat(asyncSadPath.ifHappy().toCompletableFuture()).isSameAs(asyncSadPath.toCompletableFuture());
+        assertThat(asyncSadPath.ifTechnicalFailure().toCompletableFuture()).isSameAs(asyncSadPath.toCompletableFuture());
+    }
+}
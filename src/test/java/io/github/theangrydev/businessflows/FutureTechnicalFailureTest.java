@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FutureTechnicalFailureTest {
+
+    private final AtomicInteger dispatches = new AtomicInteger();
+    private final Executor countingExecutor = command -> {
+        dispatches.incrementAndGet();
+        command.run();
+    };
+    private final Exception technicalFailure = new Exception();
+
+    private class Happy {
+
+    }
+
+    private class Sad {
+
+    }
+
+    @Test
+    public void mapTechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(TechnicalFailure.<Happy, Sad>technicalFailure(technicalFailure), countingExecutor)
+                .ifTechnicalFailure()
+                .map(technicalFailure -> expectedTechnicalFailure)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(expectedTechnicalFailure);
+        assertThat(dispatches.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void thenTechnicalFailure() {
+        Happy expectedHappy = new Happy();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(TechnicalFailure.<Happy, Sad>technicalFailure(technicalFailure), countingExecutor)
+                .ifTechnicalFailure()
+                .then(technicalFailure -> TechnicalFailure.happyPath(expectedHappy))
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getHappy()).isSameAs(expectedHappy);
+    }
+
+    @Test
+    public void recoverWithMapping() {
+        Happy expectedHappy = new Happy();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(TechnicalFailure.<Happy, Sad>technicalFailure(technicalFailure), countingExecutor)
+                .ifTechnicalFailure()
+                .recover(technicalFailure -> expectedHappy)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getHappy()).isSameAs(expectedHappy);
+    }
+
+    @Test
+    public void recoverWithAttempt() {
+        Happy expectedHappy = new Happy();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(TechnicalFailure.<Happy, Sad>technicalFailure(technicalFailure), countingExecutor)
+                .ifTechnicalFailure()
+                .recover(() -> expectedHappy)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getHappy()).isSameAs(expectedHappy);
+    }
+
+    @Test
+    public void mapToSadPathWithMapping() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(TechnicalFailure.<Happy, Sad>technicalFailure(technicalFailure), countingExecutor)
+                .ifTechnicalFailure()
+                .mapToSadPath(technicalFailure -> expectedSad)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+    }
+
+    @Test
+    public void mapToSadPathWithAttempt() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(TechnicalFailure.<Happy, Sad>technicalFailure(technicalFailure), countingExecutor)
+                .ifTechnicalFailure()
+                .mapToSadPath(() -> expectedSad)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+    }
+
+    @Test
+    public void peekTechnicalFailure() {
+        AtomicReference<Exception> peeked = new AtomicReference<>();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(TechnicalFailure.<Happy, Sad>technicalFailure(technicalFailure), countingExecutor)
+                .ifTechnicalFailure()
+                .peek(peeked::set)
+                .toBusinessFlow();
+
+        assertThat(peeked.get()).isSameAs(technicalFailure);
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(technicalFailure);
+    }
+
+    @Test
+    public void sadIsNotDispatched() {
+        Sad expectedSad = new Sad();
+
+        BusinessFlow<Happy, Sad> businessFlow = AsyncHappyPath.async(TechnicalFailure.<Happy, Sad>sadPath(expectedSad), countingExecutor)
+                .ifTechnicalFailure()
+                .recover(technicalFailure -> new Happy())
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getSad()).isSameAs(expectedSad);
+        assertThat(dispatches.get()).isZero();
+    }
+
+    @Test
+    public void viewsShareTheSameFuture() {
+        AsyncTechnicalFailure<Happy, Sad> asyncTechnicalFailure = AsyncHappyPath.async(TechnicalFailure.<Happy, Sad>technicalFailure(technicalFailure), countingExecutor).ifTechnicalFailure();
+
+        assertThat(asyncTechnicalFailure.ifTechnicalFailure()).isSameAs(asyncTechnicalFailure);
+        assertThat(asyncTechnicalFailure.ifHappy().toCompletableFuture()).isSameAs(asyncTechnicalFailure.toCompletableFuture());
+        assertThat(asyncTechnicalFailure.ifSad().toCompletableFuture()).isSameAs(asyncTechnicalFailure.toCompletableFuture());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FuturesTest {
+
+    private final CompletableFuture<String> future = new CompletableFuture<>();
+
+    @After
+    public void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    public void joinIsTheResultOfTheFuture() throws Exception {
+        future.complete("result");
+
+        assertThat(Futures.join(future)).isEqualTo("result");
+    }
+
+    @Test
+    public void joinThrowsTheExceptionThatTheFutureFailedWith() {
+        IOException failure = new IOException();
+        future.completeExceptionally(failure);
+
+        assertThatThrownBy(() -> Futures.join(future)).isSameAs(failure);
+    }
+
+    @Test
+    public void joinThrowsTheErrorThatTheFutureFailedWith() {
+        AssertionError error = new AssertionError();
+        future.completeExceptionally(error);
+
+        assertThatThrownBy(() -> Futures.join(future)).isSameAs(error);
+    }
+
+    @Test
+    public void joinThrowsTheExecutionExceptionWhenTheFutureFailedWithAThrowableThatIsNeitherAnExceptionNorAnError() {
+        Throwable throwable = new Throwable();
+        future.completeExceptionally(throwable);
+
+        assertThatThrownBy(() -> Futures.join(future))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(throwable);
+    }
+
+    @Test
+    public void joinThatIsInterruptedKeepsTheThreadInterrupted() {
+        Thread.currentThread().interrupt();
+
+        assertThatThrownBy(() -> Futures.join(future)).isInstanceOf(InterruptedException.class);
+        assertThat(Thread.currentThread().isInterrupted()).isTrue();
+    }
+
+    @Test
+    public void unwrapIsTheExceptionThatCausedTheExecutionException() {
+        IOException failure = new IOException();
+
+        assertThat(Futures.unwrap(new ExecutionException(failure))).isSameAs(failure);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HappyCaseHappyPathTest {
+
+    class Happy {
+
+    }
+
+    private final Happy happy = new Happy();
+    private final HappyCaseHappyPath<Happy, Object> happyCaseHappyPath = new HappyCaseHappyPath<>(happy);
+
+    @Test
+    public void toOptionalIsPresent() {
+        assertThat(happyCaseHappyPath.toOptional()).contains(happy);
+    }
+
+    @Test
+    public void isPresent() {
+        AtomicReference<Happy> peeked = new AtomicReference<>();
+        happyCaseHappyPath.ifPresent(peeked::set);
+
+        assertThat(happyCaseHappyPath.isPresent()).isTrue();
+        assertThat(happyCaseHappyPath.get()).isSameAs(happy);
+        assertThat(happyCaseHappyPath.orElse(new Happy())).isSameAs(happy);
+        assertThat(happyCaseHappyPath.orElseGet(Happy::new)).isSameAs(happy);
+        assertThat(happyCaseHappyPath.orElseThrow(IllegalStateException::new)).isSameAs(happy);
+        assertThat(peeked.get()).isSameAs(happy);
+    }
+
+    @Test
+    public void viewsCreatedLaterAreSharedWithTheViewsThatAlreadyExist() {
+        SadPath<Happy, Object> sadPath = happyCaseHappyPath.ifSad();
+        TechnicalFailure<Happy, Object> technicalFailure = happyCaseHappyPath.ifTechnicalFailure();
+
+        assertThat(sadPath.ifTechnicalFailure()).isSameAs(technicalFailure);
+        assertThat(technicalFailure.ifSad()).isSameAs(sadPath);
+    }
+}
@@ -20,6 +20,7 @@ package io.github.theangrydev.businessflows;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class HappyCaseSadPathTest {
 
@@ -35,6 +36,19 @@ public class HappyCaseSadPathTest {
         assertThat(happyCaseSadPath.toOptional()).isEmpty();
     }
 
+    @Test
+    public void isNotPresent() {
+        Object alternative = new Object();
+        Exception exception = new Exception();
+
+        assertThat(happyCaseSadPath.isPresent()).isFalse();
+        assertThat(happyCaseSadPath.orElse(alternative)).isSameAs(alternative);
+        assertThat(happyCaseSadPath.orElseGet(() -> alternative)).isSameAs(alternative);
+        assertThatThrownBy(() -> happyCaseSadPath.orElseThrow(() -> exception)).isSameAs(exception);
+        assertThatThrownBy(happyCaseSadPath::get).isInstanceOf(IllegalStateException.class).hasMessage("Not present. This is: 'Happy: " + happy + "'.");
+        happyCaseSadPath.ifPresent(sad -> {throw new IllegalStateException("Should not be present");});
+    }
+
     @Test
     public void ifTechnicalFailureIsHappyCase() {
         assertThat(happyCaseSadPath.ifTechnicalFailure()).isInstanceOf(HappyCaseTechnicalFailure.class);
@@ -57,6 +57,19 @@ public class HappyCaseTechnicalFailureTest {
         assertThat(happyCaseTechnicalFailure.ifHappy().get()).isEqualTo(happy);
     }
 
+    @Test
+    public void viewsAreSharedWhenSwitchingBetweenThem() {
+        assertThat(happyCaseTechnicalFailure.ifHappy()).isSameAs(happyCaseTechnicalFailure.ifHappy());
+        assertThat(happyCaseTechnicalFailure.ifSad()).isSameAs(happyCaseTechnicalFailure.ifSad());
+        assertThat(happyCaseTechnicalFailure.ifHappy().ifTechnicalFailure()).isSameAs(happyCaseTechnicalFailure);
+        assertThat(happyCaseTechnicalFailure.ifHappy().ifSad().ifTechnicalFailure()).isSameAs(happyCaseTechnicalFailure);
+    }
+
+    @Test
+    public void recoverReturnsTheSharedHappyPathView() {
+        assertThat(happyCaseTechnicalFailure.recover((Attempt<Happy>) null)).isSameAs(happyCaseTechnicalFailure.ifHappy());
+    }
+
     @Test
     public void ifSadIsHappyCase() {
         assertThat(happyCaseTechnicalFailure.ifSad()).isInstanceOf(HappyCaseSadPath.class);
@@ -20,6 +20,7 @@ package io.github.theangrydev.businessflows;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class HappyCaseTest {
 
@@ -41,6 +42,20 @@ public class HappyCaseTest {
         assertThat(happyCase).hasToString("Happy: " + happy);
     }
 
+    @Test
+    public void isOnlyHappy() {
+        assertThat(happyCase.isHappy()).isTrue();
+        assertThat(happyCase.isSad()).isFalse();
+        assertThat(happyCase.isTechnicalFailure()).isFalse();
+    }
+
+    @Test
+    public void getsOnlyHappy() {
+        assertThat(happyCase.getHappy()).isSameAs(happy);
+        assertThatThrownBy(happyCase::getSad).isInstanceOf(IllegalStateException.class).hasMessage("Not present. This is: 'Happy: " + happy + "'.");
+        assertThatThrownBy(happyCase::getTechnicalFailure).isInstanceOf(IllegalStateException.class).hasMessage("Not present. This is: 'Happy: " + happy + "'.");
+    }
+
     @Test
     public void joinsHappy() {
         String join = happyCase.join(Object::toString, null, null);
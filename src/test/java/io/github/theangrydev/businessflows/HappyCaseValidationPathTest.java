@@ -0,0 +1,279 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static io.github.theangrydev.businessflows.PotentialFailure.success;
+import static io.github.theangrydev.businessflows.ValidationPath.validators;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HappyCaseValidationPathTest {
+
+    private final ExecutorService executorService = newFixedThreadPool(4);
+    private final Happy happy = new Happy();
+
+    private class Happy {
+
+    }
+
+    private class Sad {
+
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void validateUntilFirstFailureSkipsTheRemainingValidators() {
+        Sad expectedSad = new Sad();
+        AtomicBoolean lastValidatorRan = new AtomicBoolean();
+
+        List<Sad> validationFailures = ValidationPath.<Happy, Sad>validationPath(happy)
+                .validateUntilFirstFailure(validators(
+                        happy -> success(),
+                        happy -> failure(expectedSad),
+                        happy -> {
+                            lastValidatorRan.set(true);
+                            return failure(new Sad());
+                        }))
+                .getSad();
+
+        assertThat(validationFailures).containsExactly(expectedSad);
+        assertThat(lastValidatorRan.get()).isFalse();
+    }
+
+    @Test
+    public void validateUpToStopsAfterTheMaximumNumberOfFailures() {
+        Sad first = new Sad();
+        Sad second = new Sad();
+        AtomicBoolean lastValidatorRan = new AtomicBoolean();
+
+        List<Sad> validationFailures = ValidationPath.<Happy, Sad>validationPath(happy)
+                .validateUpTo(2, validators(
+                        happy -> failure(first),
+                        happy -> success(),
+                        happy -> failure(second),
+                        happy -> {
+                            lastValidatorRan.set(true);
+                            return failure(new Sad());
+                        }))
+                .getSad();
+
+        assertThat(validationFailures).containsExactly(first, second);
+        assertThat(lastValidatorRan.get()).isFalse();
+    }
+
+    @Test
+    public void validateUpToWithFewerFailuresRunsAllTheValidators() {
+        Sad expectedSad = new Sad();
+
+        List<Sad> validationFailures = ValidationPath.<Happy, Sad>validationPath(happy)
+                .validateUpTo(5, validators(happy -> success(), happy -> failure(expectedSad)))
+                .getSad();
+
+        assertThat(validationFailures).containsExactly(expectedSad);
+    }
+
+    @Test
+    public void validateUpToIntoMapsTheFailures() {
+        Integer numberOfFailures = ValidationPath.<Happy, Sad, Integer>validationPathInto(happy, failures -> 0)
+                .validateUpToInto(2, List::size, validators(happy -> failure(new Sad()), happy -> failure(new Sad()), happy -> failure(new Sad())))
+                .getSad();
+
+        assertThat(numberOfFailures).isEqualTo(2);
+    }
+
+    @Test
+    public void validateUpToWithATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+
+        Exception technicalFailure = ValidationPath.<Happy, Sad>validationPath(happy)
+                .validateUpTo(2, validators(happy -> failure(new Sad()), happy -> {throw expectedTechnicalFailure;}))
+                .getTechnicalFailure();
+
+        assertThat(technicalFailure).isSameAs(expectedTechnicalFailure);
+    }
+
+    @Test
+    public void validateUpToRequiresAPositiveMaximum() {
+        assertThatThrownBy(() -> ValidationPath.<Happy, Sad>validationPath(happy).validateUpTo(0, validators()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maximum number of failures must be positive but was: 0");
+    }
+
+    @Test
+    public void validateInParallelKeepsTheOrderOfTheFailures() {
+        Sad first = new Sad();
+        Sad second = new Sad();
+        Sad third = new Sad();
+        CountDownLatch firstMayFinish = new CountDownLatch(1);
+
+        List<Sad> validationFailures = ValidationPath.<Happy, Sad>validationPath(happy)
+                .validateAllInParallel(executorService, validators(
+                        happy -> success(),
+                        happy -> {
+                            firstMayFinish.await();
+                            return failure(first);
+                        },
+                        happy -> failure(second),
+                        happy -> {
+                            firstMayFinish.countDown();
+                            return failure(third);
+                        }))
+                .getSad();
+
+        assertThat(validationFailures).containsExactly(first, second, third);
+    }
+
+    @Test
+    public void validateInParallelRunsTheValidatorsConcurrently() {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        ValidationPath<Happy, Sad, List<Sad>> validationPath = ValidationPath.<Happy, Sad>validationPath(happy)
+                .validateAllInParallel(executorService, validators(
+                        happy -> {
+                            bothRunning.countDown();
+                            bothRunning.await();
+                            return success();
+                        },
+                        happy -> {
+                            bothRunning.countDown();
+                            bothRunning.await();
+                            return success();
+                        }));
+
+        assertThat(validationPath.getHappy()).isSameAs(happy);
+    }
+
+    @Test
+    public void validateInParallelWithNoFailuresReturnsTheSameValidationPath() {
+        ValidationPath<Happy, Sad, List<Sad>> validationPath = ValidationPath.validationPath(happy);
+
+        assertThat(validationPath.validateAllInParallel(executorService, validators(happy -> success(), happy -> success()))).isSameAs(validationPath);
+    }
+
+    @Test
+    public void validateInParallelWithNoValidatorsReturnsTheSameValidationPath() {
+        ValidationPath<Happy, Sad, List<Sad>> validationPath = ValidationPath.validationPath(happy);
+
+        assertThat(validationPath.validateAllInParallel(executorService, validators())).isSameAs(validationPath);
+    }
+
+    @Test
+    public void validateIntoWithNoFailuresKeepsTheNewMappingForLaterFailures() {
+        Integer numberOfFailures = ValidationPath.<Happy, Sad, Integer>validationPathInto(happy, failures -> 0)
+                .validateAllInParallelInto(executorService, List::size, validators(happy -> success()))
+                .validateAll(validators(happy -> failure(new Sad()), happy -> failure(new Sad())))
+                .getSad();
+
+        assertThat(numberOfFailures).isEqualTo(2);
+    }
+
+    @Test
+    public void validateInParallelIntoMapsTheFailures() {
+        Sad sad = new Sad();
+
+        Integer numberOfFailures = ValidationPath.<Happy, Sad, Integer>validationPathInto(happy, failures -> 0)
+                .validateAllInParallelInto(executorService, List::size, validators(happy -> failure(sad), happy -> failure(sad)))
+                .getSad();
+
+        assertThat(numberOfFailures).isEqualTo(2);
+    }
+
+    @Test
+    public void validateInParallelReportsTheFirstTechnicalFailureInListOrder() {
+        Exception first = new Exception();
+        Exception second = new Exception();
+        CountDownLatch secondHasFailed = new CountDownLatch(1);
+
+        Exception technicalFailure = ValidationPath.<Happy, Sad>validationPath(happy)
+                .validateAllInParallel(executorService, validators(
+                        happy -> success(),
+                        happy -> {
+                            secondHasFailed.await();
+                            throw first;
+                        },
+                        happy -> {
+                            secondHasFailed.countDown();
+                            throw second;
+                        }))
+                .getTechnicalFailure();
+
+        assertThat(technicalFailure).isSameAs(first);
+    }
+
+    @Test
+    public void validatorsThatHaveNotStartedAreNotRunAfterATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+        AtomicBoolean lastValidatorRan = new AtomicBoolean();
+        List<Runnable> notStarted = new ArrayList<>();
+        Executor runsOnlyTheFirstCommand = command -> {
+            if (notStarted.isEmpty() && !lastValidatorRan.get()) {
+                notStarted.add(() -> {});
+                command.run();
+            } else {
+                notStarted.add(command);
+            }
+        };
+
+        Exception technicalFailure = ValidationPath.<Happy, Sad>validationPath(happy)
+                .validateAllInParallel(runsOnlyTheFirstCommand, validators(
+                        happy -> success(),
+                        happy -> {throw expectedTechnicalFailure;},
+                        happy -> {
+                            lastValidatorRan.set(true);
+                            return success();
+                        }))
+                .getTechnicalFailure();
+        notStarted.forEach(Runnable::run);
+
+        assertThat(technicalFailure).isSameAs(expectedTechnicalFailure);
+        assertThat(lastValidatorRan.get()).isFalse();
+    }
+
+    @Test
+    public void rejectedExecutionIsATechnicalFailure() {
+        Exception technicalFailure = ValidationPath.<Happy, Sad>validationPath(happy)
+                .validateAllInParallel(command -> {throw new IllegalStateException("rejected");}, validators(happy -> success(), happy -> success()))
+                .getTechnicalFailure();
+
+        assertThat(technicalFailure).hasMessage("rejected");
+    }
+
+    @Test
+    public void otherViewsSwitchToAPlainHappyPath() {
+        HappyPath<Happy, List<Sad>> happyPath = ValidationPath.<Happy, Sad>validationPath(happy).ifSad().ifHappy();
+
+        assertThat(happyPath).isExactlyInstanceOf(HappyCaseHappyPath.class);
+        assertThat(happyPath.ifTechnicalFailure().ifHappy()).isSameAs(happyPath);
+    }
+}
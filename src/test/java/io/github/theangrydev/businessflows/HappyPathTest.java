@@ -19,14 +19,22 @@ package io.github.theangrydev.businessflows;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static io.github.theangrydev.businessflows.HappyPath.actions;
 import static io.github.theangrydev.businessflows.PotentialFailure.failure;
 import static io.github.theangrydev.businessflows.PotentialFailure.success;
 import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class HappyPathTest {
 
@@ -87,6 +95,26 @@ public class HappyPathTest {
         assertThat(actualTechnicalFailure).isSameAs(technicalFailure);
     }
 
+    @Test
+    public void stacklessTechnicalFailureHappyPath() {
+        Exception technicalFailure = HappyPath.stacklessTechnicalFailure("message").getTechnicalFailure();
+
+        assertThat(technicalFailure).isInstanceOf(StacklessException.class).hasMessage("message");
+        assertThat(technicalFailure.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    public void mappingThatThrowsAStacklessExceptionIsATechnicalFailureWithoutAStackTrace() {
+        Exception cause = new Exception();
+
+        Exception technicalFailure = HappyPath.happyPath(new Happy())
+                .map(happy -> {throw StacklessException.stacklessException("expected", cause);})
+                .getTechnicalFailure();
+
+        assertThat(technicalFailure.getStackTrace()).isEmpty();
+        assertThat(technicalFailure.getCause()).isSameAs(cause);
+    }
+
     @Test
     public void happyAttemptThatSucceedsWithNoFailureMappingResultsInHappy() {
         Happy originalHappy = new Happy();
@@ -201,6 +229,25 @@ public class HappyPathTest {
         assertThat(actualHappy).isSameAs(originalHappy);
     }
 
+    @Test
+    public void attemptWithNoFailureReturnsTheSameHappyPath() {
+        HappyPath<Happy, Sad> happyPath = HappyPath.happyPath(new Happy());
+
+        assertThat(happyPath.attempt(happy -> success())).isSameAs(happyPath);
+        assertThat(happyPath.attemptAll(actions(happy -> success(), happy -> success()))).isSameAs(happyPath);
+    }
+
+    @Test
+    public void attemptAllStopsAtTheFirstFailure() {
+        Sad expectedSad = new Sad();
+
+        Sad actualSad = HappyPath.<Happy, Sad>happyPath(new Happy())
+                .attemptAll(actions(happy -> failure(expectedSad), happy -> {throw new IllegalStateException("Should not be attempted");}))
+                .ifSad().get();
+
+        assertThat(actualSad).isSameAs(expectedSad);
+    }
+
     @Test
     public void attemptWithUncaughtExceptionTurnsSad() {
         Exception uncaughtException = new Exception();
@@ -343,4 +390,164 @@ public class HappyPathTest {
 
         assertThat(join).isEqualTo(originalHappy.getClass().getSimpleName());
     }
+
+    @Test
+    public void attemptAllInParallelWithNoFailuresReturnsTheSameHappyPath() {
+        ExecutorService executorService = newFixedThreadPool(2);
+        try {
+            HappyPath<Happy, Sad> happyPath = HappyPath.happyPath(new Happy());
+
+            HappyPath<Happy, Sad> result = happyPath.attemptAllInParallel(executorService, actions(happy -> success(), happy -> success(), happy -> success()));
+
+            assertThat(result).isSameAs(happyPath);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void attemptAllInParallelReturnsTheFirstSadInListOrder() {
+        Sad first = new Sad();
+        CountDownLatch secondHasFailed = new CountDownLatch(1);
+        ExecutorService executorService = newFixedThreadPool(2);
+        try {
+            Sad actualSad = HappyPath.<Happy, Sad>happyPath(new Happy())
+                    .attemptAllInParallel(executorService, actions(
+                            happy -> success(),
+                            happy -> {
+                                secondHasFailed.await();
+                                return failure(first);
+                            },
+                            happy -> {
+                                secondHasFailed.countDown();
+                                return failure(new Sad());
+                            }))
+                    .getSad();
+
+            assertThat(actualSad).isSameAs(first);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void attemptAllInParallelSadBeforeATechnicalFailureIsSad() {
+        Sad expectedSad = new Sad();
+        ExecutorService executorService = newFixedThreadPool(2);
+        try {
+            Sad actualSad = HappyPath.<Happy, Sad>happyPath(new Happy())
+                    .attemptAllInParallel(executorService, actions(happy -> failure(expectedSad), happy -> {throw new Exception();}))
+                    .getSad();
+
+            assertThat(actualSad).isSameAs(expectedSad);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void attemptAllInParallelDoesNotRunActionsAfterATechnicalFailure() {
+        Exception expectedTechnicalFailure = new Exception();
+        AtomicBoolean lastActionRan = new AtomicBoolean();
+        List<Runnable> notStarted = new ArrayList<>();
+        Executor runsOnlyTheFirstCommand = command -> {
+            if (notStarted.isEmpty() && !lastActionRan.get()) {
+                notStarted.add(() -> {});
+                command.run();
+            } else {
+                notStarted.add(command);
+            }
+        };
+
+        Exception technicalFailure = HappyPath.<Happy, Sad>happyPath(new Happy())
+                .attemptAllInParallel(runsOnlyTheFirstCommand, actions(
+                        happy -> success(),
+                        happy -> {throw expectedTechnicalFailure;},
+                        happy -> {
+                            lastActionRan.set(true);
+                            return success();
+                        }))
+                .getTechnicalFailure();
+        notStarted.forEach(Runnable::run);
+
+        assertThat(technicalFailure).isSameAs(expectedTechnicalFailure);
+        assertThat(lastActionRan.get()).isFalse();
+    }
+
+    @Test
+    public void attemptAllInParallelSkipsActionsAfterAKnownFailure() {
+        Sad expectedSad = new Sad();
+        AtomicBoolean lastActionRan = new AtomicBoolean();
+        List<Runnable> queued = new ArrayList<>();
+
+        Sad actualSad = HappyPath.<Happy, Sad>happyPath(new Happy())
+                .attemptAllInParallel(queued::add, actions(
+                        happy -> {
+                            queued.forEach(Runnable::run);
+                            return success();
+                        },
+                        happy -> failure(expectedSad),
+                        happy -> {
+                            lastActionRan.set(true);
+                            return success();
+                        }))
+                .getSad();
+
+        assertThat(actualSad).isSameAs(expectedSad);
+        assertThat(lastActionRan.get()).isFalse();
+    }
+
+    @Test
+    public void attemptAllInParallelWithNoActionsReturnsTheSameHappyPath() {
+        HappyPath<Happy, Sad> happyPath = HappyPath.happyPath(new Happy());
+
+        assertThat(happyPath.attemptAllInParallel(Runnable::run, actions())).isSameAs(happyPath);
+    }
+
+    @Test
+    public void attemptAllInParallelStillRunsActionsBeforeAKnownFailure() {
+        Sad expectedSad = new Sad();
+        List<Runnable> queued = new ArrayList<>();
+
+        Sad actualSad = HappyPath.<Happy, Sad>happyPath(new Happy())
+                .attemptAllInParallel(queued::add, actions(
+                        happy -> {
+                            queued.get(1).run();
+                            queued.get(0).run();
+                            return success();
+                        },
+                        happy -> failure(expectedSad),
+                        happy -> {throw new Exception();}))
+                .getSad();
+
+        assertThat(actualSad).isSameAs(expectedSad);
+    }
+
+    @Test
+    public void attemptAllInParallelRethrowsErrors() {
+        AssertionError error = new AssertionError();
+        HappyPath<Happy, Sad> happyPath = HappyPath.happyPath(new Happy());
+
+        assertThatThrownBy(() -> happyPath.attemptAllInParallel(Runnable::run, actions(happy -> success(), happy -> {throw error;})))
+                .isSameAs(error);
+    }
+
+    @Test
+    public void attemptAllInParallelDoesNotRunActionsAfterAnError() {
+        AssertionError error = new AssertionError();
+        AtomicBoolean lastActionRan = new AtomicBoolean();
+        List<Runnable> queued = new ArrayList<>();
+        HappyPath<Happy, Sad> happyPath = HappyPath.happyPath(new Happy());
+
+        assertThatThrownBy(() -> happyPath.attemptAllInParallel(queued::add, actions(
+                happy -> {throw error;},
+                happy -> {
+                    lastActionRan.set(true);
+                    return success();
+                })))
+                .isSameAs(error);
+        queued.forEach(Runnable::run);
+
+        assertThat(lastActionRan.get()).isFalse();
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyIllegalStateExceptionTest {
+
+    private final CountingBusinessCase businessCase = new CountingBusinessCase();
+
+    private static class CountingException extends Exception {
+        private static final long serialVersionUID = 1L;
+        private int descriptions;
+
+        @Override
+        public String toString() {
+            descriptions++;
+            return "technical failure";
+        }
+    }
+
+    private static class CountingBusinessCase {
+        private int descriptions;
+
+        @Override
+        public String toString() {
+            descriptions++;
+            return "business case";
+        }
+    }
+
+    @Test
+    public void rendersTheTechnicalFailureOnlyWhenTheMessageIsAskedFor() {
+        CountingException technicalFailure = new CountingException();
+
+        LazyIllegalStateException exception = LazyIllegalStateException.notPresent(new TechnicalFailureCase<>(technicalFailure));
+
+        assertThat(technicalFailure.descriptions).isZero();
+        String message = exception.getMessage();
+        int descriptions = technicalFailure.descriptions;
+        assertThat(message).startsWith("Not present. This is: 'Technical Failure: technical failure");
+        assertThat(exception.getMessage()).isEqualTo(message);
+        assertThat(technicalFailure.descriptions).isPositive().isEqualTo(descriptions);
+    }
+
+    @Test
+    public void describesAnyOtherBusinessCaseWhenItIsCreated() {
+        LazyIllegalStateException exception = LazyIllegalStateException.notPresent(businessCase);
+
+        assertThat(businessCase.descriptions).isEqualTo(1);
+        assertThat(exception.getMessage()).isEqualTo("Not present. This is: 'business case'.");
+        assertThat(businessCase.descriptions).isEqualTo(1);
+    }
+
+    @Test
+    public void messageDoesNotChangeWhenTheBusinessCaseDoes() {
+        StringBuilder happy = new StringBuilder("before");
+
+        LazyIllegalStateException exception = LazyIllegalStateException.notPresent(new HappyCase<>(happy));
+        happy.append(" and after");
+
+        assertThat(exception.getMessage()).isEqualTo("Not present. This is: 'Happy: before'.");
+    }
+
+    @Test
+    public void caughtWhenJoiningHasTheTechnicalFailureAsTheCause() {
+        Exception technicalFailure = new Exception();
+
+        LazyIllegalStateException exception = LazyIllegalStateException.caughtWhenJoining(businessCase, technicalFailure);
+
+        assertThat(exception.getCause()).isSameAs(technicalFailure);
+        assertThat(exception.getMessage()).isEqualTo("Exception caught when joining. Business case is: 'business case'.");
+    }
+
+    @Test
+    public void isSerializedWithTheFormattedMessageInsteadOfTheBusinessCase() throws Exception {
+        Exception technicalFailure = new Exception("technical failure");
+        LazyIllegalStateException exception = LazyIllegalStateException.caughtWhenJoining(businessCase, technicalFailure);
+        exception.addSuppressed(new Exception("first suppressed"));
+        exception.addSuppressed(new Exception("second suppressed"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(exception);
+        }
+        IllegalStateException deserialized;
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (IllegalStateException) objectInputStream.readObject();
+        }
+
+        assertThat(deserialized).hasMessage("Exception caught when joining. Business case is: 'business case'.");
+        assertThat(deserialized.getCause()).hasMessage("technical failure");
+        assertThat(deserialized.getStackTrace()).isEqualTo(exception.getStackTrace());
+        assertThat(deserialized.getSuppressed()).extracting(Throwable::getMessage).containsExactly("first suppressed", "second suppressed");
+    }
+}
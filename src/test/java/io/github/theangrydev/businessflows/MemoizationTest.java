@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static io.github.theangrydev.businessflows.PotentialFailure.success;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MemoizationTest {
+
+    private final Memoization memoization = Memoization.memoizing(10, Duration.ofHours(1));
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void mappingIsOnlyCalledOncePerInput() {
+        Mapping<String, Integer> length = memoization.memoizingMapping(old -> {
+            calls.incrementAndGet();
+            return old.length();
+        });
+
+        assertThat(HappyPath.<String, String>happyPath("one").map(length).get()).isEqualTo(3);
+        assertThat(HappyPath.<String, String>happyPath("one").map(length).get()).isEqualTo(3);
+        assertThat(HappyPath.<String, String>happyPath("three").map(length).get()).isEqualTo(5);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void technicalFailuresAreNotRemembered() {
+        Mapping<String, Integer> failing = memoization.memoizingMapping(old -> {
+            calls.incrementAndGet();
+            throw new IOException();
+        });
+
+        assertThat(HappyPath.<String, String>happyPath("one").map(failing).getTechnicalFailure()).isInstanceOf(IOException.class);
+        assertThat(HappyPath.<String, String>happyPath("one").map(failing).getTechnicalFailure()).isInstanceOf(IOException.class);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void flowsThatAreTechnicalFailuresAreNotRemembered() {
+        Mapping<String, BusinessFlow<String, String>> failing = memoization.memoizingMapping(old -> {
+            calls.incrementAndGet();
+            return HappyPath.technicalFailure(new IOException());
+        });
+
+        assertThat(HappyPath.<String, String>happyPath("one").then(failing).getTechnicalFailure()).isInstanceOf(IOException.class);
+        assertThat(HappyPath.<String, String>happyPath("one").then(failing).getTechnicalFailure()).isInstanceOf(IOException.class);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void flowsThatAreNotTechnicalFailuresAreRemembered() {
+        Mapping<String, BusinessFlow<String, String>> sad = memoization.memoizingMapping(old -> {
+            calls.incrementAndGet();
+            return HappyPath.sadPath(old);
+        });
+
+        assertThat(HappyPath.<String, String>happyPath("one").then(sad).getSad()).isEqualTo("one");
+        assertThat(HappyPath.<String, String>happyPath("one").then(sad).getSad()).isEqualTo("one");
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void resultsExpireAfterTheTimeToLive() throws Exception {
+        Mapping<String, Integer> length = Memoization.memoizing(10, Duration.ofMillis(1)).memoizingMapping(old -> {
+            calls.incrementAndGet();
+            return old.length();
+        });
+
+        length.map("one");
+        Thread.sleep(5);
+        length.map("one");
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void validatorSuccessesAreRemembered() {
+        Validator<String, String> validator = memoization.memoizingValidator(happy -> {
+            calls.incrementAndGet();
+            return success();
+        });
+
+        ValidationPath.validateAll("happy", asList(validator, validator)).get();
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void validatorFailuresAreNotRememberedByDefault() {
+        Validator<String, String> validator = memoization.memoizingValidator(happy -> {
+            calls.incrementAndGet();
+            return failure("sad");
+        });
+
+        assertThat(ValidationPath.validateAll("happy", asList(validator, validator)).getSad()).containsExactly("sad", "sad");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void validatorFailuresCanBeRemembered() {
+        Validator<String, String> validator = memoization.includingFailures().memoizingValidator(happy -> {
+            calls.incrementAndGet();
+            return failure("sad");
+        });
+
+        assertThat(ValidationPath.validateAll("happy", asList(validator, validator)).getSad()).containsExactly("sad", "sad");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void fieldValidatorRemembersTheResultForEachField() throws Exception {
+        FieldValidator<String, String, Integer> validator = memoization.memoizingFieldValidator(String::length, length -> {
+            calls.incrementAndGet();
+            return success();
+        });
+
+        validator.attempt("one");
+        validator.attempt("two");
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void maximumSizeMustBePositive() {
+        assertThatThrownBy(() -> Memoization.memoizing(0, Duration.ofHours(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maximum size must be positive but was: 0");
+    }
+
+    @Test
+    public void timeToLiveMustBePositive() {
+        assertThatThrownBy(() -> Memoization.memoizing(10, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The time to live must be positive but was: PT0S");
+        assertThatThrownBy(() -> Memoization.memoizing(10, Duration.ofNanos(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The time to live must be positive but was: PT-0.000000001S");
+    }
+}
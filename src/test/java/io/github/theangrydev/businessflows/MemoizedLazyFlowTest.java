@@ -0,0 +1,316 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MemoizedLazyFlowTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicInteger mappings = new AtomicInteger();
+    private final IllegalStateException technicalFailure = new IllegalStateException();
+
+    private final LazyFlow<String, String> lazyFlow = LazyFlow.lazyAttempt(() -> {
+        attempts.incrementAndGet();
+        return "happy";
+    });
+
+    @Test
+    public void nothingIsRunUntilTheOutcomeIsNeeded() {
+        LazyFlow<Integer, String> mapped = lazyFlow.map(this::countedLength);
+
+        assertThat(attempts.get()).isEqualTo(0);
+        assertThat(mappings.get()).isEqualTo(0);
+        assertThat(mapped.getHappy()).isEqualTo(5);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void stepsOfAFlowThatIsNeverQueriedAreNeverRun() {
+        lazyFlow.map(this::countedLength);
+
+        assertThat(lazyFlow.isHappy()).isTrue();
+        assertThat(mappings.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void outcomeIsMemoized() {
+        LazyFlow<Integer, String> mapped = lazyFlow.map(this::countedLength);
+
+        assertThat(mapped.isHappy()).isTrue();
+        assertThat(mapped.<Integer>join(happy -> happy, sad -> -1, technicalFailure -> -2)).isEqualTo(5);
+        assertThat(mapped.ifHappy().get()).isEqualTo(5);
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(mappings.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void attemptIsSharedByTheFlowsDerivedFromIt() {
+        LazyFlow<Integer, String> first = lazyFlow.map(this::countedLength);
+        LazyFlow<String, String> second = lazyFlow.map(String::toUpperCase);
+
+        assertThat(first.getHappy()).isEqualTo(5);
+        assertThat(second.getHappy()).isEqualTo("HAPPY");
+        assertThat(lazyFlow.getHappy()).isEqualTo("happy");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void stepsOfAnEvaluatedFlowAreNotRunAgainByTheFlowsDerivedFromIt() {
+        LazyFlow<Integer, String> mapped = lazyFlow.map(this::countedLength);
+        mapped.getHappy();
+
+        LazyFlow<Integer, String> doubled = mapped.map(length -> length * 2);
+
+        assertThat(doubled.getHappy()).isEqualTo(10);
+        assertThat(mappings.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void stepsAddedBeforeTheFlowIsEvaluatedAreRunTogetherWithoutEvaluatingIt() {
+        LazyFlow<Integer, String> mapped = lazyFlow.map(this::countedLength);
+        LazyFlow<Integer, String> doubled = mapped.map(length -> length * 2);
+
+        assertThat(doubled.getHappy()).isEqualTo(10);
+        assertThat(mapped.toString()).isEqualTo("Not evaluated yet");
+    }
+
+    @Test
+    public void attemptThatFailsIsSadAndCanBeRecovered() {
+        LazyFlow<String, String> sad = lazyFlow.attempt(happy -> PotentialFailure.failure("sad"));
+
+        assertThat(sad.getSad()).isEqualTo("sad");
+        assertThat(sad.recover(sadObject -> "recovered " + sadObject).getHappy()).isEqualTo("recovered sad");
+    }
+
+    @Test
+    public void sadOutcomeCanBeQueriedInEveryWay() throws Exception {
+        LazyFlow<String, String> sad = lazyFlow.attempt(happy -> PotentialFailure.failure("sad"));
+        List<String> consumed = new ArrayList<>();
+
+        sad.consumeOrThrow(consumed::add, consumed::add);
+
+        assertThat(consumed).containsExactly("sad");
+        assertThat(sad.isSad()).isTrue();
+        assertThat(sad.isTechnicalFailure()).isFalse();
+        assertThat(sad.ifSad().get()).isEqualTo("sad");
+        assertThat(sad.ifTechnicalFailure().isPresent()).isFalse();
+        assertThat(sad.toPotentialFailure(technicalFailure -> "failure").get()).isEqualTo("sad");
+        assertThat(sad.<String>joinOrThrow(happy -> happy, sadObject -> "joined " + sadObject)).isEqualTo("joined sad");
+    }
+
+    @Test
+    public void thenIsAppliedToTheHappyObject() {
+        LazyFlow<Integer, String> then = lazyFlow.then(happy -> SadPath.sadPath(happy + " was sad"));
+
+        assertThat(then.getSad()).isEqualTo("happy was sad");
+    }
+
+    @Test
+    public void attemptThatThrowsIsATechnicalFailure() {
+        LazyFlow<String, String> failed = LazyFlow.lazyPathAttempt(() -> {
+            throw technicalFailure;
+        });
+
+        assertThat(failed.map(this::countedLength).getTechnicalFailure()).isSameAs(technicalFailure);
+        assertThat(mappings.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void consumeEvaluatesTheFlow() {
+        List<String> consumed = new ArrayList<>();
+
+        lazyFlow.consume(consumed::add, consumed::add, technicalFailure -> consumed.add("failure"));
+
+        assertThat(consumed).containsExactly("happy");
+    }
+
+    @Test
+    public void toStringDoesNotEvaluateTheFlow() {
+        assertThat(lazyFlow.toString()).isEqualTo("Not evaluated yet");
+        assertThat(attempts.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void toStringDescribesTheOutcomeOnceTheFlowIsEvaluated() {
+        lazyFlow.getHappy();
+
+        assertThat(lazyFlow.toString()).isEqualTo("Happy: happy");
+    }
+
+    @Test
+    public void deeplyRecursiveThenChainsAreEvaluatedInConstantStackSpace() {
+        assertThat(countDown(100_000).getHappy()).isEqualTo("done");
+    }
+
+    @Test
+    public void deeplyRecursiveThenChainsWithStepsAfterTheRecursionAreEvaluatedInConstantStackSpace() {
+        assertThat(sumTo(100_000).getHappy()).isEqualTo(5_000_050_000L);
+    }
+
+    @Test
+    public void deeplyNestedAttemptsAreEvaluatedInConstantStackSpace() {
+        assertThat(nested(100_000).getHappy()).isEqualTo(0);
+    }
+
+    @Test
+    public void recursionThatEndsSadIsSad() {
+        LazyFlow<String, String> sad = countDown(1_000).attempt(done -> PotentialFailure.failure("sad"));
+
+        assertThat(sad.getSad()).isEqualTo("sad");
+    }
+
+    @Test
+    public void flowThatDependsOnItselfIsATechnicalFailure() {
+        AtomicReference<LazyFlow<String, String>> self = new AtomicReference<>();
+        self.set(LazyFlow.lazyPathAttempt(self::get));
+
+        assertThat(self.get().getTechnicalFailure())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The lazy flow depends on itself");
+    }
+
+    @Test(timeout = 10_000)
+    public void flowThatThrowsAnErrorCanBeEvaluatedAgain() {
+        AssertionError error = new AssertionError();
+        LazyFlow<String, String> failsOnce = LazyFlow.lazyAttempt(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw error;
+            }
+            return "happy";
+        });
+        LazyFlow<Integer, String> mapped = failsOnce.map(this::countedLength);
+
+        assertThatThrownBy(mapped::isHappy).isSameAs(error);
+        assertThat(mapped.getHappy()).isEqualTo(5);
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test(timeout = 10_000)
+    public void attemptIsOnlyRunOnceWhenTheFlowIsEvaluatedFromSeveralThreads() throws InterruptedException {
+        CountDownLatch attemptStarted = new CountDownLatch(1);
+        CountDownLatch finishAttempt = new CountDownLatch(1);
+        LazyFlow<String, String> slowFlow = LazyFlow.lazyAttempt(() -> {
+            attempts.incrementAndGet();
+            attemptStarted.countDown();
+            finishAttempt.await();
+            return "happy";
+        });
+        Thread evaluator = new Thread(slowFlow::isHappy);
+        evaluator.start();
+        attemptStarted.await();
+
+        Thread waiter = new Thread(slowFlow::isHappy);
+        waiter.start();
+        awaitWaiting(waiter);
+        finishAttempt.countDown();
+        evaluator.join();
+        waiter.join();
+
+        assertThat(slowFlow.getHappy()).isEqualTo("happy");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test(timeout = 10_000)
+    public void threadsThatAreWaitingEvaluateTheFlowThemselvesWhenTheEvaluatorGivesUp() throws InterruptedException {
+        AssertionError error = new AssertionError();
+        CountDownLatch attemptStarted = new CountDownLatch(1);
+        CountDownLatch finishAttempt = new CountDownLatch(1);
+        LazyFlow<String, String> failsOnce = LazyFlow.lazyAttempt(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                attemptStarted.countDown();
+                finishAttempt.await();
+                throw error;
+            }
+            return "happy";
+        });
+        Thread evaluator = new Thread(failsOnce::isHappy);
+        evaluator.setUncaughtExceptionHandler((thread, failure) -> {});
+        evaluator.start();
+        attemptStarted.await();
+
+        AtomicReference<String> waited = new AtomicReference<>();
+        Thread waiter = new Thread(() -> waited.set(failsOnce.getHappy()));
+        waiter.start();
+        awaitWaiting(waiter);
+        finishAttempt.countDown();
+        evaluator.join();
+        waiter.join();
+
+        assertThat(waited.get()).isEqualTo("happy");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test(timeout = 10_000)
+    public void flowCanBeEvaluatedOnAnotherThreadAfterItHasBeenDescribedAndExtended() throws InterruptedException {
+        LazyFlow<Integer, String> mapped = lazyFlow.map(this::countedLength);
+        mapped.map(length -> length * 2);
+        mapped.toString();
+
+        Thread evaluator = new Thread(mapped::isHappy);
+        evaluator.start();
+        evaluator.join();
+
+        assertThat(mapped.toString()).isEqualTo("Happy: 5");
+    }
+
+    @Test(timeout = 10_000)
+    public void flowWithAStepThatDependsOnTheFlowItselfIsATechnicalFailure() {
+        AtomicReference<LazyFlow<String, String>> self = new AtomicReference<>();
+        self.set(lazyFlow.then(happy -> self.get()));
+
+        assertThat(self.get().getTechnicalFailure())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The lazy flow depends on itself");
+    }
+
+    private static void awaitWaiting(Thread thread) {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+    }
+
+    private LazyFlow<String, String> countDown(int remaining) {
+        return LazyFlow.<Integer, String>lazyAttempt(() -> remaining)
+                .then(count -> count == 0 ? HappyPath.happyPath("done") : countDown(count - 1));
+    }
+
+    private LazyFlow<Long, String> sumTo(long number) {
+        return LazyFlow.<Long, String>lazyAttempt(() -> number)
+                .then(count -> count == 0 ? HappyPath.happyPath(0L) : sumTo(count - 1))
+                .map(sum -> sum + number);
+    }
+
+    private LazyFlow<Integer, String> nested(int depth) {
+        return LazyFlow.lazyPathAttempt(() -> depth == 0 ? HappyPath.happyPath(0) : nested(depth - 1));
+    }
+
+    private int countedLength(String happy) {
+        mappings.incrementAndGet();
+        return happy.length();
+    }
+}
@@ -20,8 +20,26 @@ package io.github.theangrydev.businessflows;
 import org.assertj.core.api.WithAssertions;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 public class PotentialFailureFailureTest implements WithAssertions {
 
+    @Test
+    public void failureIsPresent() {
+        String failure = "failure object";
+        PotentialFailureFailure<String> potentialFailure = new PotentialFailureFailure<>(failure);
+        AtomicReference<String> peeked = new AtomicReference<>();
+        potentialFailure.ifPresent(peeked::set);
+
+        assertThat(potentialFailure.toOptional()).contains(failure);
+        assertThat(potentialFailure.isPresent()).isTrue();
+        assertThat(potentialFailure.get()).isSameAs(failure);
+        assertThat(potentialFailure.orElse("alternative")).isSameAs(failure);
+        assertThat(potentialFailure.orElseGet(() -> "alternative")).isSameAs(failure);
+        assertThat(potentialFailure.orElseThrow(IllegalStateException::new)).isSameAs(failure);
+        assertThat(peeked.get()).isSameAs(failure);
+    }
+
     @Test
     public void toStringIsReadable() {
         String failure = "failure object";
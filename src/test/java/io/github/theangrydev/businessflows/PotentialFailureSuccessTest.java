@@ -28,4 +28,12 @@ public class PotentialFailureSuccessTest implements WithAssertions {
 
         assertThat(potentialFailureSuccess).hasToString("Success");
     }
+
+    @Test
+    public void successIsShared() {
+        PotentialFailure<String> success = PotentialFailure.success();
+        PotentialFailure<Integer> otherSuccess = PotentialFailure.success();
+
+        assertThat(success).isSameAs(otherSuccess).isSameAs(PotentialFailureSuccess.INSTANCE);
+    }
 }
\ No newline at end of file
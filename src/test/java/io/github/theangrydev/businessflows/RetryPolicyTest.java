@@ -0,0 +1,265 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RetryPolicyTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor();
+
+    @After
+    public void shutdownScheduler() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void attemptThatSucceedsAfterTechnicalFailuresIsHappy() {
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(failingTimes(2), RetryPolicy.maximumAttempts(3));
+
+        assertThat(happyPath.get()).isEqualTo("happy");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void attemptThatKeepsFailingIsTheLastTechnicalFailure() {
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(failingTimes(5), RetryPolicy.maximumAttempts(3));
+
+        assertThat(happyPath.getTechnicalFailure()).hasMessage("failure 3");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void technicalFailureThatIsNotRetryableIsNotRetried() {
+        RetryPolicy retryPolicy = RetryPolicy.maximumAttempts(3).retryingOn(IllegalStateException.class::isInstance);
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(failingTimes(2), retryPolicy);
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(IOException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void happyPathAttemptThatIsATechnicalFailureIsRetried() {
+        HappyPath<String, String> happyPath = HappyPath.happyPathAttempt(() -> attempts.incrementAndGet() < 2
+                ? HappyPath.technicalFailure(new IOException())
+                : HappyPath.happyPath("happy"), RetryPolicy.maximumAttempts(2));
+
+        assertThat(happyPath.get()).isEqualTo("happy");
+    }
+
+    @Test
+    public void happyPathAttemptThatKeepsFailingIsTheLastTechnicalFailure() {
+        HappyPath<String, String> happyPath = HappyPath.happyPathAttempt(() -> HappyPath.happyPath(failingTimes(5).attempt()), RetryPolicy.maximumAttempts(3));
+
+        assertThat(happyPath.getTechnicalFailure()).hasMessage("failure 3");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void happyPathAttemptThatIsInterruptedWhileWaitingIsTheLastTechnicalFailure() {
+        RetryPolicy retryPolicy = RetryPolicy.maximumAttempts(3).withBackoff(Duration.ofHours(1), Duration.ofHours(1));
+        Thread.currentThread().interrupt();
+
+        HappyPath<String, String> happyPath = HappyPath.happyPathAttempt(() -> HappyPath.happyPath(failingTimes(5).attempt()), retryPolicy);
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(happyPath.getTechnicalFailure()).hasMessage("failure 1");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void happyPathAttemptThatIsSadIsNotRetried() {
+        HappyPath<String, String> happyPath = HappyPath.happyPathAttempt(() -> {
+            attempts.incrementAndGet();
+            return HappyPath.sadPath("sad");
+        }, RetryPolicy.maximumAttempts(3));
+
+        assertThat(happyPath.getSad()).isEqualTo("sad");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void actionThatMightFailIsRetriedOnTechnicalFailureButNotOnFailure() {
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy").attempt(happy -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw new IOException();
+            }
+            return failure("sad");
+        }, RetryPolicy.maximumAttempts(3));
+
+        assertThat(happyPath.getSad()).isEqualTo("sad");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void backoffDoublesTheDelayUpToTheMaximum() {
+        RetryPolicy retryPolicy = RetryPolicy.maximumAttempts(10).withBackoff(Duration.ofNanos(10), Duration.ofNanos(50));
+
+        assertThat(retryPolicy.delayNanos(1)).isEqualTo(10);
+        assertThat(retryPolicy.delayNanos(2)).isEqualTo(20);
+        assertThat(retryPolicy.delayNanos(3)).isEqualTo(40);
+        assertThat(retryPolicy.delayNanos(4)).isEqualTo(50);
+        assertThat(retryPolicy.delayNanos(9)).isEqualTo(50);
+    }
+
+    @Test
+    public void backoffIsCappedAtTheMaximumOnceDoublingWouldGoPastIt() {
+        RetryPolicy retryPolicy = RetryPolicy.maximumAttempts(10).withBackoff(Duration.ofNanos(10), Duration.ofNanos(41));
+
+        assertThat(retryPolicy.delayNanos(3)).isEqualTo(40);
+        assertThat(retryPolicy.delayNanos(4)).isEqualTo(41);
+    }
+
+    @Test
+    public void jitterShortensTheDelayByUpToTheGivenFraction() {
+        RetryPolicy retryPolicy = RetryPolicy.maximumAttempts(10).withBackoff(Duration.ofNanos(100), Duration.ofNanos(100)).withJitter(0.5);
+
+        for (int attempt = 1; attempt < 100; attempt++) {
+            assertThat(retryPolicy.delayNanos(attempt)).isBetween(50L, 100L);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void asyncAttemptIsRetriedWithoutBlocking() {
+        RetryPolicy retryPolicy = RetryPolicy.maximumAttempts(3).withBackoff(Duration.ofMillis(1), Duration.ofMillis(10));
+
+        BusinessFlow<String, String> businessFlow = AsyncHappyPath.<String, String>happyAttempt(failingTimes(2), retryPolicy, scheduler, scheduler)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getHappy()).isEqualTo("happy");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test(timeout = 10_000)
+    public void asyncAttemptThatKeepsFailingIsTheLastTechnicalFailure() {
+        BusinessFlow<String, String> businessFlow = AsyncHappyPath.<String, String>happyAttempt(failingTimes(5), RetryPolicy.maximumAttempts(2), scheduler, scheduler)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).hasMessage("failure 2");
+    }
+
+    @Test
+    public void asyncAttemptThatIsRejectedByTheSchedulerIsTheLastTechnicalFailure() {
+        scheduler.shutdown();
+
+        BusinessFlow<String, String> businessFlow = AsyncHappyPath.<String, String>happyAttempt(failingTimes(2), RetryPolicy.maximumAttempts(3), Runnable::run, scheduler)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).hasMessage("failure 1");
+        assertThat(businessFlow.getTechnicalFailure().getSuppressed()).hasSize(1);
+        assertThat(businessFlow.getTechnicalFailure().getSuppressed()[0]).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void asyncAttemptThatThrowsAnErrorCompletesExceptionally() {
+        AssertionError error = new AssertionError();
+
+        CompletableFuture<BusinessFlow<String, String>> result = ScheduledRetry.<String, String>retry(() -> {
+            throw error;
+        }, RetryPolicy.maximumAttempts(3), Runnable::run, scheduler);
+
+        assertThatThrownBy(result::join).hasCause(error);
+    }
+
+    @Test
+    public void asyncAttemptWithARetryablePredicateThatThrowsIsThatTechnicalFailure() {
+        IllegalStateException predicateFailure = new IllegalStateException();
+        RetryPolicy retryPolicy = RetryPolicy.maximumAttempts(3).retryingOn(technicalFailure -> {
+            throw predicateFailure;
+        });
+
+        BusinessFlow<String, String> businessFlow = AsyncHappyPath.<String, String>happyAttempt(failingTimes(2), retryPolicy, Runnable::run, scheduler)
+                .toBusinessFlow();
+
+        assertThat(businessFlow.getTechnicalFailure()).isSameAs(predicateFailure);
+    }
+
+    @Test
+    public void interruptedWhileWaitingIsTheLastTechnicalFailure() {
+        RetryPolicy retryPolicy = RetryPolicy.maximumAttempts(3).withBackoff(Duration.ofHours(1), Duration.ofHours(1));
+        Thread.currentThread().interrupt();
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(failingTimes(5), retryPolicy);
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(happyPath.getTechnicalFailure()).hasMessage("failure 1");
+        assertThat(happyPath.getTechnicalFailure().getSuppressed()).hasSize(1);
+        assertThat(happyPath.getTechnicalFailure().getSuppressed()[0]).isInstanceOf(InterruptedException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void maximumAttemptsMustBePositive() {
+        assertThatThrownBy(() -> RetryPolicy.maximumAttempts(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maximum number of attempts must be positive but was: 0");
+    }
+
+    @Test
+    public void jitterMustBeAFraction() {
+        assertThatThrownBy(() -> RetryPolicy.maximumAttempts(1).withJitter(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The jitter must be between 0 and 1 but was: 1.5");
+        assertThatThrownBy(() -> RetryPolicy.maximumAttempts(1).withJitter(-0.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The jitter must be between 0 and 1 but was: -0.5");
+    }
+
+    @Test
+    public void jitterCanBeNoneOrFull() {
+        RetryPolicy retryPolicy = RetryPolicy.maximumAttempts(10).withBackoff(Duration.ofNanos(100), Duration.ofNanos(100));
+
+        assertThat(retryPolicy.withJitter(0).delayNanos(1)).isEqualTo(100);
+        assertThat(retryPolicy.withJitter(1).delayNanos(1)).isBetween(0L, 100L);
+    }
+
+    @Test
+    public void initialDelayMustBeBetweenZeroAndTheMaximumDelay() {
+        assertThatThrownBy(() -> RetryPolicy.maximumAttempts(1).withBackoff(Duration.ofNanos(-1), Duration.ofNanos(10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The initial delay must be between zero and the maximum delay (PT0.00000001S) but was: PT-0.000000001S");
+        assertThatThrownBy(() -> RetryPolicy.maximumAttempts(1).withBackoff(Duration.ofNanos(11), Duration.ofNanos(10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The initial delay must be between zero and the maximum delay (PT0.00000001S) but was: PT0.000000011S");
+    }
+
+    private Attempt<String> failingTimes(int failures) {
+        return () -> {
+            int attempt = attempts.incrementAndGet();
+            if (attempt <= failures) {
+                throw new IOException("failure " + attempt);
+            }
+            return "happy";
+        };
+    }
+}
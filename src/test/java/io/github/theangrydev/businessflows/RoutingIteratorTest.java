@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RoutingIteratorTest {
+
+    private final List<String> sads = new ArrayList<>();
+    private final List<Exception> technicalFailures = new ArrayList<>();
+    private final IllegalStateException technicalFailure = new IllegalStateException();
+
+    private final BatchFlow<String, String, String> batchFlow = BatchFlow.<String, String>batchFlow()
+            .map(input -> {
+                if ("failure".equals(input)) {
+                    throw technicalFailure;
+                }
+                return input;
+            })
+            .attempt(input -> input.startsWith("sad") ? PotentialFailure.failure(input) : PotentialFailure.success());
+
+    @Test
+    public void routesSadsAndTechnicalFailuresWhileSkippingToTheNextHappy() {
+        Iterator<String> happies = batchFlow.route(Arrays.asList("sad1", "failure", "happy1", "sad2", "happy2").iterator(), sads::add, technicalFailures::add);
+
+        assertThat(happies.next()).isEqualTo("happy1");
+        assertThat(sads).containsExactly("sad1");
+        assertThat(technicalFailures).containsExactly(technicalFailure);
+
+        assertThat(happies.next()).isEqualTo("happy2");
+        assertThat(sads).containsExactly("sad1", "sad2");
+        assertThat(happies.hasNext()).isFalse();
+    }
+
+    @Test
+    public void onlyPullsAnInputWhenTheNextHappyIsAskedFor() {
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<String> inputs = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                return "happy" + pulled.incrementAndGet();
+            }
+        };
+
+        Iterator<String> happies = batchFlow.route(inputs, sads::add, technicalFailures::add);
+
+        assertThat(pulled.get()).isEqualTo(0);
+        assertThat(happies.next()).isEqualTo("happy1");
+        assertThat(happies.hasNext()).isTrue();
+        assertThat(happies.hasNext()).isTrue();
+        assertThat(pulled.get()).isEqualTo(2);
+        assertThat(happies.next()).isEqualTo("happy2");
+        assertThat(pulled.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void happyResultsCanBeNull() {
+        Iterator<String> happies = BatchFlow.<String, String>batchFlow().<String>map(input -> null).route(Arrays.asList("a").iterator(), sads::add, technicalFailures::add);
+
+        assertThat(happies.hasNext()).isTrue();
+        assertThat(happies.next()).isNull();
+        assertThat(happies.hasNext()).isFalse();
+    }
+
+    @Test
+    public void nextWhenThereAreNoMoreHappiesIsAnError() {
+        Iterator<String> happies = batchFlow.route(Arrays.asList("sad").iterator(), sads::add, technicalFailures::add);
+
+        assertThatThrownBy(happies::next).isInstanceOf(NoSuchElementException.class);
+        assertThat(sads).containsExactly("sad");
+    }
+}
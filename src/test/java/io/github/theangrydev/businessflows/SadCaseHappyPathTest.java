@@ -52,6 +52,14 @@ public class SadCaseHappyPathTest {
         assertThat(sadCaseHappyPath.ifSad().get()).isSameAs(sad);
     }
 
+    @Test
+    public void viewsAreSharedWhenSwitchingBetweenThem() {
+        assertThat(sadCaseHappyPath.ifSad()).isSameAs(sadCaseHappyPath.ifSad());
+        assertThat(sadCaseHappyPath.ifTechnicalFailure()).isSameAs(sadCaseHappyPath.ifTechnicalFailure());
+        assertThat(sadCaseHappyPath.ifSad().ifHappy()).isSameAs(sadCaseHappyPath);
+        assertThat(sadCaseHappyPath.ifSad().ifTechnicalFailure().ifHappy()).isSameAs(sadCaseHappyPath);
+    }
+
     @Test
     public void thenReturnsThis() {
         assertThat(sadCaseHappyPath.then(null)).isSameAs(sadCaseHappyPath);
@@ -72,8 +80,22 @@ public class SadCaseHappyPathTest {
         assertThat(sadCaseHappyPath.attemptAll(null)).isSameAs(sadCaseHappyPath);
     }
 
+    @Test
+    public void attemptAllInParallelReturnsThis() {
+        assertThat(sadCaseHappyPath.attemptAllInParallel(null, null)).isSameAs(sadCaseHappyPath);
+    }
+
     @Test
     public void peekReturnsThis() {
         assertThat(sadCaseHappyPath.peek(null)).isSameAs(sadCaseHappyPath);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void viewsCreatedLaterAreSharedWithTheViewsThatAlreadyExist() {
+        SadPath<Object, Sad> sadPath = sadCaseHappyPath.ifSad();
+        TechnicalFailure<Object, Sad> technicalFailure = sadCaseHappyPath.ifTechnicalFailure();
+
+        assertThat(sadPath.ifTechnicalFailure()).isSameAs(technicalFailure);
+        assertThat(technicalFailure.ifSad()).isSameAs(sadPath);
+    }
+}
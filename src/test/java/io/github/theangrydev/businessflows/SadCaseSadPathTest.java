@@ -19,6 +19,8 @@ package io.github.theangrydev.businessflows;
 
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class SadCaseSadPathTest {
@@ -39,6 +41,19 @@ public class SadCaseSadPathTest {
         assertThat(sadSadCaseSadPath.toOptional()).contains(sad);
     }
 
+    @Test
+    public void isPresent() {
+        AtomicReference<Sad> peeked = new AtomicReference<>();
+        sadSadCaseSadPath.ifPresent(peeked::set);
+
+        assertThat(sadSadCaseSadPath.isPresent()).isTrue();
+        assertThat(sadSadCaseSadPath.get()).isSameAs(sad);
+        assertThat(sadSadCaseSadPath.orElse(new Sad())).isSameAs(sad);
+        assertThat(sadSadCaseSadPath.orElseGet(Sad::new)).isSameAs(sad);
+        assertThat(sadSadCaseSadPath.orElseThrow(IllegalStateException::new)).isSameAs(sad);
+        assertThat(peeked.get()).isSameAs(sad);
+    }
+
     @Test
     public void ifTechnicalFailureIsSadCase() {
         assertThat(sadSadCaseSadPath.ifTechnicalFailure()).isInstanceOf(SadCaseTechnicalFailure.class);
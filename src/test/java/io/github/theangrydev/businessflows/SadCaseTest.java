@@ -20,6 +20,7 @@ package io.github.theangrydev.businessflows;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class SadCaseTest {
 
@@ -41,6 +42,20 @@ public class SadCaseTest {
         assertThat(sadCase).hasToString("Sad: " + sad);
     }
 
+    @Test
+    public void isOnlySad() {
+        assertThat(sadCase.isHappy()).isFalse();
+        assertThat(sadCase.isSad()).isTrue();
+        assertThat(sadCase.isTechnicalFailure()).isFalse();
+    }
+
+    @Test
+    public void getsOnlySad() {
+        assertThat(sadCase.getSad()).isSameAs(sad);
+        assertThatThrownBy(sadCase::getHappy).isInstanceOf(IllegalStateException.class).hasMessage("Not present. This is: 'Sad: " + sad + "'.");
+        assertThatThrownBy(sadCase::getTechnicalFailure).isInstanceOf(IllegalStateException.class).hasMessage("Not present. This is: 'Sad: " + sad + "'.");
+    }
+
     @Test
     public void joinsSad() {
         String join = sadCase.join(null, Object::toString, null);
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SegmentedLruCacheTest {
+
+    private final SegmentedLruCache<String, String> cache = new SegmentedLruCache<>(5, HOURS.toNanos(1));
+
+    private long now;
+
+    @Test
+    public void sizeIsBounded() {
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        assertThat(cache.size()).isEqualTo(5);
+        assertThat(cache.get("key0")).isNull();
+        assertThat(cache.get("key9").value).isEqualTo("value9");
+    }
+
+    @Test
+    public void keysThatAreReadAgainSurviveABurstOfNewKeys() {
+        cache.put("popular", "value");
+        cache.get("popular");
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        assertThat(cache.get("popular").value).isEqualTo("value");
+    }
+
+    @Test
+    public void protectedKeysAreDemotedWhenTheProtectedSegmentIsFull() {
+        for (int i = 0; i < 5; i++) {
+            cache.put("key" + i, "value" + i);
+            cache.get("key" + i);
+        }
+
+        cache.put("new", "value");
+
+        assertThat(cache.size()).isEqualTo(5);
+        assertThat(cache.get("key0")).isNull();
+        assertThat(cache.get("key4").value).isEqualTo("value4");
+    }
+
+    @Test
+    public void protectedSegmentHoldsFourFifthsOfTheEntries() {
+        for (int i = 0; i < 4; i++) {
+            cache.put("key" + i, "value" + i);
+            cache.get("key" + i);
+        }
+
+        cache.put("new1", "value");
+        cache.put("new2", "value");
+
+        assertThat(cache.size()).isEqualTo(5);
+        assertThat(cache.get("key0").value).isEqualTo("value0");
+        assertThat(cache.get("new1")).isNull();
+    }
+
+    @Test
+    public void keysThatAreReadAgainAreNotProtectedInACacheOfOne() {
+        SegmentedLruCache<String, String> single = new SegmentedLruCache<>(1, HOURS.toNanos(1));
+        single.put("key", "value");
+        single.get("key");
+
+        single.put("new", "value");
+
+        assertThat(single.size()).isEqualTo(1);
+        assertThat(single.get("key")).isNull();
+        assertThat(single.get("new").value).isEqualTo("value");
+    }
+
+    @Test
+    public void puttingAProtectedKeyReplacesItsValue() {
+        cache.put("key", "old");
+        cache.get("key");
+
+        cache.put("key", "new");
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("key").value).isEqualTo("new");
+    }
+
+    @Test
+    public void entriesExpireOnceTheTimeToLiveHasPassed() {
+        SegmentedLruCache<String, String> expiring = new SegmentedLruCache<>(5, 10, () -> now);
+        expiring.put("key", "value");
+
+        now = 9;
+        assertThat(expiring.get("key").value).isEqualTo("value");
+        now = 10;
+        assertThat(expiring.get("key")).isNull();
+        assertThat(expiring.size()).isZero();
+    }
+
+    @Test
+    public void expiredEntriesAreNotReturned() {
+        SegmentedLruCache<String, String> expiring = new SegmentedLruCache<>(5, 0);
+
+        expiring.put("key", "value");
+
+        assertThat(expiring.get("key")).isNull();
+        assertThat(expiring.size()).isZero();
+    }
+
+    @Test
+    public void nullValuesAreRemembered() {
+        cache.put("key", null);
+
+        assertThat(cache.get("key")).isNotNull();
+        assertThat(cache.get("key").value).isNull();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = SingleFlight.singleFlight();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test(timeout = 10_000)
+    public void concurrentCallsForTheSameKeyShareOneResult() throws Exception {
+        Attempt<String> attempt = singleFlight.coalescingAttempt("key", () -> {
+            calls.incrementAndGet();
+            release.await();
+            return "result";
+        });
+        AtomicReference<HappyPath<String, String>> leader = new AtomicReference<>();
+        AtomicReference<HappyPath<String, String>> follower = new AtomicReference<>();
+
+        Thread leaderThread = startFlow(() -> leader.set(HappyPath.happyAttempt(attempt)));
+        awaitCalls(1);
+        Thread followerThread = startFlow(() -> follower.set(HappyPath.happyAttempt(attempt)));
+        awaitWaiting(followerThread);
+        release.countDown();
+        leaderThread.join();
+        followerThread.join();
+
+        assertThat(leader.get().get()).isEqualTo("result");
+        assertThat(follower.get().get()).isEqualTo("result");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test(timeout = 10_000)
+    public void technicalFailuresAreShared() throws Exception {
+        IOException failure = new IOException();
+        Attempt<String> attempt = singleFlight.coalescingAttempt("key", () -> {
+            calls.incrementAndGet();
+            release.await();
+            throw failure;
+        });
+        AtomicReference<HappyPath<String, String>> follower = new AtomicReference<>();
+
+        Thread leaderThread = startFlow(() -> HappyPath.happyAttempt(attempt));
+        awaitCalls(1);
+        Thread followerThread = startFlow(() -> follower.set(HappyPath.happyAttempt(attempt)));
+        awaitWaiting(followerThread);
+        release.countDown();
+        leaderThread.join();
+        followerThread.join();
+
+        assertThat(follower.get().getTechnicalFailure()).isSameAs(failure);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test(timeout = 10_000)
+    public void errorsAreShared() throws Exception {
+        AssertionError error = new AssertionError();
+        Attempt<String> attempt = singleFlight.coalescingAttempt("key", () -> {
+            calls.incrementAndGet();
+            release.await();
+            throw error;
+        });
+        AtomicReference<Throwable> leaderFailure = new AtomicReference<>();
+        AtomicReference<Throwable> followerFailure = new AtomicReference<>();
+
+        Thread leaderThread = startFlow(() -> leaderFailure.set(catchThrowable(attempt::attempt)));
+        awaitCalls(1);
+        Thread followerThread = startFlow(() -> followerFailure.set(catchThrowable(attempt::attempt)));
+        awaitWaiting(followerThread);
+        release.countDown();
+        leaderThread.join();
+        followerThread.join();
+
+        assertThat(leaderFailure.get()).isSameAs(error);
+        assertThat(followerFailure.get()).isSameAs(error);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test(timeout = 10_000)
+    public void recursiveCallForTheSameKeyRunsTheStepAgainRatherThanWaitingForItself() throws Exception {
+        AtomicReference<Mapping<String, String>> mapping = new AtomicReference<>();
+        mapping.set(singleFlight.coalescingMapping(key -> calls.incrementAndGet() == 1 ? mapping.get().map(key) + " again" : key));
+
+        assertThat(mapping.get().map("key")).isEqualTo("key again");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void callsForDifferentKeysAreNotCoalesced() {
+        Mapping<String, String> mapping = singleFlight.coalescingMapping(key -> {
+            calls.incrementAndGet();
+            return key;
+        });
+
+        assertThat(HappyPath.<String, String>happyPath("one").map(mapping).get()).isEqualTo("one");
+        assertThat(HappyPath.<String, String>happyPath("two").map(mapping).get()).isEqualTo("two");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void theStepRunsAgainOnceTheCallInFlightHasFinished() {
+        Mapping<String, String> mapping = singleFlight.coalescingMapping(key -> {
+            calls.incrementAndGet();
+            return key;
+        });
+
+        HappyPath.<String, String>happyPath("key").map(mapping);
+        HappyPath.<String, String>happyPath("key").map(mapping);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void theWholeOutcomeOfAStepCanBeShared() {
+        SingleFlight<String, HappyPath<Integer, String>> sharedOutcome = SingleFlight.singleFlight();
+
+        HappyPath<Integer, String> happyPath = HappyPath.<String, String>happyPath("key")
+                .then(sharedOutcome.coalescingMapping(key -> HappyPath.sadPath("sad")));
+
+        assertThat(happyPath.getSad()).isEqualTo("sad");
+    }
+
+    private Thread startFlow(Runnable flow) {
+        Thread thread = new Thread(flow);
+        thread.start();
+        return thread;
+    }
+
+    private void awaitCalls(int expectedCalls) throws InterruptedException {
+        while (calls.get() < expectedCalls) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitWaiting(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StepBatchFlowTest {
+
+    private final IllegalStateException technicalFailure = new IllegalStateException();
+
+    @Test
+    public void inputsWithNoStepsAreHappy() {
+        BatchResult<String, String> result = BatchFlow.<String, String>batchFlow().run(Arrays.asList("a", "b"));
+
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.happies()).containsExactly("a", "b");
+        assertThat(result.sads()).isEmpty();
+        assertThat(result.technicalFailures()).isEmpty();
+    }
+
+    @Test
+    public void mapReplacesTheHappyObjectsWithValuesOfADifferentType() {
+        BatchResult<Integer, String> result = BatchFlow.<String, String>batchFlow()
+                .map(String::length)
+                .run(Arrays.asList("a", "bb", "ccc"));
+
+        assertThat(result.happies()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void mapThatThrowsIsATechnicalFailure() {
+        BatchResult<String, String> result = BatchFlow.<String, String>batchFlow()
+                .map(this::failOnB)
+                .run(Arrays.asList("a", "b", "c"));
+
+        assertThat(result.happies()).containsExactly("a", "c");
+        assertThat(result.technicalFailures()).containsExactly(technicalFailure);
+        assertThat(result.technicalFailureInputIndex(0)).isEqualTo(1);
+    }
+
+    @Test
+    public void attemptThatFailsIsSad() {
+        BatchResult<String, String> result = BatchFlow.<String, String>batchFlow()
+                .attempt(input -> "b".equals(input) ? PotentialFailure.failure("sad " + input) : PotentialFailure.success())
+                .run(Arrays.asList("a", "b", "c"));
+
+        assertThat(result.happies()).containsExactly("a", "c");
+        assertThat(result.happyInputIndex(1)).isEqualTo(2);
+        assertThat(result.sads()).containsExactly("sad b");
+        assertThat(result.sadInputIndex(0)).isEqualTo(1);
+    }
+
+    @Test
+    public void thenUnwrapsEachKindOfBusinessFlow() {
+        BatchResult<Integer, String> result = BatchFlow.<String, String>batchFlow()
+                .then(input -> {
+                    switch (input) {
+                        case "sad":
+                            return SadPath.sadPath(input);
+                        case "failure":
+                            return TechnicalFailure.technicalFailure(technicalFailure);
+                        default:
+                            return HappyPath.happyPath(input.length());
+                    }
+                })
+                .run(Arrays.asList("sad", "happy", "failure"));
+
+        assertThat(result.happies()).containsExactly(5);
+        assertThat(result.happyInputIndex(0)).isEqualTo(1);
+        assertThat(result.sads()).containsExactly("sad");
+        assertThat(result.sadInputIndex(0)).isEqualTo(0);
+        assertThat(result.technicalFailures()).containsExactly(technicalFailure);
+        assertThat(result.technicalFailureInputIndex(0)).isEqualTo(2);
+    }
+
+    @Test
+    public void recoverTurnsSadsBackIntoHappies() {
+        BatchResult<String, String> result = BatchFlow.<String, String>batchFlow()
+                .attempt(input -> "b".equals(input) ? PotentialFailure.failure("sad " + input) : PotentialFailure.success())
+                .recover(sad -> "recovered " + sad)
+                .run(Arrays.asList("a", "b"));
+
+        assertThat(result.happies()).containsExactly("a", "recovered sad b");
+        assertThat(result.sads()).isEmpty();
+    }
+
+    @Test
+    public void recoverThatThrowsIsATechnicalFailure() {
+        BatchResult<String, String> result = BatchFlow.<String, String>batchFlow()
+                .attempt(PotentialFailure::failure)
+                .recover(this::failOnB)
+                .run(Arrays.asList("a", "b"));
+
+        assertThat(result.happies()).containsExactly("a");
+        assertThat(result.technicalFailures()).containsExactly(technicalFailure);
+    }
+
+    @Test
+    public void routeStreamsTheHappiesAndRoutesTheRest() {
+        List<String> sads = new ArrayList<>();
+        List<Exception> technicalFailures = new ArrayList<>();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        List<String> happies;
+        try (Stream<String> routed = BatchFlow.<String, String>batchFlow()
+                .map(this::failOnB)
+                .attempt(input -> "c".equals(input) ? PotentialFailure.failure("sad " + input) : PotentialFailure.success())
+                .route(Stream.of("a", "b", "c", "d").onClose(() -> closed.set(true)), sads::add, technicalFailures::add)) {
+            happies = routed.collect(toList());
+        }
+
+        assertThat(happies).containsExactly("a", "d");
+        assertThat(sads).containsExactly("sad c");
+        assertThat(technicalFailures).containsExactly(technicalFailure);
+        assertThat(closed.get()).isTrue();
+    }
+
+    @Test
+    public void laterStepsAreOnlyAppliedToInputsThatAreStillHappy() {
+        AtomicInteger applications = new AtomicInteger();
+        BatchResult<String, String> result = BatchFlow.<String, String>batchFlow()
+                .map(this::failOnB)
+                .map(input -> {
+                    applications.incrementAndGet();
+                    return input;
+                })
+                .run(Arrays.asList("a", "b", "c"));
+
+        assertThat(applications.get()).isEqualTo(2);
+        assertThat(result.happies()).containsExactly("a", "c");
+    }
+
+    @Test
+    public void laterStepsAreNotAppliedToSads() {
+        BatchResult<String, String> result = BatchFlow.<String, String>batchFlow()
+                .attempt(input -> "b".equals(input) ? PotentialFailure.failure("sad " + input) : PotentialFailure.success())
+                .map(input -> "mapped " + input)
+                .then(input -> HappyPath.happyPath("then " + input))
+                .run(Arrays.asList("a", "b", "c"));
+
+        assertThat(result.happies()).containsExactly("then mapped a", "then mapped c");
+        assertThat(result.sads()).containsExactly("sad b");
+    }
+
+    @Test
+    public void inputsCanBeAStream() {
+        BatchResult<String, String> result = BatchFlow.<String, String>batchFlow()
+                .map(String::toUpperCase)
+                .run(Stream.of("a", "b"));
+
+        assertThat(result.happies()).containsExactly("A", "B");
+    }
+
+    @Test
+    public void inputsThatAreBackedByATypedArrayCanChangeType() {
+        BatchResult<Integer, String> result = BatchFlow.<String, String>batchFlow()
+                .map(String::length)
+                .run(Arrays.asList(new String[]{"a", "bb"}));
+
+        assertThat(result.happies()).containsExactly(1, 2);
+    }
+
+    @Test
+    public void inputsAreNotModified() {
+        String[] inputs = {"a", "b"};
+
+        BatchFlow.<String, String>batchFlow().map(String::toUpperCase).run(Arrays.asList(inputs));
+
+        assertThat(inputs).containsExactly("a", "b");
+    }
+
+    @Test
+    public void addingAStepDoesNotChangeTheOriginalPipeline() {
+        BatchFlow<String, String, String> original = BatchFlow.<String, String>batchFlow().map(String::toUpperCase);
+
+        original.map(input -> input + input);
+
+        assertThat(original.run(Stream.of("a")).happies()).containsExactly("A");
+    }
+
+    private String failOnB(String input) {
+        if ("b".equals(input)) {
+            throw technicalFailure;
+        }
+        return input;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StepFlowPipelineTest {
+
+    private final IllegalStateException technicalFailure = new IllegalStateException();
+    private final List<String> peeked = new ArrayList<>();
+
+    @Test
+    public void pipelineWithNoStepsIsHappyWithTheInput() {
+        HappyPath<String, String> result = FlowPipeline.<String, String>flowPipeline().run("input");
+
+        assertThat(result.get()).isEqualTo("input");
+    }
+
+    @Test
+    public void consecutiveMapAndPeekStepsAreFusedIntoOneStep() {
+        StepFlowPipeline<String, Integer, String> pipeline = (StepFlowPipeline<String, Integer, String>) FlowPipeline.<String, String>flowPipeline()
+                .map(String::trim)
+                .peek(peeked::add)
+                .map(String::length);
+
+        assertThat(pipeline.numberOfSteps()).isEqualTo(1);
+        assertThat(pipeline.run(" input ").get()).isEqualTo(5);
+        assertThat(peeked).containsExactly("input");
+    }
+
+    @Test
+    public void fusedMapStepsRunInALoopRatherThanOnTopOfEachOther() {
+        FlowPipeline<Integer, Integer, String> pipeline = FlowPipeline.<Integer, String>flowPipeline().map(value -> value + stackDepth());
+        for (int i = 0; i < 1000; i++) {
+            pipeline = pipeline.map(value -> value + 1);
+        }
+        pipeline = pipeline.map(value -> value + stackDepth());
+
+        int stackDepthOfTwoSteps = FlowPipeline.<Integer, String>flowPipeline().map(value -> value + stackDepth()).map(value -> value + stackDepth()).run(0).get();
+        int stackDepthOfManySteps = pipeline.run(0).get() - 1000;
+        assertThat(stackDepthOfManySteps).isEqualTo(stackDepthOfTwoSteps);
+    }
+
+    @Test
+    public void mapStepsAreNotFusedAcrossOtherSteps() {
+        StepFlowPipeline<String, String, String> pipeline = (StepFlowPipeline<String, String, String>) FlowPipeline.<String, String>flowPipeline()
+                .map(String::trim)
+                .attempt(happy -> PotentialFailure.success())
+                .map(String::toUpperCase);
+
+        assertThat(pipeline.numberOfSteps()).isEqualTo(3);
+        assertThat(pipeline.run(" input ").get()).isEqualTo("INPUT");
+    }
+
+    @Test
+    public void fusedMapThatThrowsIsATechnicalFailureAndSkipsTheRest() {
+        HappyPath<String, String> result = FlowPipeline.<String, String>flowPipeline()
+                .map(this::fail)
+                .peek(peeked::add)
+                .run("input");
+
+        assertThat(result.getTechnicalFailure()).isSameAs(technicalFailure);
+        assertThat(peeked).isEmpty();
+    }
+
+    @Test
+    public void attemptThatFailsIsSadAndSkipsTheHappySteps() {
+        HappyPath<String, String> result = FlowPipeline.<String, String>flowPipeline()
+                .attempt(happy -> PotentialFailure.failure("sad " + happy))
+                .peek(peeked::add)
+                .run("input");
+
+        assertThat(result.getSad()).isEqualTo("sad input");
+        assertThat(peeked).isEmpty();
+    }
+
+    @Test
+    public void thenCanBeHappySadOrATechnicalFailure() {
+        FlowPipeline<String, Integer, String> pipeline = FlowPipeline.<String, String>flowPipeline()
+                .then(input -> {
+                    switch (input) {
+                        case "sad":
+                            return SadPath.sadPath(input);
+                        case "failure":
+                            return TechnicalFailure.technicalFailure(technicalFailure);
+                        default:
+                            return HappyPath.happyPath(input.length());
+                    }
+                });
+
+        assertThat(pipeline.run("happy").get()).isEqualTo(5);
+        assertThat(pipeline.run("sad").getSad()).isEqualTo("sad");
+        assertThat(pipeline.run("failure").getTechnicalFailure()).isSameAs(technicalFailure);
+    }
+
+    @Test
+    public void thenThatProducesALazyFlowEvaluatesIt() {
+        HappyPath<String, String> result = FlowPipeline.<String, String>flowPipeline()
+                .then(input -> LazyFlow.<String, String>lazyAttempt(() -> input + " later"))
+                .run("input");
+
+        assertThat(result.get()).isEqualTo("input later");
+    }
+
+    @Test
+    public void recoverOnlyAppliesToSadObjects() {
+        FlowPipeline<String, String, String> pipeline = FlowPipeline.<String, String>flowPipeline()
+                .attempt(input -> "sad".equals(input) ? PotentialFailure.failure(input) : PotentialFailure.success())
+                .recover(sad -> "recovered " + sad)
+                .map(String::toUpperCase);
+
+        assertThat(pipeline.run("sad").get()).isEqualTo("RECOVERED SAD");
+        assertThat(pipeline.run("happy").get()).isEqualTo("HAPPY");
+    }
+
+    @Test
+    public void recoverThatThrowsIsATechnicalFailure() {
+        HappyPath<String, String> result = FlowPipeline.<String, String>flowPipeline()
+                .attempt(PotentialFailure::failure)
+                .recover(this::fail)
+                .run("input");
+
+        assertThat(result.getTechnicalFailure()).isSameAs(technicalFailure);
+    }
+
+    @Test
+    public void pipelineCanBeRunManyTimesAndExtendedWithoutChangingIt() {
+        FlowPipeline<String, String, String> pipeline = FlowPipeline.<String, String>flowPipeline().map(String::toUpperCase);
+
+        FlowPipeline<String, String, String> extended = pipeline.map(upper -> upper + "!");
+
+        assertThat(pipeline.run("a").get()).isEqualTo("A");
+        assertThat(pipeline.run("b").get()).isEqualTo("B");
+        assertThat(extended.run("a").get()).isEqualTo("A!");
+    }
+
+    private String fail(String input) {
+        throw technicalFailure;
+    }
+
+    private int stackDepth() {
+        return new Throwable().getStackTrace().length;
+    }
+}
@@ -48,6 +48,14 @@ public class TechnicalFailureCaseHappyPathTest {
         assertThat(technicalFailureCaseHappyPath.ifSad().ifTechnicalFailure().get()).isSameAs(technicalFailure);
     }
 
+    @Test
+    public void viewsAreSharedWhenSwitchingBetweenThem() {
+        assertThat(technicalFailureCaseHappyPath.ifTechnicalFailure()).isSameAs(technicalFailureCaseHappyPath.ifTechnicalFailure());
+        assertThat(technicalFailureCaseHappyPath.ifSad()).isSameAs(technicalFailureCaseHappyPath.ifSad());
+        assertThat(technicalFailureCaseHappyPath.ifTechnicalFailure().ifHappy()).isSameAs(technicalFailureCaseHappyPath);
+        assertThat(technicalFailureCaseHappyPath.ifTechnicalFailure().ifSad().ifHappy()).isSameAs(technicalFailureCaseHappyPath);
+    }
+
     @Test
     public void thenReturnsThis() {
         assertThat(technicalFailureCaseHappyPath.then(null)).isSameAs(technicalFailureCaseHappyPath);
@@ -68,8 +76,22 @@ public class TechnicalFailureCaseHappyPathTest {
         assertThat(technicalFailureCaseHappyPath.attemptAll(null)).isSameAs(technicalFailureCaseHappyPath);
     }
 
+    @Test
+    public void attemptAllInParallelReturnsThis() {
+        assertThat(technicalFailureCaseHappyPath.attemptAllInParallel(null, null)).isSameAs(technicalFailureCaseHappyPath);
+    }
+
     @Test
     public void peekReturnsThis() {
         assertThat(technicalFailureCaseHappyPath.peek(null)).isSameAs(technicalFailureCaseHappyPath);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void viewsCreatedLaterAreSharedWithTheViewsThatAlreadyExist() {
+        SadPath<Object, Object> sadPath = technicalFailureCaseHappyPath.ifSad();
+        TechnicalFailure<Object, Object> technicalFailure = technicalFailureCaseHappyPath.ifTechnicalFailure();
+
+        assertThat(sadPath.ifTechnicalFailure()).isSameAs(technicalFailure);
+        assertThat(technicalFailure.ifSad()).isSameAs(sadPath);
+    }
+}
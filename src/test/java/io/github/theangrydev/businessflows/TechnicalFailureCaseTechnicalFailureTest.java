@@ -19,6 +19,8 @@ package io.github.theangrydev.businessflows;
 
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -51,6 +53,19 @@ public class TechnicalFailureCaseTechnicalFailureTest {
         assertThat(technicalFailureCaseTechnicalFailure.toOptional()).contains(technicalFailure);
     }
 
+    @Test
+    public void isPresent() {
+        AtomicReference<Exception> peeked = new AtomicReference<>();
+        technicalFailureCaseTechnicalFailure.ifPresent(peeked::set);
+
+        assertThat(technicalFailureCaseTechnicalFailure.isPresent()).isTrue();
+        assertThat(technicalFailureCaseTechnicalFailure.get()).isSameAs(technicalFailure);
+        assertThat(technicalFailureCaseTechnicalFailure.orElse(new Exception())).isSameAs(technicalFailure);
+        assertThat(technicalFailureCaseTechnicalFailure.orElseGet(Exception::new)).isSameAs(technicalFailure);
+        assertThat(technicalFailureCaseTechnicalFailure.orElseThrow(IllegalStateException::new)).isSameAs(technicalFailure);
+        assertThat(peeked.get()).isSameAs(technicalFailure);
+    }
+
     @Test
     public void ifTechnicalFailureReturnsThis() {
         assertThat(technicalFailureCaseTechnicalFailure.ifTechnicalFailure()).isSameAs(technicalFailureCaseTechnicalFailure);
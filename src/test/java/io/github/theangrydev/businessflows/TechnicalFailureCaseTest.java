@@ -43,6 +43,25 @@ public class TechnicalFailureCaseTest {
                 "\tat io.github.theangrydev.businessflows.TechnicalFailureCaseTest.<init>(TechnicalFailureCaseTest.java:27");
     }
 
+    @Test
+    public void toStringIsRenderedOnlyOnce() {
+        assertThat(technicalFailureCase.toString()).isSameAs(technicalFailureCase.toString());
+    }
+
+    @Test
+    public void isOnlyATechnicalFailure() {
+        assertThat(technicalFailureCase.isHappy()).isFalse();
+        assertThat(technicalFailureCase.isSad()).isFalse();
+        assertThat(technicalFailureCase.isTechnicalFailure()).isTrue();
+    }
+
+    @Test
+    public void getsOnlyTheTechnicalFailure() {
+        assertThat(technicalFailureCase.getTechnicalFailure()).isSameAs(technicalFailure);
+        assertThatThrownBy(technicalFailureCase::getHappy).isInstanceOf(IllegalStateException.class).hasMessageStartingWith("Not present. This is: 'Technical Failure: ");
+        assertThatThrownBy(technicalFailureCase::getSad).isInstanceOf(IllegalStateException.class).hasMessageStartingWith("Not present. This is: 'Technical Failure: ");
+    }
+
     @Test
     public void joinsSad() {
         String join = technicalFailureCase.join(null, null, Object::toString);
@@ -35,8 +35,29 @@ public class TechnicalFailureCaseValidationPathTest {
         assertThat(sadCaseValidationPath.validateAllInto(null, null)).isSameAs(sadCaseValidationPath);
     }
 
+    @Test
+    public void validateUpToReturnsThis() {
+        assertThat(sadCaseValidationPath.validateUpTo(1, null)).isSameAs(sadCaseValidationPath);
+        assertThat(sadCaseValidationPath.validateUpToInto(1, null, null)).isSameAs(sadCaseValidationPath);
+        assertThat(sadCaseValidationPath.validateUntilFirstFailure(null)).isSameAs(sadCaseValidationPath);
+    }
+
+    @Test
+    public void validateInParallelReturnsThis() {
+        assertThat(sadCaseValidationPath.validateAllInParallel(null, null)).isSameAs(sadCaseValidationPath);
+        assertThat(sadCaseValidationPath.validateAllInParallelInto(null, null, null)).isSameAs(sadCaseValidationPath);
+    }
+
     @Test
     public void isATechnicalFailureCaseHappyPath() {
         assertThat(sadCaseValidationPath).isInstanceOf(TechnicalFailureCaseHappyPath.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void otherViewsSwitchToAPlainHappyPath() {
+        HappyPath<Object, Object> happyPath = sadCaseValidationPath.ifSad().ifHappy();
+
+        assertThat(happyPath).isExactlyInstanceOf(TechnicalFailureCaseHappyPath.class);
+        assertThat(happyPath.ifTechnicalFailure().ifHappy()).isSameAs(happyPath);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static io.github.theangrydev.businessflows.TechnicalFailureRendering.UNBOUNDED_STACK_TRACE_DEPTH;
+import static java.lang.System.lineSeparator;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TechnicalFailureRenderingTest {
+
+    private final Exception cause = exception("cause", null);
+    private final Exception technicalFailure = exception("technical failure", cause);
+
+    @Test
+    public void unboundedDepthRendersTheWholeStackTrace() {
+        StringWriter stringWriter = new StringWriter();
+        technicalFailure.printStackTrace(new PrintWriter(stringWriter));
+
+        assertThat(TechnicalFailureRendering.render(technicalFailure, UNBOUNDED_STACK_TRACE_DEPTH)).isEqualTo(stringWriter.toString());
+    }
+
+    @Test
+    public void zeroDepthRendersJustTheSummaries() {
+        assertThat(TechnicalFailureRendering.render(technicalFailure, 0)).isEqualTo(
+                "java.lang.Exception: technical failure" + lineSeparator() +
+                "\t... 3 more" + lineSeparator() +
+                "Caused by: java.lang.Exception: cause" + lineSeparator() +
+                "\t... 3 more" + lineSeparator());
+    }
+
+    @Test
+    public void boundedDepthRendersThatManyFramesOfEachException() {
+        assertThat(TechnicalFailureRendering.render(technicalFailure, 2)).isEqualTo(
+                "java.lang.Exception: technical failure" + lineSeparator() +
+                "\tat Frame.method1(Frame.java:1)" + lineSeparator() +
+                "\tat Frame.method2(Frame.java:2)" + lineSeparator() +
+                "\t... 1 more" + lineSeparator() +
+                "Caused by: java.lang.Exception: cause" + lineSeparator() +
+                "\tat Frame.method1(Frame.java:1)" + lineSeparator() +
+                "\tat Frame.method2(Frame.java:2)" + lineSeparator() +
+                "\t... 1 more" + lineSeparator());
+    }
+
+    @Test
+    public void depthBeyondTheStackTraceRendersAllTheFrames() {
+        assertThat(TechnicalFailureRendering.render(cause, 10)).isEqualTo(
+                "java.lang.Exception: cause" + lineSeparator() +
+                "\tat Frame.method1(Frame.java:1)" + lineSeparator() +
+                "\tat Frame.method2(Frame.java:2)" + lineSeparator() +
+                "\tat Frame.method3(Frame.java:3)" + lineSeparator());
+    }
+
+    @Test
+    public void boundedDepthRendersTheSuppressedExceptionsToTheSameDepth() {
+        Exception suppressed = exception("suppressed", exception("suppressed cause", null));
+        technicalFailure.addSuppressed(suppressed);
+
+        assertThat(TechnicalFailureRendering.render(technicalFailure, 1)).isEqualTo(
+                "java.lang.Exception: technical failure" + lineSeparator() +
+                "\tat Frame.method1(Frame.java:1)" + lineSeparator() +
+                "\t... 2 more" + lineSeparator() +
+                "\tSuppressed: java.lang.Exception: suppressed" + lineSeparator() +
+                "\t\tat Frame.method1(Frame.java:1)" + lineSeparator() +
+                "\t\t... 2 more" + lineSeparator() +
+                "\tCaused by: java.lang.Exception: suppressed cause" + lineSeparator() +
+                "\t\tat Frame.method1(Frame.java:1)" + lineSeparator() +
+                "\t\t... 2 more" + lineSeparator() +
+                "Caused by: java.lang.Exception: cause" + lineSeparator() +
+                "\tat Frame.method1(Frame.java:1)" + lineSeparator() +
+                "\t... 2 more" + lineSeparator());
+    }
+
+    @Test
+    public void causeCyclesAreRenderedOnce() {
+        Exception first = exception("first", null);
+        Exception second = exception("second", first);
+        first.initCause(second);
+
+        assertThat(TechnicalFailureRendering.render(first, 0)).isEqualTo(
+                "java.lang.Exception: first" + lineSeparator() +
+                "\t... 3 more" + lineSeparator() +
+                "Caused by: java.lang.Exception: second" + lineSeparator() +
+                "\t... 3 more" + lineSeparator());
+    }
+
+    private static Exception exception(String message, Exception cause) {
+        Exception exception = new Exception(message);
+        if (cause != null) {
+            exception.initCause(cause);
+        }
+        exception.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("Frame", "method1", "Frame.java", 1),
+                new StackTraceElement("Frame", "method2", "Frame.java", 2),
+                new StackTraceElement("Frame", "method3", "Frame.java", 3)
+        });
+        return exception;
+    }
+}
@@ -50,6 +50,21 @@ public class TechnicalFailureTest {
         assertThat(actualSad).isEqualTo(expectedSad);
     }
 
+    @Test
+    public void stacklessTechnicalFailureHasNoStackTrace() {
+        Exception technicalFailure = TechnicalFailure.<Happy, Sad>stacklessTechnicalFailure("message").get();
+
+        assertThat(technicalFailure).isInstanceOf(StacklessException.class).hasMessage("message");
+        assertThat(technicalFailure.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    public void stacklessTechnicalFailureIsRenderedWithoutAStackTrace() {
+        String rendering = TechnicalFailure.stacklessTechnicalFailure("message").toString();
+
+        assertThat(rendering.trim()).isEqualTo("Technical Failure: " + StacklessException.class.getName() + ": message");
+    }
+
     @Test
     public void technicalFailureRecovery() {
         Happy expectedHappy = new Happy();
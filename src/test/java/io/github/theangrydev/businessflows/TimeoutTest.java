@@ -0,0 +1,193 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static io.github.theangrydev.businessflows.PotentialFailure.failure;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class TimeoutTest {
+
+    private final ExecutorService executorService = newCachedThreadPool();
+    private final CountDownLatch neverReleased = new CountDownLatch(1);
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private final Timeout shortTimeout = Timeout.after(Duration.ofMillis(10), executorService);
+    private final Timeout longTimeout = Timeout.after(Duration.ofMinutes(1), executorService);
+
+    @After
+    public void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void attemptThatFinishesInTimeIsHappy() {
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(() -> "happy", longTimeout);
+
+        assertThat(happyPath.get()).isEqualTo("happy");
+    }
+
+    @Test(timeout = 10_000)
+    public void timeoutTooLongToFitInNanosecondsWaitsForTheStep() {
+        Timeout timeout = Timeout.after(Duration.ofSeconds(Long.MAX_VALUE), executorService);
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(() -> {
+            Thread.sleep(50);
+            return "happy";
+        }, timeout);
+
+        assertThat(happyPath.get()).isEqualTo("happy");
+    }
+
+    @Test(timeout = 10_000)
+    public void attemptThatOverrunsIsATechnicalFailureAndIsInterrupted() throws InterruptedException {
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(this::waitForever, shortTimeout);
+
+        assertThat(happyPath.getTechnicalFailure())
+                .isInstanceOf(TimeoutException.class)
+                .hasMessage("The step did not finish within PT0.01S")
+                .hasCauseInstanceOf(TimeoutException.class);
+        interrupted.await();
+    }
+
+    @Test(timeout = 10_000)
+    public void attemptThatOverrunsCanBeMappedToASadPath() {
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(this::waitForever, shortTimeout, technicalFailure -> "timed out");
+
+        assertThat(happyPath.getSad()).isEqualTo("timed out");
+    }
+
+    @Test(timeout = 10_000)
+    public void attemptThatOverrunsIsNotInterruptedWhenAbandoned() throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(() -> {
+            release.await();
+            finished.countDown();
+            return "happy";
+        }, shortTimeout.abandoning());
+        release.countDown();
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(TimeoutException.class);
+        finished.await();
+    }
+
+    @Test(timeout = 10_000)
+    public void technicalFailureThatHappensInTimeIsTheSameTechnicalFailure() {
+        IOException technicalFailure = new IOException();
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(() -> {throw technicalFailure;}, longTimeout);
+
+        assertThat(happyPath.getTechnicalFailure()).isSameAs(technicalFailure);
+    }
+
+    @Test(timeout = 10_000)
+    public void mapThatOverrunsIsATechnicalFailure() {
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy").map(happy -> waitForever(), shortTimeout);
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test(timeout = 10_000)
+    public void thenThatFinishesInTimeHasTheSameResult() {
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy").then(happy -> HappyPath.<String, String>sadPath(happy), longTimeout);
+
+        assertThat(happyPath.getSad()).isEqualTo("happy");
+    }
+
+    @Test(timeout = 10_000)
+    public void attemptThatFailsInTimeIsSad() {
+        HappyPath<String, String> happyPath = HappyPath.<String, String>happyPath("happy").attempt(happy -> failure("sad"), longTimeout);
+
+        assertThat(happyPath.getSad()).isEqualTo("sad");
+    }
+
+    @Test(timeout = 10_000)
+    public void errorThatHappensInTimeIsThrown() {
+        AssertionError error = new AssertionError();
+
+        assertThatThrownBy(() -> HappyPath.happyAttempt(() -> {throw error;}, longTimeout)).isSameAs(error);
+    }
+
+    @Test
+    public void stepThatFailsWithAThrowableThatIsNotAnExceptionIsTheExecutionException() {
+        Throwable throwable = new Throwable();
+        CompletableFuture<String> step = new CompletableFuture<>();
+        step.completeExceptionally(throwable);
+        Answer<Future<String>> submitted = invocation -> step;
+        ExecutorService executor = mock(ExecutorService.class, submitted);
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(() -> "happy", Timeout.after(Duration.ofMinutes(1), executor));
+
+        assertThat(happyPath.getTechnicalFailure())
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(throwable);
+    }
+
+    @Test
+    public void interruptedWhileWaitingIsATechnicalFailureAndStaysInterrupted() {
+        Thread.currentThread().interrupt();
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(this::waitForever, longTimeout);
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(InterruptedException.class);
+    }
+
+    @Test
+    public void stepThatIsRejectedByTheExecutorIsATechnicalFailure() {
+        executorService.shutdown();
+
+        HappyPath<String, String> happyPath = HappyPath.happyAttempt(() -> "happy", longTimeout);
+
+        assertThat(happyPath.getTechnicalFailure()).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void timeoutMustNotBeNegative() {
+        assertThatThrownBy(() -> Timeout.after(Duration.ofMillis(-1), executorService))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The timeout must not be negative but was: PT-0.001S");
+    }
+
+    private String waitForever() throws InterruptedException {
+        try {
+            neverReleased.await();
+            return "happy";
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+        }
+    }
+}
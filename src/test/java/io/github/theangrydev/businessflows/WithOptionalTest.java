@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016-2017 Liam Williams <liam.williams@zoho.com>.
+ *
+ * This file is part of business-flows.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.theangrydev.businessflows;
+
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WithOptionalTest {
+
+    private final WithOptional<String> present = () -> Optional.of("content");
+    private final WithOptional<String> absent = Optional::empty;
+
+    @Test
+    public void presentContentIsUsed() {
+        AtomicReference<String> peeked = new AtomicReference<>();
+        present.ifPresent(peeked::set);
+
+        assertThat(present.isPresent()).isTrue();
+        assertThat(present.get()).isEqualTo("content");
+        assertThat(present.orElse("alternative")).isEqualTo("content");
+        assertThat(present.orElseGet(() -> "alternative")).isEqualTo("content");
+        assertThat(present.orElseThrow(IllegalStateException::new)).isEqualTo("content");
+        assertThat(peeked.get()).isEqualTo("content");
+    }
+
+    @Test
+    public void alternativeIsUsedWhenTheContentIsAbsent() {
+        AtomicReference<String> peeked = new AtomicReference<>();
+        absent.ifPresent(peeked::set);
+
+        assertThat(absent.isPresent()).isFalse();
+        assertThat(absent.orElse("alternative")).isEqualTo("alternative");
+        assertThat(absent.orElseGet(() -> "alternative")).isEqualTo("alternative");
+        assertThat(peeked.get()).isNull();
+    }
+
+    @Test
+    public void gettingAbsentContentThrowsAnIllegalStateException() {
+        assertThatThrownBy(absent::get).isInstanceOf(IllegalStateException.class);
+    }
+}